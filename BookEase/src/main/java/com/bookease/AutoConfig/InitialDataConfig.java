@@ -16,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 @Configuration
@@ -132,12 +133,13 @@ public class InitialDataConfig implements CommandLineRunner {
 
     private void initializeSpecialities() {
         if (specialityRepository.count() == 0) {
-            Arrays.stream(SpecialityEnum.values())
+            List<Speciality> specialities = Arrays.stream(SpecialityEnum.values())
                     .map(enumValue -> Speciality.builder()
                             .name(enumValue.getDisplayName())
                             .active(true)
                             .build())
-                    .forEach(specialityRepository::save);
+                    .toList();
+            specialityRepository.saveAll(specialities);
             logger.info("Especialidades inicializadas com sucesso.");
         } else {
             logger.info("Especialidades já existem no sistema.");
@@ -146,12 +148,13 @@ public class InitialDataConfig implements CommandLineRunner {
 
     private void initializeProcedures() {
         if (procedureRepository.count() == 0) {
-            Arrays.stream(ProcedureEnum.values())
+            List<Procedure> procedures = Arrays.stream(ProcedureEnum.values())
                     .map(enumValue -> Procedure.builder()
                             .procedureEnum(enumValue)
                             .active(true)
                             .build())
-                    .forEach(procedureRepository::save);
+                    .toList();
+            procedureRepository.saveAll(procedures);
             logger.info("Procedimentos inicializados com sucesso.");
         } else {
             logger.info("Procedimentos já existem no sistema.");
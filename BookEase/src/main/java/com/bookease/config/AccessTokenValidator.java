@@ -0,0 +1,35 @@
+package com.bookease.config;
+
+import com.bookease.service.AuthService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+
+/**
+ * Aceita como Bearer apenas access tokens. Refresh tokens só valem em /auth/refresh; tokens antigos, emitidos sem
+ * o claim de uso, são aceitos somente se a validade não passar da de um access token.
+ */
+public class AccessTokenValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error NOT_ACCESS_TOKEN =
+            new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "Token não é um access token", null);
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        String tokenUse = jwt.getClaimAsString(AuthService.TOKEN_USE_CLAIM);
+        if (tokenUse != null) {
+            return AuthService.TOKEN_USE_ACCESS.equals(tokenUse)
+                    ? OAuth2TokenValidatorResult.success()
+                    : OAuth2TokenValidatorResult.failure(NOT_ACCESS_TOKEN);
+        }
+        if (jwt.getIssuedAt() == null || jwt.getExpiresAt() == null
+                || Duration.between(jwt.getIssuedAt(), jwt.getExpiresAt()).compareTo(AuthService.ACCESS_TOKEN_LIFETIME) > 0) {
+            return OAuth2TokenValidatorResult.failure(NOT_ACCESS_TOKEN);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
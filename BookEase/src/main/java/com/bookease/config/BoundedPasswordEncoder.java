@@ -0,0 +1,59 @@
+package com.bookease.config;
+
+import com.bookease.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita quantos hashes de senha são calculados ao mesmo tempo. Em picos de login as requisições excedentes esperam
+ * por uma vaga até o tempo limite e então falham, em vez de ocupar todos os núcleos e atrasar as demais requisições.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, Duration acquireTimeout) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentHashes, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bounded(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bounded(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T bounded(Supplier<T> hashing) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Verificação de senha interrompida");
+        }
+        if (!acquired) {
+            throw new PasswordHashingBusyException("Servidor sobrecarregado, tente novamente em instantes");
+        }
+        try {
+            return hashing.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
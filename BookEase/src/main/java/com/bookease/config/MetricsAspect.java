@@ -0,0 +1,99 @@
+package com.bookease.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede todos os métodos públicos dos {@code @Service} e dos repositórios Spring Data da aplicação.
+ * Os timers levam a classe, o método e a exceção lançada (ou "none"); a contagem de chamadas e de falhas vem do próprio timer.
+ * Nos repositórios também é registrado o número de linhas devolvidas por consulta.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String SERVICE_TIMER = "bookease.service";
+    static final String REPOSITORY_TIMER = "bookease.repository";
+    static final String REPOSITORY_ROWS = "bookease.repository.rows";
+
+    private static final String REPOSITORY_PACKAGE = "com.bookease.repository";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.bookease.service..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        return time(SERVICE_TIMER, className, joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repositoryName = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), MetricsAspect::repositoryName);
+        Object result = time(REPOSITORY_TIMER, repositoryName, joinPoint);
+        Integer rows = rowCount(result);
+        if (rows != null) {
+            DistributionSummary.builder(REPOSITORY_ROWS)
+                    .description("Linhas devolvidas por consulta de repositório")
+                    .tag("class", repositoryName)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    private Object time(String metricName, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metricName)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Integer rowCount(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case null, default -> null;
+        };
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> repositoryInterface : proxyClass.getInterfaces()) {
+            if (repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return repositoryInterface.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
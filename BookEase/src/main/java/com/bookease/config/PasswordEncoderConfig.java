@@ -0,0 +1,87 @@
+package com.bookease.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Codificação de senhas. Os hashes são gravados com prefixo de algoritmo ({bcrypt}) e o custo do BCrypt é fixo
+ * ou calibrado na inicialização para que um hash leve aproximadamente o tempo alvo neste hardware.
+ * Hashes antigos, sem prefixo ou com custo menor, continuam válidos e são regravados no próximo login.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    static final String DEFAULT_ENCODER_ID = "bcrypt";
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+    private final Duration targetHashTime;
+    private final int maxConcurrentHashes;
+    private final Duration acquireTimeout;
+
+    @Autowired
+    public PasswordEncoderConfig(@Value("${app.password.bcrypt.strength:0}") int strength,
+                                 @Value("${app.password.bcrypt.target-hash-ms:250}") long targetHashMillis,
+                                 @Value("${app.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+                                 @Value("${app.password.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.strength = strength;
+        this.targetHashTime = Duration.ofMillis(targetHashMillis);
+        this.maxConcurrentHashes = maxConcurrentHashes > 0 ? maxConcurrentHashes : Runtime.getRuntime().availableProcessors();
+        this.acquireTimeout = Duration.ofMillis(acquireTimeoutMillis);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        int bcryptStrength = strength > 0 ? strength : calibrateStrength(targetHashTime);
+        logger.info("BCrypt com custo {} e até {} hashes simultâneos", bcryptStrength, maxConcurrentHashes);
+        return new BoundedPasswordEncoder(delegatingEncoder(bcryptStrength), maxConcurrentHashes, acquireTimeout);
+    }
+
+    /**
+     * Encoder que grava com BCrypt no custo informado e também aceita hashes BCrypt sem prefixo, gravados antes da
+     * adoção do formato com identificador de algoritmo.
+     */
+    public static PasswordEncoder delegatingEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(DEFAULT_ENCODER_ID, Map.of(DEFAULT_ENCODER_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Mede o custo mínimo e soma um ao custo para cada vez que o tempo medido cabe duas vezes no alvo,
+     * já que cada incremento dobra o trabalho do BCrypt.
+     */
+    static int calibrateStrength(Duration target) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibracao");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibracao");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int calibrated = MIN_STRENGTH;
+        long expected = best;
+        while (calibrated < MAX_STRENGTH && expected * 2 <= target.toNanos()) {
+            expected *= 2;
+            calibrated++;
+        }
+        logger.debug("Calibração do BCrypt: {} ms no custo {}, custo escolhido {}",
+                Duration.ofNanos(best).toMillis(), MIN_STRENGTH, calibrated);
+        return calibrated;
+    }
+}
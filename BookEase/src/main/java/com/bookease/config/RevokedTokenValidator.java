@@ -0,0 +1,30 @@
+package com.bookease.config;
+
+import com.bookease.service.TokenRevocationService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejeita tokens revogados por logout (jti) ou por revogação de todos os tokens do usuário (emitidos até o instante da revogação).
+ */
+public class RevokedTokenValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "Token revogado", null);
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public RevokedTokenValidator(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        if (tokenRevocationService.isRevoked(jwt.getSubject(), jwt.getId(), jwt.getIssuedAt())) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookease.config;
+
+import com.bookease.service.JwtKeyService;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seleciona a chave pública pelo kid do cabeçalho do token. Tokens sem kid são verificados com a chave ativa.
+ * Além das validações padrão (expiração), aplica o validador adicional recebido, como a checagem de revogação.
+ * O tempo de cada decodificação é registrado no timer {@value #DECODE_TIMER}, separado por resultado.
+ * <p>
+ * O kid é lido decodificando apenas o cabeçalho; o token inteiro é analisado uma única vez, pelo decodificador Nimbus
+ * da chave. No caminho comum o decodificador é obtido com uma leitura sem bloqueio do mapa e só é recriado quando a
+ * chave publicada para o kid mudou.
+ */
+public class RotatingJwtDecoder implements JwtDecoder {
+
+    static final String DECODE_TIMER = "bookease.jwt.decode";
+
+    private final JwtKeyService jwtKeyService;
+    private final OAuth2TokenValidator<Jwt> jwtValidator;
+    private final Map<String, KeyDecoder> decoders = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public RotatingJwtDecoder(JwtKeyService jwtKeyService, OAuth2TokenValidator<Jwt> additionalValidator,
+                              MeterRegistry meterRegistry) {
+        this.jwtKeyService = jwtKeyService;
+        this.jwtValidator = new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), additionalValidator);
+        this.meterRegistry = meterRegistry;
+        this.validTimer = decodeTimer("valid");
+        this.invalidTimer = decodeTimer("invalid");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Jwt jwt = verify(token);
+            sample.stop(validTimer);
+            return jwt;
+        } catch (JwtException e) {
+            sample.stop(invalidTimer);
+            throw e;
+        }
+    }
+
+    private Jwt verify(String token) {
+        String keyId = readKeyId(token);
+        RSAPublicKey publicKey = jwtKeyService.publicKey(keyId);
+        if (publicKey == null) {
+            throw new BadJwtException("Chave de assinatura desconhecida: " + keyId);
+        }
+        String cacheKey = keyId != null ? keyId : "";
+        KeyDecoder keyDecoder = decoders.get(cacheKey);
+        if (keyDecoder == null || keyDecoder.publicKey() != publicKey) {
+            keyDecoder = decoders.compute(cacheKey, (id, existing) -> existing != null && existing.publicKey() == publicKey
+                    ? existing
+                    : new KeyDecoder(publicKey, newDecoder(publicKey)));
+        }
+        return keyDecoder.decoder().decode(token);
+    }
+
+    private JwtDecoder newDecoder(RSAPublicKey publicKey) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        decoder.setJwtValidator(jwtValidator);
+        return decoder;
+    }
+
+    private Timer decodeTimer(String outcome) {
+        return Timer.builder(DECODE_TIMER)
+                .description("Tempo de validação e decodificação de tokens JWT")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String readKeyId(String token) {
+        int headerEnd = token != null ? token.indexOf('.') : -1;
+        if (headerEnd <= 0) {
+            throw new BadJwtException("Token JWT malformado");
+        }
+        try {
+            return JWSHeader.parse(new Base64URL(token.substring(0, headerEnd))).getKeyID();
+        } catch (ParseException e) {
+            throw new BadJwtException("Token JWT malformado", e);
+        }
+    }
+
+    private record KeyDecoder(RSAPublicKey publicKey, JwtDecoder decoder) {
+    }
+}
@@ -1,20 +1,24 @@
 package com.bookease.config;
 
-import com.bookease.exception.PublicKeyLoadingException;
-import org.springframework.beans.factory.annotation.Value;
+import com.bookease.service.JwtKeyService;
+import com.bookease.service.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,15 +28,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
 import java.util.List;
 
 @Configuration
@@ -47,14 +42,24 @@ public class SecurityConfig {
     private static final String ROLE_PATIENT = "PATIENT";
     private static final String ROLE_CLINIC = "CLINIC";
 
-    private static final String[] PUBLIC_ENDPOINTS = {"/auth/login", "/patient/register"};
+    private static final String[] PUBLIC_ENDPOINTS = {"/auth/login", "/auth/refresh", "/patient/register"};
     private static final String[] PATIENT_INFO_ENDPOINTS = {"/patient/{patientId}", "/patient/cpf/{cpf}", "/patient/name"};
     private static final String[] DOCTOR_INFO_ENDPOINTS = {"/doctor/{doctorId}", "/doctor/name", "/doctor/speciality"};
-    private static final String[] CLINIC_INFO_ENDPOINTS = {"/clinic/{clinicId}", "/clinic/cnpj/{cnpj}", "/clinic/name", "/clinic/city"};
+    private static final String[] CLINIC_INFO_ENDPOINTS = {"/clinic/{clinicId}", "/clinic/cnpj/{cnpj}", "/clinic/name", "/clinic/city", "/clinic/nearby"};
     private static final String[] DOCTOR_CLINIC_ENDPOINTS = {"/doctor-clinic/{doctorClinicId}", "/doctor-clinic/doctor/{doctorId}", "/doctor-clinic/clinic/{clinicId}", "/doctor-clinic/doctors/{clinicId}", "/doctor-clinic/clinics/{doctorId}"};
 
-    @Value("${jwt.public.key}")
-    private String publicKeyPath;
+    private final JwtKeyService jwtKeyService;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SecurityConfig(JwtKeyService jwtKeyService,
+                          TokenRevocationService tokenRevocationService,
+                          MeterRegistry meterRegistry) {
+        this.jwtKeyService = jwtKeyService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -64,6 +69,7 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                         .requestMatchers(PATIENT_INFO_ENDPOINTS).hasAnyRole(ROLE_CLINIC, ROLE_DOCTOR, ROLE_ADMIN, ROLE_PATIENT)
                         .requestMatchers("/patient/meu-perfil").hasRole(ROLE_PATIENT)
                         .requestMatchers("/admin/**").hasRole(ROLE_ADMIN)
@@ -87,34 +93,14 @@ public class SecurityConfig {
     @Bean
     public WebSecurityCustomizer webSecurityCustomizer() {
         return web -> web.ignoring()
-                .requestMatchers("/auth/login", "/patient/register");
+                .requestMatchers(PUBLIC_ENDPOINTS);
     }
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        try {
-            ClassPathResource resource = new ClassPathResource(publicKeyPath);
-
-            if (!resource.exists()) {
-                throw new PublicKeyLoadingException("Arquivo de chave pública não encontrado no caminho: " + publicKeyPath);
-            }
-
-            String publicKeyContent = new String(Files.readAllBytes(Paths.get(resource.getURI())));
-
-            publicKeyContent = publicKeyContent
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s", "");
-
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            byte[] decodedKey = Base64.getDecoder().decode(publicKeyContent);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decodedKey);
-            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(keySpec);
-
-            return NimbusJwtDecoder.withPublicKey(publicKey).build();
-        } catch (IOException | NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new PublicKeyLoadingException("Erro ao carregar a chave pública: " + e.getMessage(), e);
-        }
+        OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(
+                new AccessTokenValidator(), new RevokedTokenValidator(tokenRevocationService));
+        return new RotatingJwtDecoder(jwtKeyService, validator, meterRegistry);
     }
 
     @Bean
@@ -132,11 +118,6 @@ public class SecurityConfig {
         return converter;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
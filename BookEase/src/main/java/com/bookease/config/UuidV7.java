@@ -0,0 +1,18 @@
+package com.bookease.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identificador UUID versão 7 (RFC 9562) gerado pela aplicação antes do insert: ordenado pelo tempo de criação,
+ * mantém os inserts no fim do índice da chave primária e permite lotes JDBC, como o {@code GenerationType.UUID}.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,64 @@
+package com.bookease.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs versão 7: 48 bits de timestamp Unix em milissegundos, 12 bits de contador (rand_a) e 62 bits
+ * aleatórios. O contador começa em um valor aleatório a cada milissegundo e é incrementado dentro dele, de modo que
+ * os identificadores gerados por esta JVM são estritamente crescentes mesmo em rajadas ou com o relógio recuando;
+ * se o contador esgota, o timestamp avança um milissegundo.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    /**
+     * Último (timestamp << 12 | contador) emitido.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long state = LAST.updateAndGet(last -> {
+            long lastTimestamp = last >>> COUNTER_BITS;
+            if (now > lastTimestamp) {
+                return (now << COUNTER_BITS) | RANDOM.nextInt(COUNTER_SEED_BOUND);
+            }
+            return last + 1;
+        });
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & COUNTER_MASK;
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Instante de criação, em milissegundos Unix, embutido em um UUID versão 7.
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bookease.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Com virtual threads ativas, acompanha pelo evento JFR jdk.VirtualThreadPinned os trechos que prendem a virtual
+ * thread à carrier (synchronized em volta de I/O, código nativo). Cada ocorrência acima do limite é contada em
+ * {@value #PINNED_TIMER}; o primeiro frame da aplicação de cada origem nova é registrado no log.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_TIMER = "bookease.virtual-thread.pinned";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.bookease.";
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Counter pinnedEvents;
+    private final Set<String> reportedOrigins = ConcurrentHashMap.newKeySet();
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinnedTimer = Timer.builder(PINNED_TIMER)
+                .description("Tempo em que uma virtual thread ficou presa à carrier")
+                .register(meterRegistry);
+        this.pinnedEvents = Counter.builder(PINNED_TIMER + ".events")
+                .description("Ocorrências de virtual threads presas à carrier acima do limite")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+        logger.info("Monitor de virtual threads fixadas ativo (limite {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedTimer.record(event.getDuration());
+        String origin = origin(event);
+        if (reportedOrigins.add(origin)) {
+            logger.warn("Virtual thread presa à carrier por {} ms em {}", event.getDuration().toMillis(), origin);
+        }
+    }
+
+    /**
+     * Primeiro frame da aplicação na pilha ou, se não houver, o frame do topo.
+     */
+    private static String origin(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "pilha indisponível";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(candidate -> candidate.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.getFirst());
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,25 +1,51 @@
 package com.bookease.controller;
 
+import com.bookease.model.dto.request.AppointmentBatchTransitionRequestDto;
 import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentBatchTransitionResponseDto;
+import com.bookease.model.dto.response.AppointmentImportResponseDto;
+import com.bookease.model.dto.response.AppointmentPageResponseDto;
 import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
 import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.AppointmentTransitionEnum;
+import com.bookease.model.enums.TransferFormatEnum;
 import com.bookease.service.AppointmentService;
+import com.bookease.service.AppointmentTransferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AppointmentService appointmentService;
+    private final AppointmentTransferService appointmentTransferService;
+    private final ObjectMapper objectMapper;
 
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService,
+                                 AppointmentTransferService appointmentTransferService,
+                                 ObjectMapper objectMapper) {
         this.appointmentService = appointmentService;
+        this.appointmentTransferService = appointmentTransferService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -28,6 +54,28 @@ public class AppointmentController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @PreAuthorize("hasAnyRole('CLINIC', 'ADMIN')")
+    public ResponseEntity<AppointmentImportResponseDto> importAppointments(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                           InputStream body) {
+        AppointmentImportResponseDto response = appointmentTransferService.importAppointments(body,
+                TransferFormatEnum.fromContentType(contentType));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('CLINIC', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(@RequestParam("start") LocalDateTime start,
+                                                                    @RequestParam("end") LocalDateTime end,
+                                                                    @RequestParam(value = "format", defaultValue = "CSV") TransferFormatEnum format) {
+        StreamingResponseBody body = outputStream -> appointmentTransferService.exportAppointments(start, end, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=appointments." + format.name().toLowerCase())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentResponseDto> getById(@PathVariable UUID id) {
         AppointmentResponseDto response = appointmentService.getAppointmentById(id);
@@ -35,27 +83,68 @@ public class AppointmentController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<List<AppointmentResponseDto>> getByPatient(@PathVariable UUID patientId) {
-        List<AppointmentResponseDto> responses = appointmentService.getAppointmentsByPatient(patientId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<AppointmentPageResponseDto> getByPatient(@PathVariable UUID patientId,
+                                                                   @RequestParam(value = "from", required = false) LocalDateTime from,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        AppointmentPageResponseDto response = appointmentService.getAppointmentsByPatient(patientId, from, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/patient/{patientId}/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByPatient(@PathVariable UUID patientId) {
+        return ndjson(consumer -> appointmentService.streamAppointmentsByPatient(patientId, consumer));
     }
 
     @GetMapping("/doctorClinic/{doctorClinicId}")
-    public ResponseEntity<List<AppointmentResponseDto>> getByDoctorClinic(@PathVariable UUID doctorClinicId) {
-        List<AppointmentResponseDto> responses = appointmentService.getAppointmentsByDoctorClinic(doctorClinicId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<AppointmentPageResponseDto> getByDoctorClinic(@PathVariable UUID doctorClinicId,
+                                                                        @RequestParam(value = "from", required = false) LocalDateTime from,
+                                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                                        @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        AppointmentPageResponseDto response = appointmentService.getAppointmentsByDoctorClinic(doctorClinicId, from, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/doctorClinic/{doctorClinicId}/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByDoctorClinic(@PathVariable UUID doctorClinicId) {
+        return ndjson(consumer -> appointmentService.streamAppointmentsByDoctorClinic(doctorClinicId, consumer));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<AppointmentResponseDto>> getByStatus(@PathVariable AppointmentEnum status) {
-        List<AppointmentResponseDto> responses = appointmentService.getAppointmentsByStatus(status);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<AppointmentPageResponseDto> getByStatus(@PathVariable AppointmentEnum status,
+                                                                  @RequestParam(value = "from", required = false) LocalDateTime from,
+                                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        AppointmentPageResponseDto response = appointmentService.getAppointmentsByStatus(status, from, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/status/{status}/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByStatus(@PathVariable AppointmentEnum status) {
+        return ndjson(consumer -> appointmentService.streamAppointmentsByStatus(status, consumer));
     }
 
     @GetMapping("/daterange")
-    public ResponseEntity<List<AppointmentResponseDto>> getByDateRange(@RequestParam("start") LocalDateTime start,
-                                                                       @RequestParam("end") LocalDateTime end) {
-        List<AppointmentResponseDto> responses = appointmentService.getAppointmentsByDateRange(start, end);
+    public ResponseEntity<AppointmentPageResponseDto> getByDateRange(@RequestParam("start") LocalDateTime start,
+                                                                     @RequestParam("end") LocalDateTime end,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        AppointmentPageResponseDto response = appointmentService.getAppointmentsByDateRange(start, end, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/daterange/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByDateRange(@RequestParam("start") LocalDateTime start,
+                                                                   @RequestParam("end") LocalDateTime end) {
+        return ndjson(consumer -> appointmentService.streamAppointmentsByDateRange(start, end, consumer));
+    }
+
+    @GetMapping("/availability/{doctorClinicId}")
+    public ResponseEntity<List<AvailableSlotResponseDto>> getAvailability(@PathVariable UUID doctorClinicId,
+                                                                          @RequestParam("procedureOfferedId") UUID procedureOfferedId,
+                                                                          @RequestParam(value = "from", required = false) LocalDateTime from,
+                                                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<AvailableSlotResponseDto> responses = appointmentService.getAvailableSlots(doctorClinicId, procedureOfferedId, from, limit);
         return ResponseEntity.ok(responses);
     }
 
@@ -76,4 +165,47 @@ public class AppointmentController {
         AppointmentResponseDto response = appointmentService.deactivateAppointment(id);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/{id}/confirm")
+    @PreAuthorize("hasAnyRole('DOCTOR', 'CLINIC', 'ADMIN')")
+    public ResponseEntity<Void> confirm(@PathVariable UUID id) {
+        appointmentService.transitionAppointment(id, AppointmentTransitionEnum.CONFIRM);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR', 'CLINIC', 'ADMIN')")
+    public ResponseEntity<Void> cancel(@PathVariable UUID id) {
+        appointmentService.transitionAppointment(id, AppointmentTransitionEnum.CANCEL);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/finish")
+    @PreAuthorize("hasAnyRole('DOCTOR', 'CLINIC', 'ADMIN')")
+    public ResponseEntity<Void> finish(@PathVariable UUID id) {
+        appointmentService.transitionAppointment(id, AppointmentTransitionEnum.FINISH);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/clinic/{clinicId}/transitions")
+    @PreAuthorize("hasAnyRole('CLINIC', 'ADMIN')")
+    public ResponseEntity<AppointmentBatchTransitionResponseDto> transitionClinicDay(@PathVariable UUID clinicId,
+                                                                                     @RequestBody @Valid AppointmentBatchTransitionRequestDto request) {
+        AppointmentBatchTransitionResponseDto response = appointmentService.transitionClinicDay(clinicId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<AppointmentResponseDto>> producer) {
+        StreamingResponseBody body = outputStream -> producer.accept(dto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(dto));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
 }
@@ -1,11 +1,15 @@
 package com.bookease.controller;
 
 import com.bookease.model.dto.request.LoginRequestDto;
+import com.bookease.model.dto.request.RefreshTokenRequestDto;
 import com.bookease.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -23,8 +27,14 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginRequestDto loginDto) {
-        Map<String, String> tokens = authService.authenticate(loginDto);
+    public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginRequestDto loginDto, HttpServletRequest request) {
+        Map<String, String> tokens = authService.authenticate(loginDto, request.getRemoteAddr());
+        return ResponseEntity.ok(tokens);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@Valid @RequestBody RefreshTokenRequestDto refreshDto) {
+        Map<String, String> tokens = authService.refresh(refreshDto.refreshToken());
         return ResponseEntity.ok(tokens);
     }
 
@@ -35,4 +45,10 @@ public class AuthController {
         authService.revokeTokens(userId);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal Jwt jwt) {
+        authService.logout(jwt);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.bookease.controller;
 
 import com.bookease.model.dto.request.ClinicRequestDto;
 import com.bookease.model.dto.response.ClinicResponseDto;
+import com.bookease.model.dto.response.NearbyClinicPageResponseDto;
+import com.bookease.service.ClinicSearchService;
 import com.bookease.service.ClinicService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +19,12 @@ import java.util.UUID;
 public class ClinicController {
 
     private final ClinicService clinicService;
+    private final ClinicSearchService clinicSearchService;
 
     @Autowired
-    public ClinicController(ClinicService clinicService) {
+    public ClinicController(ClinicService clinicService, ClinicSearchService clinicSearchService) {
         this.clinicService = clinicService;
+        this.clinicSearchService = clinicSearchService;
     }
 
     @PostMapping("/register")
@@ -64,6 +68,19 @@ public class ClinicController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR', 'CLINIC', 'ADMIN')")
+    public ResponseEntity<NearbyClinicPageResponseDto> getNearbyClinics(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam UUID procedureId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        NearbyClinicPageResponseDto response = clinicSearchService.findNearby(latitude, longitude, radiusKm, procedureId, page, size);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{clinicId}")
     @PreAuthorize("hasAnyRole('PATIENT', 'CLINIC')")
     public ResponseEntity<ClinicResponseDto> updateClinic(
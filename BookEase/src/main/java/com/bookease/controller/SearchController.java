@@ -0,0 +1,35 @@
+package com.bookease.controller;
+
+import com.bookease.model.dto.response.SearchResultResponseDto;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    @Autowired
+    public SearchController(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('PATIENT', 'DOCTOR', 'CLINIC', 'ADMIN')")
+    public ResponseEntity<List<SearchResultResponseDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) SearchTypeEnum type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndexService.search(q, type, limit));
+    }
+}
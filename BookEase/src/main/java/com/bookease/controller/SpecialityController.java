@@ -0,0 +1,41 @@
+package com.bookease.controller;
+
+import com.bookease.model.dto.request.SpecialityReassignRequestDto;
+import com.bookease.model.dto.response.SpecialityReassignResponseDto;
+import com.bookease.service.SpecialityService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/speciality")
+public class SpecialityController {
+
+    private final SpecialityService specialityService;
+
+    @Autowired
+    public SpecialityController(SpecialityService specialityService) {
+        this.specialityService = specialityService;
+    }
+
+    @DeleteMapping("/{specialityId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteSpeciality(
+            @PathVariable UUID specialityId) {
+        specialityService.deleteById(specialityId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{specialityId}/reassign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SpecialityReassignResponseDto> reassignDoctors(
+            @PathVariable UUID specialityId,
+            @Valid @RequestBody SpecialityReassignRequestDto request) {
+        SpecialityReassignResponseDto response = specialityService.reassignDoctors(specialityId, request.targetSpecialityId());
+        return ResponseEntity.ok(response);
+    }
+}
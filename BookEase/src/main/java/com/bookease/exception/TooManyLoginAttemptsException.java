@@ -0,0 +1,7 @@
+package com.bookease.exception;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,23 @@
 package com.bookease.exception;
 
+import java.util.List;
+
 public class UniqueFieldException extends RuntimeException {
+    private final List<String> fields;
+
     public UniqueFieldException(String message) {
+        this(message, List.of());
+    }
+    public UniqueFieldException(String message, List<String> fields) {
         super(message);
+        this.fields = List.copyOf(fields);
     }
     public UniqueFieldException(String message, Throwable cause) {
         super(message, cause);
+        this.fields = List.of();
+    }
+
+    public List<String> getFields() {
+        return fields;
     }
 }
@@ -0,0 +1,15 @@
+package com.bookease.model.dto.request;
+
+import com.bookease.model.enums.AppointmentTransitionEnum;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record AppointmentBatchTransitionRequestDto(
+        @NotNull(message = "A transição é obrigatória")
+        AppointmentTransitionEnum transition,
+
+        @NotNull(message = "A data é obrigatória")
+        LocalDate date
+) {
+}
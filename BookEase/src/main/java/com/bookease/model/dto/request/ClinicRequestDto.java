@@ -1,6 +1,8 @@
 package com.bookease.model.dto.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
@@ -19,6 +21,14 @@ public record ClinicRequestDto (
         @NotBlank(message = "Endereço é obrigatório")
         String address,
 
+        @DecimalMin(value = "-90.0", message = "Latitude deve estar entre -90 e 90")
+        @DecimalMax(value = "90.0", message = "Latitude deve estar entre -90 e 90")
+        Double latitude,
+
+        @DecimalMin(value = "-180.0", message = "Longitude deve estar entre -180 e 180")
+        @DecimalMax(value = "180.0", message = "Longitude deve estar entre -180 e 180")
+        Double longitude,
+
         @NotNull(message = "Dados do usuário são obrigatórios")
         @Valid
         UserRequestDto userRequestDto
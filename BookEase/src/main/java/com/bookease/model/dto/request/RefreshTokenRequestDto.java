@@ -0,0 +1,12 @@
+package com.bookease.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+
+@Builder
+public record RefreshTokenRequestDto(
+        @NotBlank(message = "Refresh token é obrigatório")
+        @JsonProperty("refresh_token")
+        String refreshToken
+) {}
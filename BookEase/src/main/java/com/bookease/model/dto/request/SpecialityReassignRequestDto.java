@@ -0,0 +1,10 @@
+package com.bookease.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record SpecialityReassignRequestDto(
+        @NotNull(message = "A especialidade de destino é obrigatória")
+        UUID targetSpecialityId
+) {}
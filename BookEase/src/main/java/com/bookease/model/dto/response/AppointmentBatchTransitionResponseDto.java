@@ -0,0 +1,14 @@
+package com.bookease.model.dto.response;
+
+import com.bookease.model.enums.AppointmentEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AppointmentBatchTransitionResponseDto(
+        UUID clinicId,
+        LocalDate date,
+        AppointmentEnum status,
+        int updated
+) {
+}
@@ -0,0 +1,7 @@
+package com.bookease.model.dto.response;
+
+public record AppointmentImportErrorDto(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,12 @@
+package com.bookease.model.dto.response;
+
+import java.util.List;
+
+public record AppointmentImportResponseDto(
+        long totalRows,
+        long imported,
+        long failed,
+        List<AppointmentImportErrorDto> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,9 @@
+package com.bookease.model.dto.response;
+
+import java.util.List;
+
+public record AppointmentPageResponseDto(
+        List<AppointmentResponseDto> content,
+        String nextCursor
+) {
+}
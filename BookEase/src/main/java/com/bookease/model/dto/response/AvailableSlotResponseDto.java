@@ -0,0 +1,11 @@
+package com.bookease.model.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AvailableSlotResponseDto(
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        UUID workScheduleId
+) {
+}
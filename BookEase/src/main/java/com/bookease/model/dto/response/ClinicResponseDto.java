@@ -16,6 +16,8 @@ public record ClinicResponseDto(
         String description,
         String city,
         String address,
+        Double latitude,
+        Double longitude,
         boolean active
 ) {
 }
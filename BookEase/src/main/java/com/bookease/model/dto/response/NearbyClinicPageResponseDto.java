@@ -0,0 +1,11 @@
+package com.bookease.model.dto.response;
+
+import java.util.List;
+
+public record NearbyClinicPageResponseDto(
+        List<NearbyClinicResponseDto> content,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
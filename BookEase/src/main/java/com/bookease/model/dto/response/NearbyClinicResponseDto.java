@@ -0,0 +1,16 @@
+package com.bookease.model.dto.response;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Builder
+public record NearbyClinicResponseDto(
+        ClinicResponseDto clinic,
+        double distanceKm,
+        UUID procedureOfferedId,
+        UUID doctorClinicId,
+        double price,
+        AvailableSlotResponseDto nextAvailableSlot
+) {
+}
@@ -0,0 +1,14 @@
+package com.bookease.model.dto.response;
+
+import com.bookease.model.enums.SearchTypeEnum;
+
+import java.util.UUID;
+
+public record SearchResultResponseDto(
+        SearchTypeEnum type,
+        UUID id,
+        String title,
+        String subtitle,
+        double score
+) {
+}
@@ -0,0 +1,10 @@
+package com.bookease.model.dto.response;
+
+import java.util.UUID;
+
+public record SpecialityReassignResponseDto(
+        UUID sourceSpecialityId,
+        UUID targetSpecialityId,
+        int doctorsReassigned
+) {
+}
@@ -1,8 +1,10 @@
 package com.bookease.model.entity;
 
+import com.bookease.config.UuidV7;
 import com.bookease.model.enums.AppointmentEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -15,12 +17,15 @@ import java.util.UUID;
 @Table(name = "tb_appointment")
 public class Appointment {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
     private LocalDateTime dateTime;
 
+    @Column(name = "end_date_time")
+    private LocalDateTime endDateTime;
+
     @Column(name = "notes")
     private String description;
 
@@ -46,4 +51,12 @@ public class Appointment {
     @ManyToOne
     @JoinColumn(name = "work_schedule_id", nullable = false)
     private WorkSchedule workSchedule;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
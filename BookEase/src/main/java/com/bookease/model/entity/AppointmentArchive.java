@@ -0,0 +1,66 @@
+package com.bookease.model.entity;
+
+import com.bookease.model.enums.AppointmentEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Agendamento encerrado movido de {@code tb_appointment} por {@code AppointmentArchiveService}. Guarda as mesmas
+ * colunas, com as referências apenas como ids, e o instante do arquivamento.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_appointment_archive", indexes = {
+        @Index(name = "idx_appointment_archive_patient_date_time", columnList = "paciente_id, date_time"),
+        @Index(name = "idx_appointment_archive_doctor_clinic_date_time", columnList = "doctor_clinic_id, date_time")
+})
+public class AppointmentArchive {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private LocalDateTime dateTime;
+
+    @Column(name = "end_date_time")
+    private LocalDateTime endDateTime;
+
+    @Column(name = "notes")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentEnum status;
+
+    @Column(name = "procedure_offered_id", nullable = false)
+    private UUID procedureOfferedId;
+
+    @Column(name = "doctor_clinic_id", nullable = false)
+    private UUID doctorClinicId;
+
+    @Column(name = "paciente_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "work_schedule_id", nullable = false)
+    private UUID workScheduleId;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
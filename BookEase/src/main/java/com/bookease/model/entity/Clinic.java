@@ -35,6 +35,12 @@ public class Clinic {
     @Column(nullable = false)
     private String address;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(nullable = false)
     private boolean active = true;
 }
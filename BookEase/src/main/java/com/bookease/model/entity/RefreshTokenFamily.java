@@ -0,0 +1,40 @@
+package com.bookease.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_refresh_token_family", indexes = {
+        @Index(name = "idx_refresh_token_family_username", columnList = "username"),
+        @Index(name = "idx_refresh_token_family_expires_at", columnList = "expires_at")
+})
+public class RefreshTokenFamily {
+    @Id
+    @Column(name = "family_id")
+    private UUID familyId;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "current_token_id", nullable = false)
+    private String currentTokenId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
@@ -3,6 +3,7 @@ package com.bookease.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -12,7 +13,11 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_user")
+@Table(name = "tb_user", indexes = {
+        @Index(name = "idx_user_email", columnList = "email"),
+        @Index(name = "idx_user_phone", columnList = "phone"),
+        @Index(name = "idx_user_tokens_revoked_at", columnList = "tokens_revoked_at")
+})
 public class User {
     @Id
     @Column(name = "user_id")
@@ -40,6 +45,9 @@ public class User {
     @Column(name = "token_revoked", nullable = false)
     private boolean tokenRevoked = false;
 
+    @Column(name = "tokens_revoked_at")
+    private Instant tokensRevokedAt;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "tb_user_role",
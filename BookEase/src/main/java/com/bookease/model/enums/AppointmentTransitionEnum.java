@@ -0,0 +1,32 @@
+package com.bookease.model.enums;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Transições permitidas no ciclo de vida de um agendamento: PENDENTE pode ser confirmado ou cancelado, CONFIRMADO
+ * pode ser finalizado ou cancelado; CANCELADO e FINALIZADO são estados finais.
+ */
+@Getter
+public enum AppointmentTransitionEnum {
+    CONFIRM(AppointmentEnum.CONFIRMADO, "confirmar", Set.of(AppointmentEnum.PENDENTE)),
+    CANCEL(AppointmentEnum.CANCELADO, "cancelar", Set.of(AppointmentEnum.PENDENTE, AppointmentEnum.CONFIRMADO)),
+    FINISH(AppointmentEnum.FINALIZADO, "finalizar", Set.of(AppointmentEnum.CONFIRMADO));
+
+    private final AppointmentEnum target;
+    private final String action;
+    private final Set<AppointmentEnum> sources;
+
+    AppointmentTransitionEnum(AppointmentEnum target, String action, Set<AppointmentEnum> sources) {
+        this.target = target;
+        this.action = action;
+        this.sources = sources;
+    }
+
+    public static boolean isAllowed(AppointmentEnum from, AppointmentEnum to) {
+        return from == to || Arrays.stream(values())
+                .anyMatch(transition -> transition.target == to && transition.sources.contains(from));
+    }
+}
@@ -2,6 +2,8 @@ package com.bookease.model.enums;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.time.DayOfWeek;
+
 public enum DayOfWeekEnum {
     DOMINGO("Domingo"),
     SEGUNDA("Segunda-feira"),
@@ -21,4 +23,16 @@ public enum DayOfWeekEnum {
     public String getDisplayName() {
         return displayName;
     }
+
+    public DayOfWeek toDayOfWeek() {
+        return switch (this) {
+            case DOMINGO -> DayOfWeek.SUNDAY;
+            case SEGUNDA -> DayOfWeek.MONDAY;
+            case TERCA -> DayOfWeek.TUESDAY;
+            case QUARTA -> DayOfWeek.WEDNESDAY;
+            case QUINTA -> DayOfWeek.THURSDAY;
+            case SEXTA -> DayOfWeek.FRIDAY;
+            case SABADO -> DayOfWeek.SATURDAY;
+        };
+    }
 }
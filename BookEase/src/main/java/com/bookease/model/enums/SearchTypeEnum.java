@@ -0,0 +1,16 @@
+package com.bookease.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum SearchTypeEnum {
+    DOCTOR("Médico"),
+    CLINIC("Clínica"),
+    PROCEDURE("Procedimento");
+
+    private final String displayName;
+
+    SearchTypeEnum(String displayName) {
+        this.displayName = displayName;
+    }
+}
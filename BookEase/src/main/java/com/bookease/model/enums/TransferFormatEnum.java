@@ -0,0 +1,25 @@
+package com.bookease.model.enums;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+public enum TransferFormatEnum {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    TransferFormatEnum(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static TransferFormatEnum fromContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(format -> contentType != null && contentType.toLowerCase().startsWith(format.mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Formato não suportado: " + contentType
+                        + ". Use text/csv ou application/x-ndjson"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.bookease.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum UniqueFieldEnum {
+    USERNAME("Username"),
+    EMAIL("Email"),
+    PHONE("Telefone"),
+    CPF("CPF"),
+    CRM("CRM"),
+    CNPJ("CNPJ");
+
+    private final String displayName;
+
+    UniqueFieldEnum(String displayName) {
+        this.displayName = displayName;
+    }
+}
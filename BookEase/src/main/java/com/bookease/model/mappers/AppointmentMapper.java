@@ -16,6 +16,7 @@ public class AppointmentMapper {
                                 DoctorClinic doctorClinic, Patient patient, WorkSchedule workSchedule) {
         return Appointment.builder()
                 .dateTime(dto.dateTime())
+                .endDateTime(dto.dateTime().plusMinutes(procedureOffered.getDurationMinutes()))
                 .description(dto.description())
                 .status(dto.status())
                 .procedureOffered(procedureOffered)
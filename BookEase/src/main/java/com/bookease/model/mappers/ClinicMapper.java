@@ -16,6 +16,8 @@ public class ClinicMapper {
                 .description(dto.description())
                 .city(dto.city())
                 .address(dto.address())
+                .latitude(dto.latitude())
+                .longitude(dto.longitude())
                 .active(true)
                 .build();
     }
@@ -33,6 +35,8 @@ public class ClinicMapper {
                 .description(entity.getDescription())
                 .city(entity.getCity())
                 .address(entity.getAddress())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
                 .active(entity.isActive())
                 .build();
 
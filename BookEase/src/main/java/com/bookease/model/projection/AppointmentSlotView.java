@@ -0,0 +1,12 @@
+package com.bookease.model.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface AppointmentSlotView {
+    UUID getId();
+
+    LocalDateTime getDateTime();
+
+    int getDurationMinutes();
+}
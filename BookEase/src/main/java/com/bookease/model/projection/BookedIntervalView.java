@@ -0,0 +1,12 @@
+package com.bookease.model.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface BookedIntervalView {
+    UUID getDoctorClinicId();
+
+    LocalDateTime getDateTime();
+
+    LocalDateTime getEndDateTime();
+}
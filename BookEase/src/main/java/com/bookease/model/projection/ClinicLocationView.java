@@ -0,0 +1,11 @@
+package com.bookease.model.projection;
+
+import java.util.UUID;
+
+public interface ClinicLocationView {
+    UUID getId();
+
+    double getLatitude();
+
+    double getLongitude();
+}
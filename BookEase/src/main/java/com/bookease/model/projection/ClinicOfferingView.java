@@ -0,0 +1,15 @@
+package com.bookease.model.projection;
+
+import java.util.UUID;
+
+public interface ClinicOfferingView {
+    UUID getProcedureOfferedId();
+
+    UUID getDoctorClinicId();
+
+    UUID getClinicId();
+
+    int getDurationMinutes();
+
+    double getPrice();
+}
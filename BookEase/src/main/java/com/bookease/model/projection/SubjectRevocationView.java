@@ -0,0 +1,9 @@
+package com.bookease.model.projection;
+
+import java.time.Instant;
+
+public interface SubjectRevocationView {
+    String getUsername();
+
+    Instant getTokensRevokedAt();
+}
@@ -0,0 +1,9 @@
+package com.bookease.model.projection;
+
+import java.util.UUID;
+
+public interface WorkScheduleOwnerView {
+    UUID getId();
+
+    UUID getDoctorClinicId();
+}
@@ -0,0 +1,40 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.AppointmentArchive;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AppointmentArchiveRepository extends JpaRepository<AppointmentArchive, UUID> {
+
+    /**
+     * Copia para o arquivo os agendamentos informados. O limite {@code before} repete o da reivindicação para que o
+     * SELECT leia apenas as partições antigas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tb_appointment_archive (id, date_time, end_date_time, notes, status, " +
+            "procedure_offered_id, doctor_clinic_id, paciente_id, work_schedule_id, active, version, created_at, archived_at) " +
+            "SELECT id, date_time, end_date_time, notes, status, procedure_offered_id, doctor_clinic_id, paciente_id, " +
+            "work_schedule_id, active, version, created_at, :archivedAt FROM tb_appointment " +
+            "WHERE id IN (:ids) AND date_time < :before", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_appointment_archive"))
+    int copyFromAppointments(@Param("ids") Collection<UUID> ids,
+                             @Param("before") LocalDateTime before,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Cria as partições mensais de {@code tb_appointment} dos próximos {@code monthsAhead} meses e remove as vazias
+     * anteriores a {@code keepFrom}. Apenas PostgreSQL (função criada na migração V6).
+     */
+    @Query(value = "SELECT bookease_maintain_appointment_partitions(:monthsAhead, :keepFrom)", nativeQuery = true)
+    int maintainPartitions(@Param("monthsAhead") int monthsAhead, @Param("keepFrom") LocalDate keepFrom);
+}
@@ -1,24 +1,45 @@
 package com.bookease.repository;
 
+import com.bookease.model.dto.response.AppointmentResponseDto;
 import com.bookease.model.entity.Appointment;
 import com.bookease.model.entity.DoctorClinic;
 import com.bookease.model.entity.Patient;
 import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.projection.AppointmentSlotView;
+import com.bookease.model.projection.BookedIntervalView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
 
-    List<Appointment> findByPatient(Patient patient);
+    /**
+     * Posição após o cursor (dateTime, id). O limite inferior em dateTime vem isolado para que o PostgreSQL descarte
+     * as partições mensais anteriores ao cursor.
+     */
+    String AFTER_CURSOR = "a.dateTime >= :afterDateTime AND (a.dateTime > :afterDateTime OR a.id > :afterId)";
+    String STREAM_FETCH_SIZE = "500";
+    String RESPONSE_PROJECTION = "SELECT new com.bookease.model.dto.response.AppointmentResponseDto(" +
+            "a.id, a.dateTime, a.description, a.status, a.procedureOffered.id, a.doctorClinic.id, " +
+            "a.patient.id, a.workSchedule.id, a.active) FROM Appointment a ";
 
-    List<Appointment> findByDoctorClinic(DoctorClinic doctorClinic);
+    List<Appointment> findByPatientAndDateTimeGreaterThanEqual(Patient patient, LocalDateTime from);
 
-    List<Appointment> findByStatus(AppointmentEnum status);
+    List<Appointment> findByDoctorClinicAndDateTimeGreaterThanEqual(DoctorClinic doctorClinic, LocalDateTime from);
+
+    List<Appointment> findByStatusAndDateTimeGreaterThanEqual(AppointmentEnum status, LocalDateTime from);
 
     List<Appointment> findByDateTime(LocalDateTime dateTime);
 
@@ -30,4 +51,138 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     List<Appointment> findByDoctorClinicAndDateRange(@Param("doctorClinic") DoctorClinic doctorClinic,
                                                      @Param("start") LocalDateTime start,
                                                      @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    @Query("SELECT a.id AS id, a.dateTime AS dateTime, po.durationMinutes AS durationMinutes " +
+            "FROM Appointment a JOIN a.procedureOffered po " +
+            "WHERE a.doctorClinic.id = :doctorClinicId AND a.active = true " +
+            "AND a.status <> com.bookease.model.enums.AppointmentEnum.CANCELADO AND a.dateTime >= :from")
+    List<AppointmentSlotView> findBookedSlots(@Param("doctorClinicId") UUID doctorClinicId,
+                                              @Param("from") LocalDateTime from);
+
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctorClinic.id = :doctorClinicId AND a.active = true " +
+            "AND a.status <> com.bookease.model.enums.AppointmentEnum.CANCELADO " +
+            "AND a.dateTime < :end AND a.endDateTime > :start AND a.id <> :excludedId")
+    boolean existsOverlapping(@Param("doctorClinicId") UUID doctorClinicId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("excludedId") UUID excludedId);
+
+    @Query("SELECT a.doctorClinic.id AS doctorClinicId, a.dateTime AS dateTime, a.endDateTime AS endDateTime " +
+            "FROM Appointment a WHERE a.doctorClinic.id IN :doctorClinicIds AND a.active = true " +
+            "AND a.status <> com.bookease.model.enums.AppointmentEnum.CANCELADO " +
+            "AND a.dateTime < :until AND a.endDateTime > :from")
+    List<BookedIntervalView> findBookedIntervals(@Param("doctorClinicIds") Collection<UUID> doctorClinicIds,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("until") LocalDateTime until);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.id = :id")
+    Optional<AppointmentResponseDto> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Muda o status em um único UPDATE condicionado ao status atual, incrementando a versão. Retorna 0 quando o
+     * agendamento não existe, está inativo ou já saiu de um dos status de origem.
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :target, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.active = true AND a.status IN :sources")
+    int transition(@Param("id") UUID id,
+                   @Param("sources") Collection<AppointmentEnum> sources,
+                   @Param("target") AppointmentEnum target);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :target, a.version = a.version + 1 " +
+            "WHERE a.doctorClinic.id IN :doctorClinicIds AND a.dateTime >= :from AND a.dateTime < :until " +
+            "AND a.active = true AND a.status IN :sources")
+    int transitionAll(@Param("doctorClinicIds") Collection<UUID> doctorClinicIds,
+                      @Param("from") LocalDateTime from,
+                      @Param("until") LocalDateTime until,
+                      @Param("sources") Collection<AppointmentEnum> sources,
+                      @Param("target") AppointmentEnum target);
+
+    /**
+     * Reivindica até {@code limit} reservas PENDENTE vencidas (criadas antes de {@code createdBefore} ou cujo horário
+     * já começou), bloqueando as linhas até o fim da transação. {@code SKIP LOCKED} faz cada instância pular as linhas
+     * já reivindicadas por outra, de modo que varreduras concorrentes recebem lotes disjuntos.
+     */
+    @Query(value = "SELECT id FROM tb_appointment WHERE active = true AND status = 'PENDENTE' " +
+            "AND (created_at < :createdBefore OR date_time < :now) LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<UUID> claimStalePending(@Param("now") LocalDateTime now,
+                                 @Param("createdBefore") LocalDateTime createdBefore,
+                                 @Param("limit") int limit);
+
+    /**
+     * Reivindica até {@code limit} agendamentos CONFIRMADO já encerrados, como em {@link #claimStalePending}.
+     */
+    @Query(value = "SELECT id FROM tb_appointment WHERE active = true AND status = 'CONFIRMADO' " +
+            "AND end_date_time < :now LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> claimEndedConfirmed(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Leva os agendamentos reivindicados ao status final, como {@link #transition}. {@code active} continua sendo
+     * apenas a marca de exclusão lógica, então os agendamentos encerrados seguem ativos.
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :target, a.version = a.version + 1 " +
+            "WHERE a.id IN :ids AND a.active = true AND a.status = :source")
+    int close(@Param("ids") Collection<UUID> ids,
+              @Param("source") AppointmentEnum source,
+              @Param("target") AppointmentEnum target);
+
+    /**
+     * Reivindica até {@code limit} agendamentos encerrados anteriores a {@code before} para arquivamento, como em
+     * {@link #claimStalePending}.
+     */
+    @Query(value = "SELECT id FROM tb_appointment WHERE date_time < :before " +
+            "AND status IN ('FINALIZADO', 'CANCELADO') LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> claimArchivable(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids AND a.dateTime < :before")
+    int deleteArchived(@Param("ids") Collection<UUID> ids, @Param("before") LocalDateTime before);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.status = :status AND " + AFTER_CURSOR + " ORDER BY a.dateTime, a.id")
+    List<AppointmentResponseDto> findPageByStatus(@Param("status") AppointmentEnum status,
+                                                  @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                  @Param("afterId") UUID afterId,
+                                                  Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.dateTime BETWEEN :start AND :end AND " + AFTER_CURSOR +
+            " ORDER BY a.dateTime, a.id")
+    List<AppointmentResponseDto> findPageByDateTimeBetween(@Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end,
+                                                           @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                           @Param("afterId") UUID afterId,
+                                                           Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.doctorClinic.id = :doctorClinicId AND " + AFTER_CURSOR +
+            " ORDER BY a.dateTime, a.id")
+    List<AppointmentResponseDto> findPageByDoctorClinicId(@Param("doctorClinicId") UUID doctorClinicId,
+                                                          @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                          @Param("afterId") UUID afterId,
+                                                          Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.patient.id = :patientId AND " + AFTER_CURSOR +
+            " ORDER BY a.dateTime, a.id")
+    List<AppointmentResponseDto> findPageByPatientId(@Param("patientId") UUID patientId,
+                                                     @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                     @Param("afterId") UUID afterId,
+                                                     Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.status = :status ORDER BY a.dateTime, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<AppointmentResponseDto> streamByStatus(@Param("status") AppointmentEnum status);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.dateTime BETWEEN :start AND :end ORDER BY a.dateTime, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<AppointmentResponseDto> streamByDateTimeBetween(@Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.doctorClinic.id = :doctorClinicId ORDER BY a.dateTime, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<AppointmentResponseDto> streamByDoctorClinicId(@Param("doctorClinicId") UUID doctorClinicId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE a.patient.id = :patientId ORDER BY a.dateTime, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<AppointmentResponseDto> streamByPatientId(@Param("patientId") UUID patientId);
+}
@@ -1,10 +1,12 @@
 package com.bookease.repository;
 
 import com.bookease.model.entity.Clinic;
+import com.bookease.model.projection.ClinicLocationView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,4 +24,14 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
 
     @Query("SELECT c FROM Clinic c JOIN c.user u WHERE u.name = :name AND c.active = true")
     List<Clinic> findByUserName(@Param("name") String name);
+
+    @Query("SELECT c FROM Clinic c JOIN FETCH c.user WHERE c.active = true")
+    List<Clinic> findAllActiveWithUser();
+
+    @Query("SELECT c FROM Clinic c JOIN FETCH c.user WHERE c.id IN :ids AND c.active = true")
+    List<Clinic> findActiveWithUserByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT c.id AS id, c.latitude AS latitude, c.longitude AS longitude FROM Clinic c " +
+            "WHERE c.active = true AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+    List<ClinicLocationView> findActiveLocations();
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +17,9 @@ public interface DoctorClinicRepository extends JpaRepository<DoctorClinic, UUID
     @Query("SELECT dc FROM DoctorClinic dc WHERE dc.id = :uuid AND dc.active = true")
     Optional<DoctorClinic> findById(UUID uuid);
 
+    @Query("SELECT COUNT(dc) > 0 FROM DoctorClinic dc WHERE dc.id = :id AND dc.active = true")
+    boolean existsActiveById(@Param("id") UUID id);
+
     @Query("SELECT dc FROM DoctorClinic dc WHERE dc.doctor.id = :doctorId AND dc.active = true")
     List<DoctorClinic> findDoctorClinicsByDoctor(@Param("doctorId") UUID doctorId);
 
@@ -27,4 +31,10 @@ public interface DoctorClinicRepository extends JpaRepository<DoctorClinic, UUID
 
     @Query("SELECT dc.clinic FROM DoctorClinic dc WHERE dc.doctor.id = :doctorId AND dc.active = true")
     List<Clinic> findClinicsByDoctor(@Param("doctorId") UUID doctorId);
+
+    @Query("SELECT dc.id FROM DoctorClinic dc WHERE dc.id IN :ids AND dc.active = true")
+    List<UUID> findActiveIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT dc.id FROM DoctorClinic dc WHERE dc.clinic.id = :clinicId")
+    List<UUID> findIdsByClinic(@Param("clinicId") UUID clinicId);
 }
@@ -1,8 +1,12 @@
 package com.bookease.repository;
 
 import com.bookease.model.entity.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
@@ -24,4 +28,27 @@ public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
     @Query("SELECT d FROM Doctor d JOIN d.user u JOIN u.roles r " +
             "WHERE u.name = :name AND r.name = 'DOCTOR' AND d.active = true")
     Optional<Doctor> findByUserNameWithDoctorRole(@NonNull @Param("name") String name);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT d FROM Doctor d JOIN FETCH d.user LEFT JOIN FETCH d.specialities WHERE d.active = true")
+    List<Doctor> findAllActiveWithUserAndSpecialities();
+
+    /**
+     * Remove a especialidade de todos os médicos com um único DELETE na tabela de associação, sem carregar os
+     * médicos. O espaço de consulta restringe a invalidação do cache de segundo nível a essa tabela.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tb_doctor_speciality WHERE speciality_id = :specialityId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_doctor_speciality"))
+    int removeSpecialityFromAllDoctors(@Param("specialityId") UUID specialityId);
+
+    /**
+     * Associa a especialidade de destino a todos os médicos que têm a de origem e ainda não têm a de destino.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tb_doctor_speciality (doctor_id, speciality_id) " +
+            "SELECT ds.doctor_id, :targetId FROM tb_doctor_speciality ds WHERE ds.speciality_id = :sourceId " +
+            "AND NOT EXISTS (SELECT 1 FROM tb_doctor_speciality t WHERE t.doctor_id = ds.doctor_id AND t.speciality_id = :targetId)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_doctor_speciality"))
+    int copySpecialityToDoctors(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
+}
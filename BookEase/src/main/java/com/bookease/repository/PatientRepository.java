@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +16,9 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     @Query("SELECT p FROM Patient p WHERE p.id = :id AND p.active = true")
     Optional<Patient> findById(@NonNull @Param("id") UUID id);
 
+    @Query("SELECT COUNT(p) > 0 FROM Patient p WHERE p.id = :id AND p.active = true")
+    boolean existsActiveById(@NonNull @Param("id") UUID id);
+
     @Query("SELECT p FROM Patient p WHERE p.cpf = :cpf AND p.active = true")
     Optional<Patient> findByCpf(@NonNull @Param("cpf") String cpf);
 
@@ -23,4 +28,7 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     @Query("SELECT p FROM Patient p JOIN p.user u JOIN u.roles r " +
             "WHERE u.name = :name AND r.name = 'PATIENT' AND p.active = true")
     Optional<Patient> findByUserNameWithPatientRole(@NonNull @Param("name") String name);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids AND p.active = true")
+    List<UUID> findActiveIdsByIdIn(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
@@ -2,10 +2,13 @@ package com.bookease.repository;
 
 import com.bookease.model.enums.ProcedureEnum;
 import com.bookease.model.entity.ProcedureOffered;
+import com.bookease.model.projection.ClinicOfferingView;
+import com.bookease.model.projection.OfferedProcedureView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -66,4 +69,18 @@ public interface ProcedureOfferedRepository extends JpaRepository<ProcedureOffer
             @Param("doctorClinicId") UUID doctorClinicId,
             @Param("procedureEnum") ProcedureEnum procedureEnum
     );
-}
\ No newline at end of file
+
+    @Query("SELECT po.id AS procedureOfferedId, dc.id AS doctorClinicId, c.id AS clinicId, " +
+            "po.durationMinutes AS durationMinutes, po.price AS price " +
+            "FROM ProcedureOffered po JOIN po.doctorClinic dc JOIN dc.clinic c " +
+            "WHERE po.procedure.id = :procedureId AND c.id IN :clinicIds " +
+            "AND po.active = true AND dc.active = true AND c.active = true")
+    List<ClinicOfferingView> findActiveOfferingsByProcedureAndClinicIds(
+            @Param("procedureId") UUID procedureId,
+            @Param("clinicIds") Collection<UUID> clinicIds
+    );
+
+    @Query("SELECT po.id AS id, po.doctorClinic.id AS doctorClinicId, po.durationMinutes AS durationMinutes " +
+            "FROM ProcedureOffered po WHERE po.id IN :ids AND po.active = true")
+    List<OfferedProcedureView> findActiveDurationsByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -2,17 +2,35 @@ package com.bookease.repository;
 
 import com.bookease.model.entity.Procedure;
 import com.bookease.model.enums.ProcedureEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProcedureRepository extends JpaRepository<Procedure, UUID> {
+
+    String QUERY_CACHE_REGION = "procedure-queries";
+
     @Query("SELECT p FROM Procedure p WHERE p.id = :id AND p.active = true")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Procedure> findActiveById(@Param("id") UUID id);
 
     @Query("SELECT p FROM Procedure p WHERE p.procedureEnum = :procedureEnum AND p.active = true")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Procedure> findActiveByProcedureEnum(@Param("procedureEnum") ProcedureEnum procedureEnum);
-}
\ No newline at end of file
+
+    @Query("SELECT p FROM Procedure p WHERE p.active = true")
+    List<Procedure> findAllActive();
+}
@@ -0,0 +1,34 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.currentTokenId = :newTokenId, f.expiresAt = :expiresAt " +
+            "WHERE f.familyId = :familyId AND f.currentTokenId = :presentedTokenId AND f.revokedAt IS NULL AND f.expiresAt > :now")
+    int rotate(@Param("familyId") UUID familyId,
+               @Param("presentedTokenId") String presentedTokenId,
+               @Param("newTokenId") String newTokenId,
+               @Param("expiresAt") Instant expiresAt,
+               @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now WHERE f.familyId = :familyId AND f.revokedAt IS NULL")
+    int revoke(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now WHERE f.username = :username AND f.revokedAt IS NULL")
+    int revokeAllByUsername(@Param("username") String username, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
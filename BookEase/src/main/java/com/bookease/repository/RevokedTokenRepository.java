@@ -0,0 +1,20 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT t FROM RevokedToken t WHERE t.revokedAt >= :since AND t.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,8 +1,11 @@
 package com.bookease.repository;
 
 import com.bookease.model.entity.Speciality;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -11,17 +14,20 @@ import java.util.UUID;
 
 public interface SpecialityRepository extends JpaRepository<Speciality, UUID> {
 
+    String QUERY_CACHE_REGION = "speciality-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Speciality> findByName(String name);
 
-    @Query("SELECT s FROM Speciality s WHERE s.name IN :names")
-    List<Speciality> findByNameIn(List<String> names);
     long count();
 
     @Query("SELECT s FROM Speciality s WHERE UPPER(s.name) IN :names")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Speciality> findByNameInIgnoreCase(@Param("names") List<String> names);
-
-    @Query("SELECT s FROM Speciality s WHERE s.name IN :names")
-    List<Speciality> findAllByNameIn(@Param("names") List<String> names);
-
-    boolean existsByNameIgnoreCase(String name);
 }
@@ -1,13 +1,20 @@
 package com.bookease.repository;
 
 import com.bookease.model.entity.User;
+import com.bookease.model.projection.SubjectRevocationView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     @Override
@@ -34,4 +41,30 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("SELECT u FROM User u WHERE (u.email = :email OR u.phone = :phone) AND u.active = false")
     Optional<User> findInactiveUser(@Param("email") String email, @Param("phone") String phone);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT 'USERNAME' FROM tb_user WHERE username = :username AND active = true AND user_id <> :excludedUserId " +
+            "UNION SELECT 'EMAIL' FROM tb_user WHERE email = :email AND active = true AND user_id <> :excludedUserId " +
+            "UNION SELECT 'PHONE' FROM tb_user WHERE phone = :phone AND active = true AND user_id <> :excludedUserId " +
+            "UNION SELECT 'CPF' FROM tb_patient WHERE cpf = :cpf AND user_id <> :excludedUserId " +
+            "UNION SELECT 'CRM' FROM tb_doctor WHERE crm = :crm AND user_id <> :excludedUserId " +
+            "UNION SELECT 'CNPJ' FROM tb_clinic WHERE cnpj = :cnpj AND user_id <> :excludedUserId", nativeQuery = true)
+    List<String> findUniqueFieldConflicts(@Param("username") String username,
+                                          @Param("email") String email,
+                                          @Param("phone") String phone,
+                                          @Param("cpf") String cpf,
+                                          @Param("crm") String crm,
+                                          @Param("cnpj") String cnpj,
+                                          @Param("excludedUserId") UUID excludedUserId);
+
+    @Query(value = "SELECT 'USERNAME:' || username FROM tb_user " +
+            "UNION ALL SELECT 'EMAIL:' || email FROM tb_user WHERE email IS NOT NULL " +
+            "UNION ALL SELECT 'PHONE:' || phone FROM tb_user WHERE phone IS NOT NULL " +
+            "UNION ALL SELECT 'CPF:' || cpf FROM tb_patient " +
+            "UNION ALL SELECT 'CRM:' || crm FROM tb_doctor " +
+            "UNION ALL SELECT 'CNPJ:' || cnpj FROM tb_clinic", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    Stream<String> streamAllUniqueFieldKeys();
+
+    @Query("SELECT u.username AS username, u.tokensRevokedAt AS tokensRevokedAt FROM User u WHERE u.tokensRevokedAt >= :since")
+    List<SubjectRevocationView> findTokenRevocationsSince(@Param("since") Instant since);
+}
@@ -2,8 +2,12 @@ package com.bookease.repository;
 
 import com.bookease.model.entity.WorkSchedule;
 import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.projection.WorkScheduleOwnerView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +19,8 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, UUID
     List<WorkSchedule> findByActiveTrue();
 
     List<WorkSchedule> findByDoctorClinicIdAndDayOfWeek(UUID doctorClinicId, DayOfWeekEnum dayOfWeek);
+
+    @Query("SELECT ws.id AS id, ws.doctorClinic.id AS doctorClinicId FROM WorkSchedule ws " +
+            "WHERE ws.id IN :ids AND ws.active = true")
+    List<WorkScheduleOwnerView> findActiveOwnersByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,109 @@
+package com.bookease.service;
+
+import com.bookease.repository.AppointmentArchiveRepository;
+import com.bookease.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Move para {@code tb_appointment_archive} os agendamentos FINALIZADO e CANCELADO com data anterior a
+ * {@code app.appointment-archive.horizon-days}, mantendo em {@code tb_appointment} apenas o período recente. Cada lote é
+ * reivindicado com {@code FOR UPDATE SKIP LOCKED}, copiado e removido na mesma transação, como em
+ * {@link AppointmentExpiryService}.
+ * <p>
+ * No PostgreSQL a mesma tarefa mantém o particionamento mensal da tabela: cria as partições dos próximos
+ * {@code app.appointment-partitions.months-ahead} meses e remove as partições já esvaziadas pelo arquivamento.
+ */
+@Service
+public class AppointmentArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiveService.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository appointmentArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final boolean partitionsEnabled;
+    private final int partitionMonthsAhead;
+
+    @Autowired
+    public AppointmentArchiveService(AppointmentRepository appointmentRepository,
+                                     AppointmentArchiveRepository appointmentArchiveRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.appointment-archive.horizon-days:365}") int horizonDays,
+                                     @Value("${app.appointment-archive.batch-size:1000}") int batchSize,
+                                     @Value("${app.appointment-archive.max-batches-per-run:50}") int maxBatchesPerRun,
+                                     @Value("${app.appointment-partitions.enabled:false}") boolean partitionsEnabled,
+                                     @Value("${app.appointment-partitions.months-ahead:12}") int partitionMonthsAhead) {
+        if (horizonDays < 1 || batchSize < 1 || maxBatchesPerRun < 1 || partitionMonthsAhead < 0) {
+            throw new IllegalArgumentException("Configuração de arquivamento de agendamentos inválida");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentArchiveRepository = appointmentArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.partitionsEnabled = partitionsEnabled;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    @Scheduled(fixedDelayString = "${app.appointment-archive.interval-ms:3600000}")
+    public void run() {
+        LocalDateTime before = LocalDateTime.now().minusDays(horizonDays);
+        int archived = archiveBefore(before);
+        if (archived > 0) {
+            logger.info("{} agendamentos anteriores a {} arquivados", archived, before.toLocalDate());
+        }
+        if (partitionsEnabled) {
+            Integer created = transactionTemplate.execute(status ->
+                    appointmentArchiveRepository.maintainPartitions(partitionMonthsAhead, before.toLocalDate().withDayOfMonth(1)));
+            if (created != null && created > 0) {
+                logger.info("{} partições de agendamentos criadas", created);
+            }
+        }
+    }
+
+    /**
+     * Processa lotes até um vir incompleto ou até o limite por execução; o restante fica para a próxima.
+     */
+    public int archiveBefore(LocalDateTime before) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            LocalDateTime archivedAt = LocalDateTime.now();
+            Batch result = transactionTemplate.execute(status -> {
+                List<UUID> ids = appointmentRepository.claimArchivable(before, batchSize);
+                if (ids.isEmpty()) {
+                    return new Batch(0, 0);
+                }
+                int copied = appointmentArchiveRepository.copyFromAppointments(ids, before, archivedAt);
+                int deleted = appointmentRepository.deleteArchived(ids, before);
+                if (copied != deleted) {
+                    throw new IllegalStateException("Arquivamento inconsistente: " + copied + " copiados, "
+                            + deleted + " removidos");
+                }
+                return new Batch(ids.size(), deleted);
+            });
+            total += result.archived();
+            if (result.claimed() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private record Batch(int claimed, int archived) {
+    }
+}
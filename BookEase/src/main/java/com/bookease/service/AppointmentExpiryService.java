@@ -0,0 +1,106 @@
+package com.bookease.service;
+
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encerra periodicamente os agendamentos que ficaram para trás: reservas PENDENTE não confirmadas em
+ * {@code app.appointment-expiry.pending-hold-minutes} ou cujo horário já começou são canceladas, e agendamentos
+ * CONFIRMADO já encerrados são finalizados. A mudança de status libera o horário reservado e tira as linhas dos índices
+ * parciais das varreduras; {@code active} não muda, como nas transições feitas pelos usuários.
+ * <p>
+ * Cada lote de até {@code batch-size} linhas é reivindicado com {@code FOR UPDATE SKIP LOCKED} e atualizado na mesma
+ * transação curta, então várias instâncias podem rodar a varredura ao mesmo tempo sem disputar as mesmas linhas nem
+ * bloquear as transições feitas pelos usuários por mais de um lote.
+ */
+@Service
+public class AppointmentExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentExpiryService.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration pendingHold;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public AppointmentExpiryService(AppointmentRepository appointmentRepository,
+                                    AvailabilityService availabilityService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.appointment-expiry.pending-hold-minutes:1440}") long pendingHoldMinutes,
+                                    @Value("${app.appointment-expiry.batch-size:500}") int batchSize,
+                                    @Value("${app.appointment-expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        if (pendingHoldMinutes < 1 || batchSize < 1 || maxBatchesPerRun < 1) {
+            throw new IllegalArgumentException("Configuração de expiração de agendamentos deve ser positiva");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pendingHold = Duration.ofMinutes(pendingHoldMinutes);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.appointment-expiry.interval-ms:60000}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = expireStalePending(now);
+        int finished = finishEndedConfirmed(now);
+        if (expired > 0 || finished > 0) {
+            logger.info("Agendamentos encerrados: {} reservas pendentes expiradas, {} finalizados", expired, finished);
+        }
+    }
+
+    public int expireStalePending(LocalDateTime now) {
+        LocalDateTime createdBefore = now.minus(pendingHold);
+        return sweep(limit -> appointmentRepository.claimStalePending(now, createdBefore, limit),
+                AppointmentEnum.PENDENTE, AppointmentEnum.CANCELADO);
+    }
+
+    public int finishEndedConfirmed(LocalDateTime now) {
+        return sweep(limit -> appointmentRepository.claimEndedConfirmed(now, limit),
+                AppointmentEnum.CONFIRMADO, AppointmentEnum.FINALIZADO);
+    }
+
+    /**
+     * Processa lotes até um vir incompleto ou até o limite por execução; o restante fica para a próxima.
+     */
+    private int sweep(Function<Integer, List<UUID>> claim, AppointmentEnum source, AppointmentEnum target) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Batch result = transactionTemplate.execute(status -> {
+                List<UUID> ids = claim.apply(batchSize);
+                if (ids.isEmpty()) {
+                    return new Batch(0, 0);
+                }
+                int closed = appointmentRepository.close(ids, source, target);
+                availabilityService.onAppointmentsClosed(ids);
+                return new Batch(ids.size(), closed);
+            });
+            total += result.closed();
+            if (result.claimed() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private record Batch(int claimed, int closed) {
+    }
+}
@@ -1,14 +1,20 @@
 package com.bookease.service;
 
+import com.bookease.exception.AppointmentConflictException;
 import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.dto.request.AppointmentBatchTransitionRequestDto;
 import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentBatchTransitionResponseDto;
+import com.bookease.model.dto.response.AppointmentPageResponseDto;
 import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
 import com.bookease.model.entity.Appointment;
 import com.bookease.model.entity.DoctorClinic;
 import com.bookease.model.entity.Patient;
 import com.bookease.model.entity.ProcedureOffered;
 import com.bookease.model.entity.WorkSchedule;
 import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.AppointmentTransitionEnum;
 import com.bookease.model.mappers.AppointmentMapper;
 import com.bookease.repository.AppointmentRepository;
 import com.bookease.repository.DoctorClinicRepository;
@@ -17,11 +23,20 @@ import com.bookease.repository.ProcedureOfferedRepository;
 import com.bookease.repository.WorkScheduleRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AppointmentService {
@@ -29,6 +44,11 @@ public class AppointmentService {
     private static final String ENTITY_NAME = "Appointment";
     private static final String PATIENT_NAME = "Patient";
     private static final String DOCTOR_CLINIC_NAME = "DoctorClinic";
+    private static final String SLOT_UNAVAILABLE = "Horário indisponível para este profissional";
+    private static final String CONCURRENT_UPDATE = "O agendamento foi alterado por outra requisição; recarregue e tente novamente";
+    static final String CROSSES_MONTH = "O agendamento não pode atravessar a virada do mês";
+    private static final UUID NO_APPOINTMENT = new UUID(0L, 0L);
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final AppointmentRepository appointmentRepository;
     private final DoctorClinicRepository doctorClinicRepository;
@@ -36,6 +56,8 @@ public class AppointmentService {
     private final ProcedureOfferedRepository procedureOfferedRepository;
     private final WorkScheduleRepository workScheduleRepository;
     private final AppointmentMapper appointmentMapper;
+    private final AvailabilityService availabilityService;
+    private final BookingLockService bookingLockService;
 
     @Autowired
     public AppointmentService(AppointmentRepository appointmentRepository,
@@ -43,13 +65,17 @@ public class AppointmentService {
                               PatientRepository patientRepository,
                               ProcedureOfferedRepository procedureOfferedRepository,
                               WorkScheduleRepository workScheduleRepository,
-                              AppointmentMapper appointmentMapper) {
+                              AppointmentMapper appointmentMapper,
+                              AvailabilityService availabilityService,
+                              BookingLockService bookingLockService) {
         this.appointmentRepository = appointmentRepository;
         this.doctorClinicRepository = doctorClinicRepository;
         this.patientRepository = patientRepository;
         this.procedureOfferedRepository = procedureOfferedRepository;
         this.workScheduleRepository = workScheduleRepository;
         this.appointmentMapper = appointmentMapper;
+        this.availabilityService = availabilityService;
+        this.bookingLockService = bookingLockService;
     }
 
     @Transactional
@@ -59,71 +85,152 @@ public class AppointmentService {
         ProcedureOffered procedureOffered = getProcedureOffered(requestDto.procedureOfferedId());
         WorkSchedule workSchedule = getWorkSchedule(requestDto.workScheduleId());
         Appointment appointment = appointmentMapper.toEntity(requestDto, procedureOffered, doctorClinic, patient, workSchedule);
-        appointment = appointmentRepository.save(appointment);
-        return appointmentMapper.toResponseDto(appointment);
+        Appointment saved = bookingLockService.withDoctorClinicLock(doctorClinic.getId(), () -> saveBooking(appointment));
+        availabilityService.onAppointmentChanged(saved, null);
+        return appointmentMapper.toResponseDto(saved);
     }
 
     public AppointmentResponseDto getAppointmentById(UUID id) {
-        Appointment appointment = appointmentRepository.findById(id)
+        return appointmentRepository.findResponseById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
-        return appointmentMapper.toResponseDto(appointment);
     }
 
-    public List<AppointmentResponseDto> getAppointmentsByPatient(UUID patientId) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new EntityNotFoundException(PATIENT_NAME, patientId));
-        List<Appointment> appointments = appointmentRepository.findByPatient(patient);
-        return appointments.stream()
-                .map(appointmentMapper::toResponseDto)
-                .toList();
+    /**
+     * Sem cursor, a primeira página começa em {@code from} (ou no início do histórico, se nulo); um limite recente
+     * faz a consulta ler apenas as partições a partir dele.
+     */
+    public AppointmentPageResponseDto getAppointmentsByPatient(UUID patientId, LocalDateTime from, String cursor, int size) {
+        requireActivePatient(patientId);
+        AppointmentCursor after = AppointmentCursor.decode(cursor, from);
+        int pageSize = pageSize(size);
+        return toPage(appointmentRepository.findPageByPatientId(patientId, after.dateTime(), after.id(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
-    public List<AppointmentResponseDto> getAppointmentsByDoctorClinic(UUID doctorClinicId) {
-        DoctorClinic doctorClinic = doctorClinicRepository.findById(doctorClinicId)
-                .orElseThrow(() -> new EntityNotFoundException(DOCTOR_CLINIC_NAME, doctorClinicId));
-        List<Appointment> appointments = appointmentRepository.findByDoctorClinic(doctorClinic);
-        return appointments.stream()
-                .map(appointmentMapper::toResponseDto)
-                .toList();
+    public AppointmentPageResponseDto getAppointmentsByDoctorClinic(UUID doctorClinicId, LocalDateTime from,
+                                                                    String cursor, int size) {
+        requireActiveDoctorClinic(doctorClinicId);
+        AppointmentCursor after = AppointmentCursor.decode(cursor, from);
+        int pageSize = pageSize(size);
+        return toPage(appointmentRepository.findPageByDoctorClinicId(doctorClinicId, after.dateTime(), after.id(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
-    public List<AppointmentResponseDto> getAppointmentsByStatus(AppointmentEnum status) {
-        List<Appointment> appointments = appointmentRepository.findByStatus(status);
-        if (appointments.isEmpty()) {
+    public AppointmentPageResponseDto getAppointmentsByStatus(AppointmentEnum status, LocalDateTime from,
+                                                              String cursor, int size) {
+        AppointmentCursor after = AppointmentCursor.decode(cursor, from);
+        int pageSize = pageSize(size);
+        List<AppointmentResponseDto> appointments = appointmentRepository.findPageByStatus(status, after.dateTime(), after.id(),
+                PageRequest.of(0, pageSize + 1));
+        if (appointments.isEmpty() && cursor == null) {
             throw new EntityNotFoundException(ENTITY_NAME, "status " + status);
         }
-        return appointments.stream()
-                .map(appointmentMapper::toResponseDto)
-                .toList();
+        return toPage(appointments, pageSize);
     }
 
-    public List<AppointmentResponseDto> getAppointmentsByDateRange(LocalDateTime start, LocalDateTime end) {
-        List<Appointment> appointments = appointmentRepository.findByDateTimeBetween(start, end);
-        if (appointments.isEmpty()) {
+    public AppointmentPageResponseDto getAppointmentsByDateRange(LocalDateTime start, LocalDateTime end,
+                                                                 String cursor, int size) {
+        AppointmentCursor after = AppointmentCursor.decode(cursor, start);
+        int pageSize = pageSize(size);
+        List<AppointmentResponseDto> appointments = appointmentRepository.findPageByDateTimeBetween(start, end,
+                after.dateTime(), after.id(), PageRequest.of(0, pageSize + 1));
+        if (appointments.isEmpty() && cursor == null) {
             throw new EntityNotFoundException(ENTITY_NAME, "intervalo de datas " + start + " a " + end);
         }
-        return appointments.stream()
-                .map(appointmentMapper::toResponseDto)
-                .toList();
+        return toPage(appointments, pageSize);
+    }
+
+    @Transactional
+    public void streamAppointmentsByPatient(UUID patientId, Consumer<AppointmentResponseDto> consumer) {
+        requireActivePatient(patientId);
+        try (Stream<AppointmentResponseDto> appointments = appointmentRepository.streamByPatientId(patientId)) {
+            appointments.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public void streamAppointmentsByDoctorClinic(UUID doctorClinicId, Consumer<AppointmentResponseDto> consumer) {
+        requireActiveDoctorClinic(doctorClinicId);
+        try (Stream<AppointmentResponseDto> appointments = appointmentRepository.streamByDoctorClinicId(doctorClinicId)) {
+            appointments.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public void streamAppointmentsByStatus(AppointmentEnum status, Consumer<AppointmentResponseDto> consumer) {
+        try (Stream<AppointmentResponseDto> appointments = appointmentRepository.streamByStatus(status)) {
+            appointments.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public void streamAppointmentsByDateRange(LocalDateTime start, LocalDateTime end,
+                                              Consumer<AppointmentResponseDto> consumer) {
+        try (Stream<AppointmentResponseDto> appointments = appointmentRepository.streamByDateTimeBetween(start, end)) {
+            appointments.forEach(consumer);
+        }
     }
 
     @Transactional
     public AppointmentResponseDto updateAppointment(UUID id, AppointmentRequestDto requestDto) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
+        if (!AppointmentTransitionEnum.isAllowed(appointment.getStatus(), requestDto.status())) {
+            throw new AppointmentConflictException("Não é possível alterar o status de " + appointment.getStatus()
+                    + " para " + requestDto.status());
+        }
+        UUID previousDoctorClinicId = appointment.getDoctorClinic().getId();
         DoctorClinic doctorClinic = getDoctorClinic(requestDto.doctorClinicId());
         Patient patient = getPatient(requestDto.patientId());
         ProcedureOffered procedureOffered = getProcedureOffered(requestDto.procedureOfferedId());
         WorkSchedule workSchedule = getWorkSchedule(requestDto.workScheduleId());
         appointment.setDateTime(requestDto.dateTime());
+        appointment.setEndDateTime(requestDto.dateTime().plusMinutes(procedureOffered.getDurationMinutes()));
         appointment.setDescription(requestDto.description());
         appointment.setStatus(requestDto.status());
         appointment.setDoctorClinic(doctorClinic);
         appointment.setPatient(patient);
         appointment.setProcedureOffered(procedureOffered);
         appointment.setWorkSchedule(workSchedule);
-        appointment = appointmentRepository.save(appointment);
-        return appointmentMapper.toResponseDto(appointment);
+        Appointment saved = bookingLockService.withDoctorClinicLock(doctorClinic.getId(), () -> saveBooking(appointment));
+        availabilityService.onAppointmentChanged(saved, previousDoctorClinicId);
+        return appointmentMapper.toResponseDto(saved);
+    }
+
+    /**
+     * Aplica a transição com um único UPDATE condicionado ao status atual, de modo que duas transições concorrentes
+     * (uma clínica confirmando enquanto o paciente cancela) nunca se sobrescrevem: a segunda não encontra mais o
+     * status de origem e falha. Só no caso de falha o agendamento é lido, para explicar o motivo.
+     */
+    @Transactional
+    public void transitionAppointment(UUID id, AppointmentTransitionEnum transition) {
+        if (appointmentRepository.transition(id, transition.getSources(), transition.getTarget()) == 0) {
+            AppointmentResponseDto current = appointmentRepository.findResponseById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
+            throw new AppointmentConflictException(current.active()
+                    ? "Não é possível " + transition.getAction() + " um agendamento com status " + current.status()
+                    : "Não é possível " + transition.getAction() + " um agendamento inativo");
+        }
+        if (transition == AppointmentTransitionEnum.CANCEL) {
+            availabilityService.onAppointmentCancelled(id);
+        }
+    }
+
+    /**
+     * Aplica a transição a todos os agendamentos da clínica no dia que estejam em um dos status de origem, em um
+     * único UPDATE; os demais são ignorados.
+     */
+    @Transactional
+    public AppointmentBatchTransitionResponseDto transitionClinicDay(UUID clinicId, AppointmentBatchTransitionRequestDto request) {
+        AppointmentTransitionEnum transition = request.transition();
+        LocalDate date = request.date();
+        List<UUID> doctorClinicIds = doctorClinicRepository.findIdsByClinic(clinicId);
+        int updated = doctorClinicIds.isEmpty() ? 0 : appointmentRepository.transitionAll(doctorClinicIds,
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay(), transition.getSources(), transition.getTarget());
+        if (updated > 0 && transition == AppointmentTransitionEnum.CANCEL) {
+            availabilityService.onAppointmentsCancelled(doctorClinicIds);
+        }
+        return new AppointmentBatchTransitionResponseDto(clinicId, date, transition.getTarget(), updated);
     }
 
     @Transactional
@@ -131,6 +238,7 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
         appointmentRepository.delete(appointment);
+        availabilityService.onAppointmentRemoved(appointment);
     }
 
     @Transactional
@@ -139,9 +247,67 @@ public class AppointmentService {
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
         appointment.setActive(false);
         appointment = appointmentRepository.save(appointment);
+        availabilityService.onAppointmentChanged(appointment, null);
         return appointmentMapper.toResponseDto(appointment);
     }
 
+    public List<AvailableSlotResponseDto> getAvailableSlots(UUID doctorClinicId, UUID procedureOfferedId,
+                                                            LocalDateTime from, int limit) {
+        return availabilityService.getNextFreeSlots(doctorClinicId, procedureOfferedId, from, limit);
+    }
+
+    private static AppointmentPageResponseDto toPage(List<AppointmentResponseDto> appointments, int pageSize) {
+        boolean hasNext = appointments.size() > pageSize;
+        List<AppointmentResponseDto> page = hasNext ? appointments.subList(0, pageSize) : appointments;
+        String nextCursor = hasNext ? AppointmentCursor.of(page.getLast()).encode() : null;
+        return new AppointmentPageResponseDto(page, nextCursor);
+    }
+
+    private void requireActivePatient(UUID patientId) {
+        if (!patientRepository.existsActiveById(patientId)) {
+            throw new EntityNotFoundException(PATIENT_NAME, patientId);
+        }
+    }
+
+    private void requireActiveDoctorClinic(UUID doctorClinicId) {
+        if (!doctorClinicRepository.existsActiveById(doctorClinicId)) {
+            throw new EntityNotFoundException(DOCTOR_CLINIC_NAME, doctorClinicId);
+        }
+    }
+
+    private static int pageSize(int size) {
+        return Math.clamp(size, 1, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * {@code tb_appointment} é particionada por mês e a restrição de exclusão de horários existe em cada partição, não
+     * entre elas. Recusar agendamentos que atravessam a virada do mês garante que dois agendamentos sobrepostos caiam
+     * sempre na mesma partição, então o banco barra a sobreposição mesmo entre instâncias diferentes.
+     */
+    static boolean crossesMonthBoundary(LocalDateTime start, LocalDateTime end) {
+        return end.isAfter(start.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay());
+    }
+
+    private Appointment saveBooking(Appointment appointment) {
+        if (crossesMonthBoundary(appointment.getDateTime(), appointment.getEndDateTime())) {
+            throw new AppointmentConflictException(CROSSES_MONTH);
+        }
+        try {
+            if (appointment.isActive() && appointment.getStatus() != AppointmentEnum.CANCELADO) {
+                UUID excludedId = appointment.getId() != null ? appointment.getId() : NO_APPOINTMENT;
+                if (appointmentRepository.existsOverlapping(appointment.getDoctorClinic().getId(),
+                        appointment.getDateTime(), appointment.getEndDateTime(), excludedId)) {
+                    throw new AppointmentConflictException(SLOT_UNAVAILABLE);
+                }
+            }
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new AppointmentConflictException(SLOT_UNAVAILABLE, e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new AppointmentConflictException(CONCURRENT_UPDATE, e);
+        }
+    }
+
     private DoctorClinic getDoctorClinic(String doctorClinicId) {
         return doctorClinicRepository.findById(UUID.fromString(doctorClinicId))
                 .orElseThrow(() -> new EntityNotFoundException(DOCTOR_CLINIC_NAME, doctorClinicId));
@@ -161,4 +327,33 @@ public class AppointmentService {
         return workScheduleRepository.findById(UUID.fromString(workScheduleId))
                 .orElseThrow(() -> new EntityNotFoundException("WorkSchedule", workScheduleId));
     }
+
+    /**
+     * Posição (dateTime, id) do último item entregue, codificada em Base64 URL-safe para uso como token opaco.
+     */
+    private record AppointmentCursor(LocalDateTime dateTime, UUID id) {
+
+        private static final AppointmentCursor START = new AppointmentCursor(LocalDateTime.of(1, 1, 1, 0, 0), NO_APPOINTMENT);
+
+        static AppointmentCursor of(AppointmentResponseDto appointment) {
+            return new AppointmentCursor(appointment.dateTime(), appointment.id());
+        }
+
+        static AppointmentCursor decode(String token, LocalDateTime from) {
+            if (token == null || token.isBlank()) {
+                return from != null ? new AppointmentCursor(from, NO_APPOINTMENT) : START;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+                return new AppointmentCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido", e);
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((dateTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
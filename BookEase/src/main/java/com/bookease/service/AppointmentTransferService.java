@@ -0,0 +1,563 @@
+package com.bookease.service;
+
+import com.bookease.exception.AppointmentConflictException;
+import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentImportErrorDto;
+import com.bookease.model.dto.response.AppointmentImportResponseDto;
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.entity.Appointment;
+import com.bookease.model.entity.DoctorClinic;
+import com.bookease.model.entity.Patient;
+import com.bookease.model.entity.ProcedureOffered;
+import com.bookease.model.entity.WorkSchedule;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.TransferFormatEnum;
+import com.bookease.model.projection.BookedIntervalView;
+import com.bookease.model.projection.OfferedProcedureView;
+import com.bookease.model.projection.WorkScheduleOwnerView;
+import com.bookease.repository.AppointmentRepository;
+import com.bookease.repository.DoctorClinicRepository;
+import com.bookease.repository.PatientRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import com.bookease.repository.WorkScheduleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Importação e exportação em massa de agendamentos em CSV ou NDJSON, com as mesmas colunas nos dois sentidos.
+ * A importação lê a entrada em blocos de {@code app.appointment-import.chunk-size} linhas: as referências de cada
+ * bloco são resolvidas com uma consulta por tipo, os conflitos de horário são verificados contra os agendamentos
+ * do período e entre as próprias linhas, e as linhas válidas são gravadas em lote (JDBC batch) em uma transação
+ * por bloco. Se o lote falhar, as linhas do bloco são regravadas uma a uma para isolar as que têm erro.
+ * <p>
+ * A verificação de conflitos e a gravação de cada bloco acontecem sob os locks de reserva
+ * ({@link BookingLockService}) de todas as associações dentista-clínica do bloco, como em uma reserva avulsa. Só
+ * violações da restrição de exclusão de horários são reportadas como horário indisponível; qualquer outra falha de
+ * gravação é reportada com a causa original.
+ */
+@Service
+public class AppointmentTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentTransferService.class);
+
+    static final List<String> COLUMNS = List.of("dateTime", "status", "doctorClinicId", "patientId",
+            "procedureOfferedId", "workScheduleId", "description");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final String SLOT_UNAVAILABLE = "Horário indisponível para este profissional";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorClinicRepository doctorClinicRepository;
+    private final PatientRepository patientRepository;
+    private final ProcedureOfferedRepository procedureOfferedRepository;
+    private final WorkScheduleRepository workScheduleRepository;
+    private final AvailabilityService availabilityService;
+    private final BookingLockService bookingLockService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public AppointmentTransferService(AppointmentRepository appointmentRepository,
+                                      DoctorClinicRepository doctorClinicRepository,
+                                      PatientRepository patientRepository,
+                                      ProcedureOfferedRepository procedureOfferedRepository,
+                                      WorkScheduleRepository workScheduleRepository,
+                                      AvailabilityService availabilityService,
+                                      BookingLockService bookingLockService,
+                                      EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.appointment-import.chunk-size:500}") int chunkSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.doctorClinicRepository = doctorClinicRepository;
+        this.patientRepository = patientRepository;
+        this.procedureOfferedRepository = procedureOfferedRepository;
+        this.workScheduleRepository = workScheduleRepository;
+        this.availabilityService = availabilityService;
+        this.bookingLockService = bookingLockService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public AppointmentImportResponseDto importAppointments(InputStream input, TransferFormatEnum format) {
+        ImportReport report = new ImportReport();
+        Set<UUID> doctorClinicIds = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowReader rows = format == TransferFormatEnum.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            for (ParsedRow parsed = rows.next(); parsed != null; parsed = rows.next()) {
+                report.totalRows++;
+                try {
+                    chunk.add(toRow(parsed));
+                } catch (IllegalArgumentException e) {
+                    report.fail(parsed.line(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report, doctorClinicIds);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, report, doctorClinicIds);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (!doctorClinicIds.isEmpty()) {
+                availabilityService.onAppointmentsImported(doctorClinicIds);
+            }
+        }
+        logger.info("Importação de agendamentos concluída: {} linhas, {} importadas, {} com erro",
+                report.totalRows, report.imported, report.failed);
+        return report.toResponseDto();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAppointments(LocalDateTime start, LocalDateTime end, TransferFormatEnum format,
+                                   OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == TransferFormatEnum.CSV) {
+            writer.write(Csv.format(COLUMNS));
+        }
+        try (Stream<AppointmentResponseDto> appointments = appointmentRepository.streamByDateTimeBetween(start, end)) {
+            Iterator<AppointmentResponseDto> iterator = appointments.filter(AppointmentResponseDto::active).iterator();
+            while (iterator.hasNext()) {
+                AppointmentRequestDto row = toRequestDto(iterator.next());
+                writer.write(format == TransferFormatEnum.CSV ? Csv.format(columns(row)) : objectMapper.writeValueAsString(row) + "\n");
+            }
+        }
+        writer.flush();
+    }
+
+    private void importChunk(List<Row> chunk, ImportReport report, Set<UUID> doctorClinicIds) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> resolved = resolveReferences(chunk, report);
+        if (resolved.isEmpty()) {
+            return;
+        }
+        try {
+            bookingLockService.withDoctorClinicLocks(ids(resolved, Row::doctorClinicId), () -> {
+                persistChunk(rejectOverlapping(resolved, report), report, doctorClinicIds);
+                return null;
+            });
+        } catch (AppointmentConflictException e) {
+            resolved.forEach(row -> report.fail(row.line(), e.getMessage()));
+        }
+    }
+
+    private void persistChunk(List<Row> accepted, ImportReport report, Set<UUID> doctorClinicIds) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(accepted));
+            report.imported += accepted.size();
+        } catch (PersistenceException | DataAccessException e) {
+            logger.debug("Lote de importação rejeitado, gravando linha a linha: {}", e.getMessage());
+            for (Row row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                    report.imported++;
+                } catch (PersistenceException | DataAccessException rowException) {
+                    report.fail(row.line(), failureMessage(rowException));
+                }
+            }
+        }
+        accepted.forEach(row -> doctorClinicIds.add(row.doctorClinicId()));
+    }
+
+    private static String failureMessage(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return SLOT_UNAVAILABLE;
+            }
+        }
+        return "Falha ao gravar o agendamento: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    /**
+     * Resolve as referências do bloco com uma consulta por entidade e descarta as linhas com referência ausente,
+     * inativa ou de outra associação dentista-clínica.
+     */
+    private List<Row> resolveReferences(List<Row> chunk, ImportReport report) {
+        Set<UUID> doctorClinics = new HashSet<>(doctorClinicRepository.findActiveIdsByIdIn(ids(chunk, Row::doctorClinicId)));
+        Set<UUID> patients = new HashSet<>(patientRepository.findActiveIdsByIdIn(ids(chunk, Row::patientId)));
+        Map<UUID, OfferedProcedureView> procedures = procedureOfferedRepository
+                .findActiveDurationsByIdIn(ids(chunk, Row::procedureOfferedId)).stream()
+                .collect(Collectors.toMap(OfferedProcedureView::getId, Function.identity()));
+        Map<UUID, UUID> scheduleOwners = workScheduleRepository
+                .findActiveOwnersByIdIn(ids(chunk, Row::workScheduleId)).stream()
+                .collect(Collectors.toMap(WorkScheduleOwnerView::getId, WorkScheduleOwnerView::getDoctorClinicId));
+
+        List<Row> resolved = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            OfferedProcedureView procedure = procedures.get(row.procedureOfferedId());
+            UUID scheduleOwner = scheduleOwners.get(row.workScheduleId());
+            if (!doctorClinics.contains(row.doctorClinicId())) {
+                report.fail(row.line(), "Associação dentista-clínica não encontrada ou inativa: " + row.doctorClinicId());
+            } else if (!patients.contains(row.patientId())) {
+                report.fail(row.line(), "Paciente não encontrado ou inativo: " + row.patientId());
+            } else if (procedure == null) {
+                report.fail(row.line(), "Procedimento oferecido não encontrado ou inativo: " + row.procedureOfferedId());
+            } else if (scheduleOwner == null) {
+                report.fail(row.line(), "Horário de trabalho não encontrado ou inativo: " + row.workScheduleId());
+            } else if (!procedure.getDoctorClinicId().equals(row.doctorClinicId())
+                    || !scheduleOwner.equals(row.doctorClinicId())) {
+                report.fail(row.line(), "Procedimento e horário de trabalho devem pertencer à associação dentista-clínica informada");
+            } else {
+                Row timed = row.withDuration(procedure.getDurationMinutes());
+                if (AppointmentService.crossesMonthBoundary(timed.dateTime(), timed.endDateTime())) {
+                    report.fail(row.line(), AppointmentService.CROSSES_MONTH);
+                } else {
+                    resolved.add(timed);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Descarta as linhas que ocupam um horário já reservado, seja por um agendamento existente (uma consulta para o
+     * período do bloco) ou por uma linha anterior da própria importação.
+     */
+    private List<Row> rejectOverlapping(List<Row> rows, ImportReport report) {
+        List<Row> booked = rows.stream().filter(Row::booked).toList();
+        if (booked.isEmpty()) {
+            return rows;
+        }
+        LocalDateTime from = booked.stream().map(Row::dateTime).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime until = booked.stream().map(Row::endDateTime).max(Comparator.naturalOrder()).orElseThrow();
+        Map<UUID, TreeMap<LocalDateTime, LocalDateTime>> calendars = new HashMap<>();
+        for (BookedIntervalView interval : appointmentRepository.findBookedIntervals(ids(booked, Row::doctorClinicId), from, until)) {
+            calendars.computeIfAbsent(interval.getDoctorClinicId(), id -> new TreeMap<>())
+                    .put(interval.getDateTime(), interval.getEndDateTime());
+        }
+
+        List<Row> accepted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.booked()) {
+                TreeMap<LocalDateTime, LocalDateTime> calendar = calendars.computeIfAbsent(row.doctorClinicId(), id -> new TreeMap<>());
+                Map.Entry<LocalDateTime, LocalDateTime> previous = calendar.lowerEntry(row.endDateTime());
+                if (previous != null && previous.getValue().isAfter(row.dateTime())) {
+                    report.fail(row.line(), SLOT_UNAVAILABLE);
+                    continue;
+                }
+                calendar.put(row.dateTime(), row.endDateTime());
+            }
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private void persist(List<Row> rows) {
+        for (Row row : rows) {
+            entityManager.persist(Appointment.builder()
+                    .dateTime(row.dateTime())
+                    .endDateTime(row.endDateTime())
+                    .description(row.description())
+                    .status(row.status())
+                    .doctorClinic(entityManager.getReference(DoctorClinic.class, row.doctorClinicId()))
+                    .patient(entityManager.getReference(Patient.class, row.patientId()))
+                    .procedureOffered(entityManager.getReference(ProcedureOffered.class, row.procedureOfferedId()))
+                    .workSchedule(entityManager.getReference(WorkSchedule.class, row.workScheduleId()))
+                    .active(true)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Row toRow(ParsedRow parsed) {
+        if (parsed.error() != null) {
+            throw new IllegalArgumentException(parsed.error());
+        }
+        AppointmentRequestDto request = parsed.request();
+        if (request.dateTime() == null) {
+            throw new IllegalArgumentException("A data e hora são obrigatórias");
+        }
+        if (request.status() == null) {
+            throw new IllegalArgumentException("O status é obrigatório");
+        }
+        if (request.description() != null && request.description().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("A descrição deve ter no máximo 500 caracteres");
+        }
+        return new Row(parsed.line(), request.dateTime(), null, request.status(), blankToNull(request.description()),
+                uuid(request.doctorClinicId(), "doctorClinicId"),
+                uuid(request.patientId(), "patientId"),
+                uuid(request.procedureOfferedId(), "procedureOfferedId"),
+                uuid(request.workScheduleId(), "workScheduleId"));
+    }
+
+    private static UUID uuid(String value, String column) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("O campo " + column + " é obrigatório");
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("O campo " + column + " não é um UUID válido: " + value);
+        }
+    }
+
+    private static AppointmentRequestDto toRequestDto(AppointmentResponseDto appointment) {
+        return new AppointmentRequestDto(appointment.dateTime(), appointment.description(), appointment.status(),
+                String.valueOf(appointment.procedureOfferedId()), String.valueOf(appointment.doctorClinicId()),
+                String.valueOf(appointment.patientId()), String.valueOf(appointment.workScheduleId()));
+    }
+
+    private static List<String> columns(AppointmentRequestDto row) {
+        return Arrays.asList(String.valueOf(row.dateTime()), row.status().name(), row.doctorClinicId(), row.patientId(),
+                row.procedureOfferedId(), row.workScheduleId(), row.description());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Set<UUID> ids(Collection<Row> rows, Function<Row, UUID> id) {
+        return rows.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private record Row(long line, LocalDateTime dateTime, LocalDateTime endDateTime, AppointmentEnum status,
+                       String description, UUID doctorClinicId, UUID patientId, UUID procedureOfferedId,
+                       UUID workScheduleId) {
+
+        Row withDuration(int durationMinutes) {
+            return new Row(line, dateTime, dateTime.plusMinutes(durationMinutes), status, description, doctorClinicId,
+                    patientId, procedureOfferedId, workScheduleId);
+        }
+
+        boolean booked() {
+            return status != AppointmentEnum.CANCELADO;
+        }
+    }
+
+    private record ParsedRow(long line, AppointmentRequestDto request, String error) {
+
+        static ParsedRow valid(long line, AppointmentRequestDto request) {
+            return new ParsedRow(line, request, null);
+        }
+
+        static ParsedRow invalid(long line, String error) {
+            return new ParsedRow(line, null, error);
+        }
+    }
+
+    private static final class ImportReport {
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<AppointmentImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new AppointmentImportErrorDto(line, message));
+            }
+        }
+
+        AppointmentImportResponseDto toResponseDto() {
+            errors.sort(Comparator.comparingLong(AppointmentImportErrorDto::line));
+            return new AppointmentImportResponseDto(totalRows, imported, failed, errors, failed > errors.size());
+        }
+    }
+
+    /**
+     * Leitor de linhas da entrada; linhas que não podem ser interpretadas são devolvidas como inválidas, com a
+     * mensagem de erro, sem interromper a importação.
+     */
+    private interface RowReader {
+        ParsedRow next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return ParsedRow.valid(line, objectMapper.readValue(text, AppointmentRequestDto.class));
+            } catch (JsonProcessingException e) {
+                return ParsedRow.invalid(line, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvRowReader implements RowReader {
+
+        private final Csv csv;
+        private final Map<String, Integer> header = new HashMap<>();
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.csv = new Csv(reader);
+            List<String> names = csv.next();
+            if (names == null) {
+                throw new IllegalArgumentException("O arquivo CSV está vazio");
+            }
+            for (int i = 0; i < names.size(); i++) {
+                header.put(names.get(i).replace("\uFEFF", "").trim(), i);
+            }
+            List<String> missing = COLUMNS.stream().filter(column -> !header.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> values = csv.next();
+            if (values == null) {
+                return null;
+            }
+            long line = csv.recordLine();
+            try {
+                String dateTime = value(values, "dateTime");
+                String status = value(values, "status");
+                return ParsedRow.valid(line, new AppointmentRequestDto(
+                        dateTime == null ? null : LocalDateTime.parse(dateTime.trim()),
+                        value(values, "description"),
+                        status == null ? null : AppointmentEnum.valueOf(status.trim().toUpperCase()),
+                        value(values, "procedureOfferedId"),
+                        value(values, "doctorClinicId"),
+                        value(values, "patientId"),
+                        value(values, "workScheduleId")));
+            } catch (DateTimeParseException e) {
+                return ParsedRow.invalid(line, "Data e hora inválidas: " + e.getParsedString());
+            } catch (IllegalArgumentException e) {
+                return ParsedRow.invalid(line, "Status inválido: " + value(values, "status"));
+            }
+        }
+
+        private String value(List<String> values, String column) {
+            int index = header.get(column);
+            return index < values.size() ? blankToNull(values.get(index)) : null;
+        }
+    }
+
+    /**
+     * CSV no formato RFC 4180: campos separados por vírgula, entre aspas quando contêm vírgula, aspas ou quebra de
+     * linha, com aspas internas duplicadas.
+     */
+    static final class Csv {
+
+        private final BufferedReader reader;
+        private long line;
+        private long recordLine;
+
+        Csv(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            String text = reader.readLine();
+            line++;
+            while (text != null && text.isEmpty()) {
+                text = reader.readLine();
+                line++;
+            }
+            if (text == null) {
+                return null;
+            }
+            recordLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; ; i++) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    String continuation = reader.readLine();
+                    line++;
+                    if (continuation == null) {
+                        break;
+                    }
+                    value.append('\n');
+                    text = continuation;
+                    i = -1;
+                    continue;
+                }
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c != '\r') {
+                    value.append(c);
+                }
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        static String format(List<String> values) {
+            return values.stream().map(Csv::escape).collect(Collectors.joining(",")) + "\n";
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
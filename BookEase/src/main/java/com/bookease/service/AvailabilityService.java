@@ -0,0 +1,265 @@
+package com.bookease.service;
+
+import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
+import com.bookease.model.entity.Appointment;
+import com.bookease.model.entity.ProcedureOffered;
+import com.bookease.model.entity.WorkSchedule;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.repository.AppointmentRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import com.bookease.repository.WorkScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Mantém em memória, por DoctorClinic, as janelas de trabalho e os intervalos já reservados,
+ * permitindo responder "próximos N horários livres" sem consultar tb_appointment a cada requisição.
+ * Os calendários são carregados sob demanda e atualizados após o commit das alterações.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final int MAX_SLOTS = 100;
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkScheduleRepository workScheduleRepository;
+    private final ProcedureOfferedRepository procedureOfferedRepository;
+    private final int horizonDays;
+
+    private final Map<UUID, DoctorClinicCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<UUID, OfferedProcedure> offeredProcedures = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AvailabilityService(AppointmentRepository appointmentRepository,
+                               WorkScheduleRepository workScheduleRepository,
+                               ProcedureOfferedRepository procedureOfferedRepository,
+                               @Value("${app.availability.horizon-days:60}") int horizonDays) {
+        this.appointmentRepository = appointmentRepository;
+        this.workScheduleRepository = workScheduleRepository;
+        this.procedureOfferedRepository = procedureOfferedRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    public List<AvailableSlotResponseDto> getNextFreeSlots(UUID doctorClinicId, UUID procedureOfferedId,
+                                                           LocalDateTime from, int limit) {
+        OfferedProcedure offeredProcedure = offeredProcedures.computeIfAbsent(procedureOfferedId, this::loadOfferedProcedure);
+        if (!offeredProcedure.doctorClinicId().equals(doctorClinicId)) {
+            throw new EntityNotFoundException("ProcedureOffered", procedureOfferedId);
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return findFreeSlots(doctorClinicId, offeredProcedure.durationMinutes(), start, start.plusDays(horizonDays), limit);
+    }
+
+    public List<AvailableSlotResponseDto> findFreeSlots(UUID doctorClinicId, int durationMinutes,
+                                                        LocalDateTime from, LocalDateTime until, int limit) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("A duração do procedimento deve ser positiva");
+        }
+        DoctorClinicCalendar calendar = calendars.computeIfAbsent(doctorClinicId, this::loadCalendar);
+        return calendar.freeSlots(Duration.ofMinutes(durationMinutes), from, until, Math.clamp(limit, 1, MAX_SLOTS));
+    }
+
+    public void onAppointmentChanged(Appointment appointment, UUID previousDoctorClinicId) {
+        UUID appointmentId = appointment.getId();
+        UUID doctorClinicId = appointment.getDoctorClinic().getId();
+        LocalDateTime start = appointment.getDateTime();
+        LocalDateTime end = start.plusMinutes(appointment.getProcedureOffered().getDurationMinutes());
+        boolean booked = appointment.isActive() && appointment.getStatus() != AppointmentEnum.CANCELADO;
+
+        afterCommit(() -> {
+            if (previousDoctorClinicId != null && !previousDoctorClinicId.equals(doctorClinicId)) {
+                calendars.computeIfPresent(previousDoctorClinicId, (id, calendar) -> calendar.release(appointmentId));
+            }
+            calendars.computeIfPresent(doctorClinicId, (id, calendar) -> booked
+                    ? calendar.book(appointmentId, start, end)
+                    : calendar.release(appointmentId));
+        });
+    }
+
+    public void onAppointmentRemoved(Appointment appointment) {
+        UUID appointmentId = appointment.getId();
+        UUID doctorClinicId = appointment.getDoctorClinic().getId();
+        afterCommit(() -> calendars.computeIfPresent(doctorClinicId, (id, calendar) -> calendar.release(appointmentId)));
+    }
+
+    /**
+     * Libera o horário de um agendamento cancelado por UPDATE condicional, sem carregar a entidade; como a
+     * DoctorClinic não é conhecida, o agendamento é removido de todos os calendários carregados.
+     */
+    public void onAppointmentCancelled(UUID appointmentId) {
+        afterCommit(() -> calendars.values().forEach(calendar -> calendar.release(appointmentId)));
+    }
+
+    public void onAppointmentsClosed(Collection<UUID> appointmentIds) {
+        List<UUID> ids = List.copyOf(appointmentIds);
+        afterCommit(() -> calendars.values().forEach(calendar -> ids.forEach(calendar::release)));
+    }
+
+    public void onAppointmentsImported(Collection<UUID> doctorClinicIds) {
+        onWorkScheduleChanged(doctorClinicIds.toArray(UUID[]::new));
+    }
+
+    public void onAppointmentsCancelled(Collection<UUID> doctorClinicIds) {
+        onWorkScheduleChanged(doctorClinicIds.toArray(UUID[]::new));
+    }
+
+    public void onWorkScheduleChanged(UUID... doctorClinicIds) {
+        afterCommit(() -> Arrays.stream(doctorClinicIds)
+                .filter(Objects::nonNull)
+                .forEach(calendars::remove));
+    }
+
+    private OfferedProcedure loadOfferedProcedure(UUID procedureOfferedId) {
+        ProcedureOffered procedureOffered = procedureOfferedRepository.findById(procedureOfferedId)
+                .filter(ProcedureOffered::isActive)
+                .orElseThrow(() -> new EntityNotFoundException("ProcedureOffered", procedureOfferedId));
+        return new OfferedProcedure(procedureOffered.getDoctorClinic().getId(), procedureOffered.getDurationMinutes());
+    }
+
+    private DoctorClinicCalendar loadCalendar(UUID doctorClinicId) {
+        List<WorkSchedule> schedules = workScheduleRepository.findByDoctorClinicId(doctorClinicId).stream()
+                .filter(WorkSchedule::isActive)
+                .toList();
+        DoctorClinicCalendar calendar = new DoctorClinicCalendar(schedules);
+        appointmentRepository.findBookedSlots(doctorClinicId, LocalDateTime.now().minusDays(1))
+                .forEach(slot -> calendar.book(slot.getId(), slot.getDateTime(),
+                        slot.getDateTime().plusMinutes(slot.getDurationMinutes())));
+        return calendar;
+    }
+
+    private record OfferedProcedure(UUID doctorClinicId, int durationMinutes) {
+    }
+
+    private record WorkWindow(LocalTime start, LocalTime end, UUID workScheduleId) {
+    }
+
+    private record Booking(UUID appointmentId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static final class DoctorClinicCalendar {
+
+        private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+        private final Map<DayOfWeek, List<WorkWindow>> windows = new EnumMap<>(DayOfWeek.class);
+        private final NavigableSet<Booking> bookings = new TreeSet<>(
+                Comparator.comparing(Booking::start).thenComparing(Booking::appointmentId));
+        private final Map<UUID, Booking> bookingsById = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Duration longestBooking = Duration.ZERO;
+
+        DoctorClinicCalendar(List<WorkSchedule> schedules) {
+            for (WorkSchedule schedule : schedules) {
+                if (schedule.getStartTime().isBefore(schedule.getEndTime())) {
+                    windows.computeIfAbsent(schedule.getDayOfWeek().toDayOfWeek(), day -> new ArrayList<>())
+                            .add(new WorkWindow(schedule.getStartTime(), schedule.getEndTime(), schedule.getId()));
+                }
+            }
+            windows.values().forEach(list -> list.sort(Comparator.comparing(WorkWindow::start)));
+        }
+
+        DoctorClinicCalendar book(UUID appointmentId, LocalDateTime start, LocalDateTime end) {
+            lock.writeLock().lock();
+            try {
+                removeBooking(appointmentId);
+                Booking booking = new Booking(appointmentId, start, end);
+                bookings.add(booking);
+                bookingsById.put(appointmentId, booking);
+                Duration length = Duration.between(start, end);
+                if (length.compareTo(longestBooking) > 0) {
+                    longestBooking = length;
+                }
+                return this;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        DoctorClinicCalendar release(UUID appointmentId) {
+            lock.writeLock().lock();
+            try {
+                removeBooking(appointmentId);
+                return this;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<AvailableSlotResponseDto> freeSlots(Duration duration, LocalDateTime from, LocalDateTime until, int limit) {
+            List<AvailableSlotResponseDto> slots = new ArrayList<>(limit);
+            lock.readLock().lock();
+            try {
+                for (LocalDate day = from.toLocalDate();
+                     !day.isAfter(until.toLocalDate()) && slots.size() < limit;
+                     day = day.plusDays(1)) {
+                    for (WorkWindow window : windows.getOrDefault(day.getDayOfWeek(), List.of())) {
+                        collectSlots(window, day, duration, from, until, limit, slots);
+                        if (slots.size() >= limit) {
+                            break;
+                        }
+                    }
+                }
+                return slots;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void collectSlots(WorkWindow window, LocalDate day, Duration duration, LocalDateTime from,
+                                  LocalDateTime until, int limit, List<AvailableSlotResponseDto> slots) {
+            LocalDateTime windowStart = day.atTime(window.start());
+            LocalDateTime windowEnd = day.atTime(window.end());
+            LocalDateTime candidate = windowStart;
+            if (candidate.isBefore(from)) {
+                long step = duration.toSeconds();
+                long steps = (Duration.between(windowStart, from).toSeconds() + step - 1) / step;
+                candidate = windowStart.plusSeconds(steps * step);
+            }
+            while (slots.size() < limit) {
+                LocalDateTime end = candidate.plus(duration);
+                if (end.isAfter(windowEnd) || end.isAfter(until)) {
+                    return;
+                }
+                LocalDateTime blockedUntil = blockedUntil(candidate, end);
+                if (blockedUntil == null) {
+                    slots.add(new AvailableSlotResponseDto(candidate, end, window.workScheduleId()));
+                    candidate = end;
+                } else {
+                    candidate = blockedUntil;
+                }
+            }
+        }
+
+        private LocalDateTime blockedUntil(LocalDateTime start, LocalDateTime end) {
+            Booking lower = new Booking(LOWEST_ID, start.minus(longestBooking), null);
+            Booking upper = new Booking(LOWEST_ID, end, null);
+            LocalDateTime blockedUntil = null;
+            for (Booking booking : bookings.subSet(lower, true, upper, false)) {
+                if (booking.end().isAfter(start) && (blockedUntil == null || booking.end().isAfter(blockedUntil))) {
+                    blockedUntil = booking.end();
+                }
+            }
+            return blockedUntil;
+        }
+
+        private void removeBooking(UUID appointmentId) {
+            Booking previous = bookingsById.remove(appointmentId);
+            if (previous != null) {
+                bookings.remove(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bookease.service;
+
+import com.bookease.exception.AppointmentConflictException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks listrados por DoctorClinic: reservas para o mesmo DoctorClinic são serializadas,
+ * enquanto DoctorClinics diferentes quase nunca disputam o mesmo lock. Dentro de uma transação,
+ * o lock só é liberado após o commit/rollback, para que a próxima reserva já enxergue a anterior.
+ */
+@Service
+public class BookingLockService {
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+
+    @Autowired
+    public BookingLockService(@Value("${app.booking.lock-stripes:256}") int stripeCount,
+                              @Value("${app.booking.lock-timeout-ms:5000}") long lockTimeoutMillis) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    public <T> T withDoctorClinicLock(UUID doctorClinicId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(doctorClinicId);
+        acquire(lock);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Como {@link #withDoctorClinicLock}, para vários DoctorClinics de uma vez (importação em massa). Os locks são
+     * tomados em ordem crescente de listra, então chamadas com conjuntos sobrepostos não entram em deadlock; se algum
+     * não for obtido no prazo, os já tomados são liberados.
+     */
+    public <T> T withDoctorClinicLocks(Collection<UUID> doctorClinicIds, Supplier<T> action) {
+        List<ReentrantLock> locks = doctorClinicIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .mapToObj(index -> stripes[index])
+                .toList();
+        List<ReentrantLock> acquired = new ArrayList<>(locks.size());
+        try {
+            for (ReentrantLock lock : locks) {
+                acquire(lock);
+                acquired.add(lock);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(acquired);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unlockAll(locks);
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            unlockAll(locks);
+        }
+    }
+
+    private ReentrantLock stripeFor(UUID doctorClinicId) {
+        return stripes[stripeIndex(doctorClinicId)];
+    }
+
+    private int stripeIndex(UUID doctorClinicId) {
+        int hash = doctorClinicId.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & (stripes.length - 1);
+    }
+
+    private static void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new AppointmentConflictException("Agenda ocupada no momento, tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppointmentConflictException("Reserva interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.Clinic;
+import com.bookease.repository.ClinicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Índice espacial em memória das clínicas ativas com coordenadas, organizado em uma grade de células de tamanho
+ * fixo em graus. Uma busca por raio visita apenas as células que cobrem o retângulo envolvente do círculo e filtra
+ * pela distância real (haversine). O índice é carregado sob demanda, atualizado após o commit das alterações de
+ * clínicas e recarregado periodicamente para refletir alterações feitas em outras instâncias. Alterações que chegam
+ * durante uma recarga são guardadas e reaplicadas ao novo índice antes da troca, para que a carga, iniciada antes
+ * delas, não as desfaça.
+ */
+@Service
+public class ClinicGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClinicGeoIndex.class);
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private final ClinicRepository clinicRepository;
+    private final double cellDegrees;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Object changeMonitor = new Object();
+    private volatile Grid grid;
+    private List<Consumer<Grid>> pendingChanges;
+
+    @Autowired
+    public ClinicGeoIndex(ClinicRepository clinicRepository,
+                          @Value("${app.clinic-geo.cell-degrees:0.1}") double cellDegrees) {
+        this.clinicRepository = clinicRepository;
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Clínicas a até {@code radiusKm} do ponto, da mais próxima para a mais distante.
+     */
+    public List<Match> findWithin(double latitude, double longitude, double radiusKm) {
+        Grid current = current();
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double longitudeDelta = cosLatitude < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude));
+
+        long minLatitudeCell = cell(Math.max(-90, latitude - latitudeDelta) + 90);
+        long maxLatitudeCell = cell(Math.min(90, latitude + latitudeDelta) + 90);
+        long minLongitudeCell = cell(Math.max(-180, longitude - longitudeDelta) + 180);
+        long maxLongitudeCell = cell(Math.min(180, longitude + longitudeDelta) + 180);
+
+        List<Match> matches = new ArrayList<>();
+        for (long latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+            for (long longitudeCell = minLongitudeCell; longitudeCell <= maxLongitudeCell; longitudeCell++) {
+                Set<UUID> clinicIds = current.cells().get(cellKey(latitudeCell, longitudeCell));
+                if (clinicIds == null) {
+                    continue;
+                }
+                for (UUID clinicId : clinicIds) {
+                    Location location = current.locations().get(clinicId);
+                    if (location == null) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+                    if (distance <= radiusKm) {
+                        matches.add(new Match(clinicId, distance));
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparing(Match::clinicId));
+        return matches;
+    }
+
+    public void onClinicChanged(Clinic clinic) {
+        UUID clinicId = clinic.getId();
+        Double latitude = clinic.getLatitude();
+        Double longitude = clinic.getLongitude();
+        boolean indexed = clinic.isActive() && latitude != null && longitude != null;
+        afterCommit(() -> apply(indexed
+                ? current -> current.put(clinicId, new Location(latitude, longitude, cellKey(latitude, longitude)))
+                : current -> current.remove(clinicId)));
+    }
+
+    public void onClinicRemoved(UUID clinicId) {
+        afterCommit(() -> apply(current -> current.remove(clinicId)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.clinic-geo.reload-interval-ms:300000}")
+    public void reload() {
+        loadLock.lock();
+        try {
+            synchronized (changeMonitor) {
+                pendingChanges = new ArrayList<>();
+            }
+            Grid loaded = new Grid();
+            clinicRepository.findActiveLocations().forEach(location -> loaded.put(location.getId(),
+                    new Location(location.getLatitude(), location.getLongitude(), cellKey(location.getLatitude(), location.getLongitude()))));
+            synchronized (changeMonitor) {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                grid = loaded;
+            }
+            logger.debug("Índice geográfico de clínicas carregado: {} clínicas em {} células",
+                    loaded.locations().size(), loaded.cells().size());
+        } finally {
+            synchronized (changeMonitor) {
+                pendingChanges = null;
+            }
+            loadLock.unlock();
+        }
+    }
+
+    private void apply(Consumer<Grid> change) {
+        synchronized (changeMonitor) {
+            Grid current = grid;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private Grid current() {
+        Grid current = grid;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (grid == null) {
+                    reload();
+                }
+                current = grid;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(deltaLatitude / 2), 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(deltaLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return cellKey(cell(latitude + 90), cell(longitude + 180));
+    }
+
+    private long cell(double shiftedDegrees) {
+        return (long) Math.floor(shiftedDegrees / cellDegrees);
+    }
+
+    private static long cellKey(long latitudeCell, long longitudeCell) {
+        return (latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+    }
+
+    public record Match(UUID clinicId, double distanceKm) {
+    }
+
+    private record Location(double latitude, double longitude, long cellKey) {
+    }
+
+    private record Grid(Map<UUID, Location> locations, Map<Long, Set<UUID>> cells) {
+
+        Grid() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(UUID clinicId, Location location) {
+            locations.compute(clinicId, (id, previous) -> {
+                if (previous != null && previous.cellKey() != location.cellKey()) {
+                    removeFromCell(previous.cellKey(), id);
+                }
+                cells.computeIfAbsent(location.cellKey(), key -> ConcurrentHashMap.newKeySet()).add(id);
+                return location;
+            });
+        }
+
+        void remove(UUID clinicId) {
+            locations.computeIfPresent(clinicId, (id, previous) -> {
+                removeFromCell(previous.cellKey(), id);
+                return null;
+            });
+        }
+
+        private void removeFromCell(long cellKey, UUID clinicId) {
+            cells.computeIfPresent(cellKey, (key, ids) -> {
+                ids.remove(clinicId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookease.service;
+
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
+import com.bookease.model.dto.response.NearbyClinicPageResponseDto;
+import com.bookease.model.dto.response.NearbyClinicResponseDto;
+import com.bookease.model.entity.Clinic;
+import com.bookease.model.mappers.ClinicMapper;
+import com.bookease.model.projection.ClinicOfferingView;
+import com.bookease.repository.ClinicRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca de clínicas próximas que oferecem um procedimento e têm horário livre no período configurado.
+ * O raio é resolvido pelo {@link ClinicGeoIndex}, as ofertas de todas as clínicas candidatas vêm de uma única
+ * consulta e a disponibilidade é verificada nos calendários em memória do {@link AvailabilityService}, seguindo a
+ * ordem de distância só até completar a página pedida.
+ */
+@Service
+public class ClinicSearchService {
+
+    static final double MAX_RADIUS_KM = 100;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final ClinicGeoIndex clinicGeoIndex;
+    private final ClinicRepository clinicRepository;
+    private final ProcedureOfferedRepository procedureOfferedRepository;
+    private final AvailabilityService availabilityService;
+    private final ClinicMapper clinicMapper;
+    private final int availabilityDays;
+
+    @Autowired
+    public ClinicSearchService(ClinicGeoIndex clinicGeoIndex,
+                               ClinicRepository clinicRepository,
+                               ProcedureOfferedRepository procedureOfferedRepository,
+                               AvailabilityService availabilityService,
+                               ClinicMapper clinicMapper,
+                               @Value("${app.clinic-search.availability-days:7}") int availabilityDays) {
+        this.clinicGeoIndex = clinicGeoIndex;
+        this.clinicRepository = clinicRepository;
+        this.procedureOfferedRepository = procedureOfferedRepository;
+        this.availabilityService = availabilityService;
+        this.clinicMapper = clinicMapper;
+        this.availabilityDays = availabilityDays;
+    }
+
+    public NearbyClinicPageResponseDto findNearby(double latitude, double longitude, double radiusKm,
+                                                  UUID procedureId, int page, int size) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordenadas inválidas");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("O raio deve estar entre 0 e " + (int) MAX_RADIUS_KM + " km");
+        }
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+
+        List<ClinicGeoIndex.Match> candidates = clinicGeoIndex.findWithin(latitude, longitude, radiusKm);
+        // calculado em long: páginas muito altas estourariam int; além das candidatas a página é sempre vazia
+        long firstIndex = (long) pageNumber * pageSize;
+        if (firstIndex >= candidates.size()) {
+            return new NearbyClinicPageResponseDto(List.of(), pageNumber, pageSize, false);
+        }
+
+        Map<UUID, List<ClinicOfferingView>> offeringsByClinic = procedureOfferedRepository
+                .findActiveOfferingsByProcedureAndClinicIds(procedureId,
+                        candidates.stream().map(ClinicGeoIndex.Match::clinicId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ClinicOfferingView::getClinicId));
+
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime until = from.plusDays(availabilityDays);
+        long needed = firstIndex + pageSize + 1;
+        List<Hit> hits = new ArrayList<>();
+        for (ClinicGeoIndex.Match candidate : candidates) {
+            if (hits.size() >= needed) {
+                break;
+            }
+            List<ClinicOfferingView> offerings = offeringsByClinic.get(candidate.clinicId());
+            if (offerings != null) {
+                earliestSlot(offerings, from, until).ifPresent(hit -> hits.add(hit.withDistance(candidate.distanceKm())));
+            }
+        }
+
+        int fromIndex = (int) Math.min(firstIndex, hits.size());
+        int toIndex = Math.min(fromIndex + pageSize, hits.size());
+        List<Hit> pageHits = hits.subList(fromIndex, toIndex);
+        boolean hasNext = hits.size() > toIndex;
+
+        Map<UUID, Clinic> clinics = pageHits.isEmpty() ? Map.of() : clinicRepository
+                .findActiveWithUserByIdIn(pageHits.stream().map(hit -> hit.offering().getClinicId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Clinic::getId, Function.identity()));
+
+        List<NearbyClinicResponseDto> content = pageHits.stream()
+                .filter(hit -> clinics.containsKey(hit.offering().getClinicId()))
+                .map(hit -> NearbyClinicResponseDto.builder()
+                        .clinic(clinicMapper.toResponseDto(clinics.get(hit.offering().getClinicId())))
+                        .distanceKm(hit.distanceKm())
+                        .procedureOfferedId(hit.offering().getProcedureOfferedId())
+                        .doctorClinicId(hit.offering().getDoctorClinicId())
+                        .price(hit.offering().getPrice())
+                        .nextAvailableSlot(hit.slot())
+                        .build())
+                .toList();
+        return new NearbyClinicPageResponseDto(content, pageNumber, pageSize, hasNext);
+    }
+
+    private Optional<Hit> earliestSlot(List<ClinicOfferingView> offerings, LocalDateTime from, LocalDateTime until) {
+        Hit best = null;
+        for (ClinicOfferingView offering : offerings) {
+            List<AvailableSlotResponseDto> slots = availabilityService.findFreeSlots(
+                    offering.getDoctorClinicId(), offering.getDurationMinutes(), from, until, 1);
+            if (!slots.isEmpty() && (best == null || slots.getFirst().startDateTime().isBefore(best.slot().startDateTime()))) {
+                best = new Hit(offering, slots.getFirst(), 0);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private record Hit(ClinicOfferingView offering, AvailableSlotResponseDto slot, double distanceKm) {
+
+        Hit withDistance(double distance) {
+            return new Hit(offering, slot, distance);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.bookease.model.dto.response.ClinicResponseDto;
 import com.bookease.model.entity.Clinic;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.ClinicMapper;
 import com.bookease.repository.ClinicRepository;
 import jakarta.transaction.Transactional;
@@ -23,25 +25,31 @@ public class ClinicService {
     private final ClinicRepository clinicRepository;
     private final ClinicMapper clinicMapper;
     private final UserService userService;
+    private final ClinicGeoIndex clinicGeoIndex;
+    private final SearchIndexService searchIndexService;
 
     @Autowired
     public ClinicService(ClinicRepository clinicRepository,
                          ClinicMapper clinicMapper,
-                         UserService userService) {
+                         UserService userService,
+                         ClinicGeoIndex clinicGeoIndex,
+                         SearchIndexService searchIndexService) {
         this.clinicRepository = clinicRepository;
         this.clinicMapper = clinicMapper;
         this.userService = userService;
+        this.clinicGeoIndex = clinicGeoIndex;
+        this.searchIndexService = searchIndexService;
     }
 
     @Transactional
     public ClinicResponseDto createClinic(ClinicRequestDto clinicDto) {
-        userService.validateUniqueField(clinicDto.cnpj(), clinicRepository,
-                c -> c.getCnpj().equals(clinicDto.cnpj()), "CNPJ");
-
-        User user = userService.createUserWithRole(clinicDto.userRequestDto(), Role.Values.CLINIC);
+        User user = userService.createUserWithRole(clinicDto.userRequestDto(), Role.Values.CLINIC,
+                UniqueFieldEnum.CNPJ, clinicDto.cnpj());
 
         Clinic clinic = clinicMapper.toEntity(clinicDto, user);
         clinic = clinicRepository.save(clinic);
+        clinicGeoIndex.onClinicChanged(clinic);
+        searchIndexService.onClinicChanged(clinic);
 
         return clinicMapper.toResponseDto(clinic);
     }
@@ -83,13 +91,21 @@ public class ClinicService {
 
         User updatedUser = userService.updateUserEntity(clinic, clinicDto.userRequestDto(), Clinic::getUser);
         clinic.setUser(updatedUser);
+        if (clinicDto.latitude() != null && clinicDto.longitude() != null) {
+            clinic.setLatitude(clinicDto.latitude());
+            clinic.setLongitude(clinicDto.longitude());
+        }
         clinic = clinicRepository.save(clinic);
+        clinicGeoIndex.onClinicChanged(clinic);
+        searchIndexService.onClinicChanged(clinic);
 
         return clinicMapper.toResponseDto(clinic);
     }
 
     public void deactivateClinic(UUID clinicId) {
        userService.deactivateEntity(clinicId, clinicRepository, Clinic::getUser, true, ENTITY_NAME);
+       clinicGeoIndex.onClinicRemoved(clinicId);
+       searchIndexService.onRemoved(SearchTypeEnum.CLINIC, clinicId);
     }
 
 }
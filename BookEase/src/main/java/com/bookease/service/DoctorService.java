@@ -6,15 +6,15 @@ import com.bookease.model.dto.request.DoctorRequestDto;
 import com.bookease.model.dto.request.UserRequestDto;
 import com.bookease.model.dto.response.DoctorResponseDto;
 import com.bookease.model.entity.*;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.DoctorMapper;
 import com.bookease.repository.DoctorRepository;
-import com.bookease.repository.SpecialityRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class DoctorService {
@@ -22,32 +22,34 @@ public class DoctorService {
     private static final String ENTITY_NAME = "Doctor";
 
     private final DoctorRepository doctorRepository;
-    private final SpecialityRepository specialityRepository;
+    private final SpecialityResolver specialityResolver;
     private final DoctorMapper doctorMapper;
     private final UserService userService;
+    private final SearchIndexService searchIndexService;
 
     @Autowired
     public DoctorService(DoctorRepository doctorRepository,
-                         SpecialityRepository specialityRepository,
+                         SpecialityResolver specialityResolver,
                          DoctorMapper doctorMapper,
-                         UserService userService) {
+                         UserService userService,
+                         SearchIndexService searchIndexService) {
         this.doctorRepository = doctorRepository;
-        this.specialityRepository = specialityRepository;
+        this.specialityResolver = specialityResolver;
         this.doctorMapper = doctorMapper;
         this.userService = userService;
+        this.searchIndexService = searchIndexService;
     }
 
     @Transactional
     public DoctorResponseDto createDoctor(DoctorRequestDto doctorDto) {
-        userService.validateUniqueField(doctorDto.getCrm(), doctorRepository,
-                d -> d.getCrm().equals(doctorDto.getCrm()), "CRM");
-
-        User user = userService.createUserWithRole(doctorDto.getUserRequestDto(), Role.Values.DOCTOR);
-        Set<Speciality> specialities = fetchSpecialitiesByNames(doctorDto.getSpecialityNames());
+        User user = userService.createUserWithRole(doctorDto.getUserRequestDto(), Role.Values.DOCTOR,
+                UniqueFieldEnum.CRM, doctorDto.getCrm());
+        Set<Speciality> specialities = specialityResolver.resolveByNames(doctorDto.getSpecialityNames());
 
         Doctor doctor = doctorMapper.toEntity(doctorDto, user, specialities);
 
         doctor = doctorRepository.save(doctor);
+        searchIndexService.onDoctorChanged(doctor);
 
         return doctorMapper.toResponseDto(doctor);
     }
@@ -81,6 +83,7 @@ public class DoctorService {
         User updatedUser = userService.updateUserEntity(doctor, userUpdateDto, Doctor::getUser);
         doctor.setUser(updatedUser);
         doctorRepository.save(doctor);
+        searchIndexService.onDoctorChanged(doctor);
 
         return doctorMapper.toResponseDto(doctor);
     }
@@ -90,18 +93,10 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Médico não encontrado"));
 
-        List<Speciality> specialities = specialityRepository.findAllByNameIn(specialityNames);
-        if (specialities.isEmpty()) {
-            throw new ResourceNotFoundException("Nenhuma especialidade encontrada para os nomes fornecidos");
-        }
-
-        for (Speciality speciality : specialities) {
-            if (!doctor.getSpecialities().contains(speciality)) {
-                doctor.getSpecialities().add(speciality);
-            }
-        }
+        doctor.getSpecialities().addAll(specialityResolver.resolveByNames(specialityNames));
 
         doctorRepository.save(doctor);
+        searchIndexService.onDoctorChanged(doctor);
         return doctorMapper.toResponseDto(doctor);
     }
 
@@ -109,26 +104,6 @@ public class DoctorService {
 
     public void deactivateDoctor(UUID doctorId) {
         userService.deactivateEntity(doctorId, doctorRepository, Doctor::getUser, true, ENTITY_NAME);
-    }
-
-    private Set<Speciality> fetchSpecialitiesByNames(Set<String> specialityNames) {
-        if (specialityNames == null || specialityNames.isEmpty()) {
-            return Collections.emptySet();
-        }
-
-        List<String> displayNames = specialityNames.stream()
-                .map(String::toUpperCase)
-                .toList();
-
-        List<Speciality> foundSpecialities = specialityRepository.findByNameInIgnoreCase(displayNames);
-
-        if (foundSpecialities.size() != specialityNames.size()) {
-            Set<String> missingNames = new HashSet<>(specialityNames);
-            missingNames.removeAll(foundSpecialities.stream()
-                    .map(Speciality::getName)
-                    .collect(Collectors.toSet()));
-            throw new EntityNotFoundException("Speciality", missingNames);
-        }
-        return new HashSet<>(foundSpecialities);
+        searchIndexService.onRemoved(SearchTypeEnum.DOCTOR, doctorId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.bookease.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contadores de janela deslizante mantidos em memória. Cada chave guarda apenas a contagem da janela atual e da
+ * anterior; a estimativa pondera a anterior pela fração dela que ainda cabe na janela deslizante. As atualizações
+ * usam compare-and-set, sem bloqueios.
+ */
+@Component
+@ConditionalOnProperty(name = "app.login-rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public double recordAttempt(String key, Duration window, Instant now) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new Counter(window.toMillis()));
+        }
+        return counter.record(now.toEpochMilli());
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.remove(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        counters.values().removeIf(counter -> counter.isIdle(now));
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private static final class Counter {
+
+        private final long windowMillis;
+        private final AtomicReference<Window> state = new AtomicReference<>(new Window(Long.MIN_VALUE, 0, 0));
+
+        Counter(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        double record(long nowMillis) {
+            long index = nowMillis / windowMillis;
+            Window current;
+            Window next;
+            do {
+                current = state.get();
+                next = current.advance(index).increment();
+            } while (!state.compareAndSet(current, next));
+            double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+            return next.previous() * (1 - elapsed) + next.current();
+        }
+
+        boolean isIdle(long nowMillis) {
+            return nowMillis / windowMillis > state.get().index() + 1;
+        }
+    }
+
+    private record Window(long index, long current, long previous) {
+
+        Window advance(long newIndex) {
+            if (newIndex <= index) {
+                return this;
+            }
+            return new Window(newIndex, 0, newIndex == index + 1 ? current : 0);
+        }
+
+        Window increment() {
+            return new Window(index, current + 1, previous);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.bookease.service;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.bookease.exception.PublicKeyLoadingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Carrega e mantém em memória o material de chaves JWT: a chave privada ativa (com o {@link Algorithm}
+ * reutilizável) e as chaves públicas indexadas por kid, incluindo chaves antigas ainda aceitas na verificação.
+ * Os arquivos são relidos apenas quando o lastModified muda, no máximo a cada intervalo configurado.
+ */
+@Service
+public class JwtKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyService.class);
+
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final String activeKeyId;
+    private final Resource privateKeyResource;
+    private final Resource publicKeyResource;
+    private final Map<String, Resource> additionalPublicKeyResources;
+    private final long reloadIntervalMillis;
+    /**
+     * Protege a releitura dos arquivos. Usa um lock em vez de synchronized para não fixar virtual threads
+     * na carrier durante o I/O.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile KeyMaterial keyMaterial;
+
+    @Autowired
+    public JwtKeyService(@Value("${jwt.private.key}") String privateKeyPath,
+                         @Value("${jwt.public.key}") String publicKeyPath,
+                         @Value("${jwt.key.id:bookease-1}") String activeKeyId,
+                         @Value("${jwt.additional.public.keys:}") String additionalPublicKeys,
+                         @Value("${jwt.key.reload-interval-seconds:30}") long reloadIntervalSeconds) {
+        this.activeKeyId = activeKeyId;
+        this.privateKeyResource = resourceLoader.getResource(privateKeyPath);
+        this.publicKeyResource = resourceLoader.getResource(publicKeyPath);
+        this.additionalPublicKeyResources = parseAdditionalPublicKeys(additionalPublicKeys);
+        this.reloadIntervalMillis = reloadIntervalSeconds > 0 ? reloadIntervalSeconds * 1000 : -1;
+    }
+
+    public SigningKey signingKey() {
+        return current().signingKey();
+    }
+
+    public RSAPublicKey publicKey(String keyId) {
+        KeyMaterial material = current();
+        return material.publicKeys().get(keyId != null ? keyId : material.signingKey().keyId());
+    }
+
+    public Map<String, RSAPublicKey> publicKeys() {
+        return current().publicKeys();
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            keyMaterial = refresh(keyMaterial, System.currentTimeMillis());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private KeyMaterial current() {
+        KeyMaterial material = keyMaterial;
+        long now = System.currentTimeMillis();
+        if (material != null && now < material.nextCheckAt()) {
+            return material;
+        }
+        reloadLock.lock();
+        try {
+            material = keyMaterial;
+            if (material == null || now >= material.nextCheckAt()) {
+                material = refresh(material, now);
+                keyMaterial = material;
+            }
+            return material;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private KeyMaterial refresh(KeyMaterial previous, long now) {
+        long nextCheckAt = reloadIntervalMillis < 0 ? Long.MAX_VALUE : now + reloadIntervalMillis;
+        List<Long> versions = resourceVersions();
+        if (previous != null && previous.versions().equals(versions)) {
+            return previous.withNextCheckAt(nextCheckAt);
+        }
+        try {
+            RSAPrivateKey privateKey = parsePrivateKey(privateKeyResource);
+            RSAPublicKey publicKey = parsePublicKey(publicKeyResource);
+            Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+            publicKeys.put(activeKeyId, publicKey);
+            additionalPublicKeyResources.forEach((keyId, resource) -> publicKeys.putIfAbsent(keyId, parsePublicKey(resource)));
+            SigningKey signingKey = new SigningKey(activeKeyId, Algorithm.RSA256(publicKey, privateKey));
+            if (previous != null) {
+                logger.info("Chaves JWT recarregadas (kid ativo: {})", activeKeyId);
+            }
+            return new KeyMaterial(signingKey, Collections.unmodifiableMap(publicKeys), versions, nextCheckAt);
+        } catch (PublicKeyLoadingException e) {
+            if (previous == null) {
+                throw e;
+            }
+            logger.warn("Falha ao recarregar chaves JWT, mantendo as chaves atuais: {}", e.getMessage());
+            return previous.withNextCheckAt(nextCheckAt);
+        }
+    }
+
+    private List<Long> resourceVersions() {
+        List<Long> versions = new ArrayList<>();
+        versions.add(lastModified(privateKeyResource));
+        versions.add(lastModified(publicKeyResource));
+        additionalPublicKeyResources.values().forEach(resource -> versions.add(lastModified(resource)));
+        return versions;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private static RSAPrivateKey parsePrivateKey(Resource resource) {
+        try {
+            byte[] decodedKey = decodePem(resource, "PRIVATE KEY");
+            return (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(decodedKey));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new PublicKeyLoadingException("Erro ao carregar chave privada do caminho: " + resource.getDescription(), e);
+        }
+    }
+
+    private static RSAPublicKey parsePublicKey(Resource resource) {
+        try {
+            byte[] decodedKey = decodePem(resource, "PUBLIC KEY");
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(decodedKey));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new PublicKeyLoadingException("Erro ao carregar chave pública do caminho: " + resource.getDescription(), e);
+        }
+    }
+
+    private static byte[] decodePem(Resource resource, String type) throws IOException {
+        if (!resource.exists()) {
+            throw new IOException("Arquivo de chave não encontrado: " + resource.getDescription());
+        }
+        String content = resource.getContentAsString(StandardCharsets.US_ASCII)
+                .replace("-----BEGIN " + type + "-----", "")
+                .replace("-----END " + type + "-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(content);
+    }
+
+    private Map<String, Resource> parseAdditionalPublicKeys(String additionalPublicKeys) {
+        Map<String, Resource> resources = new LinkedHashMap<>();
+        for (String entry : additionalPublicKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new PublicKeyLoadingException("Entrada inválida em jwt.additional.public.keys (esperado kid=caminho): " + entry.trim());
+            }
+            resources.put(entry.substring(0, separator).trim(), resourceLoader.getResource(entry.substring(separator + 1).trim()));
+        }
+        return resources;
+    }
+
+    public record SigningKey(String keyId, Algorithm algorithm) {
+    }
+
+    private record KeyMaterial(SigningKey signingKey, Map<String, RSAPublicKey> publicKeys,
+                               List<Long> versions, long nextCheckAt) {
+
+        KeyMaterial withNextCheckAt(long nextCheckAt) {
+            return new KeyMaterial(signingKey, publicKeys, versions, nextCheckAt);
+        }
+    }
+}
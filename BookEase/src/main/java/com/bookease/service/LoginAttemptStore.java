@@ -0,0 +1,19 @@
+package com.bookease.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Armazena os contadores de tentativas de login. A implementação padrão é local ({@link InMemoryLoginAttemptStore});
+ * com várias instâncias, uma implementação compartilhada pode ser registrada escolhendo outro valor em
+ * {@code app.login-rate-limit.store}.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Registra uma tentativa para a chave e devolve a estimativa de tentativas na janela deslizante, incluindo esta.
+     */
+    double recordAttempt(String key, Duration window, Instant now);
+
+    void reset(String key);
+}
@@ -0,0 +1,83 @@
+package com.bookease.service;
+
+import com.bookease.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Limita tentativas de login por usuário e por IP em janelas deslizantes. A checagem acontece antes de qualquer
+ * consulta ao banco ou verificação de senha; tentativas recusadas são contadas em {@value #REJECTED_COUNTER}.
+ * Um login bem-sucedido zera o contador do usuário, mas não o do IP.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    static final String REJECTED_COUNTER = "bookease.auth.login.rejected";
+
+    private final LoginAttemptStore loginAttemptStore;
+    private final int maxAttemptsPerUsername;
+    private final Duration usernameWindow;
+    private final int maxAttemptsPerIp;
+    private final Duration ipWindow;
+    private final Counter rejectedByUsername;
+    private final Counter rejectedByIp;
+
+    @Autowired
+    public LoginRateLimiter(LoginAttemptStore loginAttemptStore,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.login-rate-limit.username.max-attempts:5}") int maxAttemptsPerUsername,
+                            @Value("${app.login-rate-limit.username.window-seconds:300}") long usernameWindowSeconds,
+                            @Value("${app.login-rate-limit.ip.max-attempts:30}") int maxAttemptsPerIp,
+                            @Value("${app.login-rate-limit.ip.window-seconds:60}") long ipWindowSeconds) {
+        this.loginAttemptStore = loginAttemptStore;
+        this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+        this.usernameWindow = Duration.ofSeconds(usernameWindowSeconds);
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.ipWindow = Duration.ofSeconds(ipWindowSeconds);
+        this.rejectedByUsername = rejectedCounter(meterRegistry, "username");
+        this.rejectedByIp = rejectedCounter(meterRegistry, "ip");
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        Instant now = Instant.now();
+        if (clientIp != null && loginAttemptStore.recordAttempt(ipKey(clientIp), ipWindow, now) > maxAttemptsPerIp) {
+            rejectedByIp.increment();
+            logger.debug("Tentativa de login recusada por excesso de tentativas do IP {}", clientIp);
+            throw new TooManyLoginAttemptsException("Muitas tentativas de login, tente novamente mais tarde");
+        }
+        if (username != null && loginAttemptStore.recordAttempt(usernameKey(username), usernameWindow, now) > maxAttemptsPerUsername) {
+            rejectedByUsername.increment();
+            logger.debug("Tentativa de login recusada por excesso de tentativas do usuário {}", username);
+            throw new TooManyLoginAttemptsException("Muitas tentativas de login, tente novamente mais tarde");
+        }
+    }
+
+    public void recordSuccess(String username) {
+        loginAttemptStore.reset(usernameKey(username));
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + username;
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_COUNTER)
+                .description("Tentativas de login recusadas pelo limitador antes de consultar o banco")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -7,6 +7,7 @@ import com.bookease.model.dto.response.PatientResponseDto;
 import com.bookease.model.entity.Patient;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.PatientMapper;
 import com.bookease.repository.PatientRepository;
 import jakarta.transaction.Transactional;
@@ -35,10 +36,8 @@ public class PatientService {
 
     @Transactional
     public PatientResponseDto createPatient(PatientRequestDto patientDto) {
-        userService.validateUniqueField(patientDto.cpf(), patientRepository,
-                p -> p.getCpf().equals(patientDto.cpf()), "CPF");
-
-        User user = userService.createUserWithRole(patientDto.userRequestDto(), Role.Values.PATIENT);
+        User user = userService.createUserWithRole(patientDto.userRequestDto(), Role.Values.PATIENT,
+                UniqueFieldEnum.CPF, patientDto.cpf());
 
         Patient patient = patientMapper.toEntity(patientDto, user);
         patient = patientRepository.save(patient);
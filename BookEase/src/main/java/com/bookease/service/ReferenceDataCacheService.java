@@ -0,0 +1,33 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.Speciality;
+import com.bookease.repository.SpecialityRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Invalida as regiões do cache de segundo nível que guardam dados de referência.
+ * A invalidação acontece após o commit, para que nenhuma leitura concorrente recoloque no cache o estado anterior.
+ */
+@Service
+public class ReferenceDataCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReferenceDataCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictSpecialities() {
+        afterCommit(() -> {
+            entityManagerFactory.getCache().evict(Speciality.class);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                    .evictQueryRegion(SpecialityRepository.QUERY_CACHE_REGION);
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.RefreshTokenFamily;
+import com.bookease.repository.RefreshTokenFamilyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Guarda as famílias de refresh tokens: cada login abre uma família e cada renovação troca o jti válido da família.
+ * Apresentar um refresh token que já foi trocado indica reuso (token vazado ou replay) e encerra a família inteira.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenFamilyRepository refreshTokenFamilyRepository) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+    }
+
+    @Transactional
+    public void startFamily(UUID familyId, String username, String tokenId, Instant issuedAt, Instant expiresAt) {
+        refreshTokenFamilyRepository.save(RefreshTokenFamily.builder()
+                .familyId(familyId)
+                .username(username)
+                .currentTokenId(tokenId)
+                .createdAt(issuedAt)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    /**
+     * Troca o jti válido da família de forma atômica. Retorna false quando o token apresentado não é o atual
+     * (reuso ou renovação concorrente) ou a família está revogada ou expirada; nesses casos a família é revogada.
+     */
+    @Transactional
+    public boolean rotate(UUID familyId, String presentedTokenId, String newTokenId, Instant now, Instant expiresAt) {
+        if (refreshTokenFamilyRepository.rotate(familyId, presentedTokenId, newTokenId, expiresAt, now) == 1) {
+            return true;
+        }
+        if (refreshTokenFamilyRepository.revoke(familyId, now) > 0) {
+            logger.warn("Reuso de refresh token detectado; família {} revogada", familyId);
+        }
+        return false;
+    }
+
+    @Transactional
+    public void revoke(UUID familyId, Instant revokedAt) {
+        refreshTokenFamilyRepository.revoke(familyId, revokedAt);
+    }
+
+    @Transactional
+    public void revokeAll(String username, Instant revokedAt) {
+        refreshTokenFamilyRepository.revokeAllByUsername(username, revokedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = refreshTokenFamilyRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            logger.debug("{} famílias de refresh token expiradas removidas", removed);
+        }
+    }
+}
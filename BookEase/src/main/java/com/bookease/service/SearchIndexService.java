@@ -0,0 +1,325 @@
+package com.bookease.service;
+
+import com.bookease.model.dto.response.SearchResultResponseDto;
+import com.bookease.model.entity.Clinic;
+import com.bookease.model.entity.Doctor;
+import com.bookease.model.entity.Procedure;
+import com.bookease.model.entity.Speciality;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.repository.ClinicRepository;
+import com.bookease.repository.DoctorRepository;
+import com.bookease.repository.ProcedureRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Índice invertido em memória de médicos, clínicas e procedimentos para buscas de digitação (type-ahead).
+ * Textos são normalizados sem acentos e em minúsculas; cada termo da consulta casa com palavras que começam com ele
+ * e, se nenhuma começar, com palavras que compartilham a maior parte dos seus trigramas (trechos no meio da palavra
+ * e pequenos erros de digitação). Todos os termos precisam casar. O índice é carregado sob demanda, atualizado após
+ * o commit das alterações e recarregado periodicamente para refletir alterações feitas em outras instâncias.
+ * Alterações que chegam durante uma recarga são reaplicadas ao novo índice antes da troca.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final int MAX_LIMIT = 50;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.5;
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double SUBTITLE_WEIGHT = 0.5;
+
+    private final DoctorRepository doctorRepository;
+    private final ClinicRepository clinicRepository;
+    private final ProcedureRepository procedureRepository;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Object changeMonitor = new Object();
+    private volatile Index index;
+    private List<Consumer<Index>> pendingChanges;
+
+    @Autowired
+    public SearchIndexService(DoctorRepository doctorRepository,
+                              ClinicRepository clinicRepository,
+                              ProcedureRepository procedureRepository) {
+        this.doctorRepository = doctorRepository;
+        this.clinicRepository = clinicRepository;
+        this.procedureRepository = procedureRepository;
+    }
+
+    public List<SearchResultResponseDto> search(String query, SearchTypeEnum type, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Index current = current();
+        Map<DocumentKey, Double> scores = null;
+        for (String term : terms) {
+            Map<DocumentKey, Double> termScores = current.match(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<DocumentKey, Double> previous = scores;
+                scores = termScores.entrySet().stream()
+                        .filter(entry -> previous.containsKey(entry.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() + previous.get(entry.getKey())));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        Map<DocumentKey, Double> matched = scores;
+        return matched.keySet().stream()
+                .filter(key -> type == null || key.type() == type)
+                .map(current.documents()::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.<Document>comparingDouble(document -> matched.get(document.key())).reversed()
+                        .thenComparing(Document::title))
+                .limit(Math.clamp(limit, 1, MAX_LIMIT))
+                .map(document -> new SearchResultResponseDto(document.key().type(), document.key().id(),
+                        document.title(), document.subtitle(), matched.get(document.key())))
+                .toList();
+    }
+
+    public void onDoctorChanged(Doctor doctor) {
+        Document document = doctor.isActive() ? toDocument(doctor) : null;
+        DocumentKey key = new DocumentKey(SearchTypeEnum.DOCTOR, doctor.getId());
+        afterCommit(() -> apply(key, document));
+    }
+
+    public void onClinicChanged(Clinic clinic) {
+        Document document = clinic.isActive() ? toDocument(clinic) : null;
+        DocumentKey key = new DocumentKey(SearchTypeEnum.CLINIC, clinic.getId());
+        afterCommit(() -> apply(key, document));
+    }
+
+    public void onRemoved(SearchTypeEnum type, UUID id) {
+        DocumentKey key = new DocumentKey(type, id);
+        afterCommit(() -> apply(key, null));
+    }
+
+    /**
+     * Troca a especialidade {@code sourceName} por {@code targetName} (ou apenas a remove, se nulo) em todos os
+     * médicos indexados que a têm. Usado pelas alterações em massa de especialidades, que não carregam os médicos:
+     * o índice é atualizado a partir dos próprios documentos, sem consultar o banco.
+     */
+    public void onSpecialityReplaced(String sourceName, String targetName) {
+        afterCommit(() -> apply(current -> current.replaceSpeciality(sourceName, targetName)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.reload-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        loadLock.lock();
+        try {
+            synchronized (changeMonitor) {
+                pendingChanges = new ArrayList<>();
+            }
+            Index loaded = new Index();
+            doctorRepository.findAllActiveWithUserAndSpecialities().forEach(doctor -> loaded.put(toDocument(doctor)));
+            clinicRepository.findAllActiveWithUser().forEach(clinic -> loaded.put(toDocument(clinic)));
+            procedureRepository.findAllActive().forEach(procedure -> loaded.put(toDocument(procedure)));
+            synchronized (changeMonitor) {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                index = loaded;
+            }
+            logger.debug("Índice de busca carregado: {} documentos, {} palavras", loaded.documents().size(), loaded.postings().size());
+        } finally {
+            synchronized (changeMonitor) {
+                pendingChanges = null;
+            }
+            loadLock.unlock();
+        }
+    }
+
+    static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(fold(text)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private void apply(DocumentKey key, Document document) {
+        apply(document != null ? current -> current.put(document) : current -> current.remove(key));
+    }
+
+    private void apply(Consumer<Index> change) {
+        synchronized (changeMonitor) {
+            Index current = index;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private Index current() {
+        Index current = index;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (index == null) {
+                    reload();
+                }
+                current = index;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static Document toDocument(Doctor doctor) {
+        List<String> specialities = doctor.getSpecialities() == null ? List.of() : doctor.getSpecialities().stream()
+                .map(Speciality::getName)
+                .toList();
+        return doctorDocument(doctor.getId(), doctor.getUser().getName(), specialities);
+    }
+
+    private static Document doctorDocument(UUID id, String name, Collection<String> specialities) {
+        List<String> sorted = specialities.stream().distinct().sorted().toList();
+        return new Document(new DocumentKey(SearchTypeEnum.DOCTOR, id), name, String.join(", ", sorted), sorted);
+    }
+
+    private static Document toDocument(Clinic clinic) {
+        return new Document(new DocumentKey(SearchTypeEnum.CLINIC, clinic.getId()), clinic.getUser().getName(),
+                clinic.getCity(), List.of());
+    }
+
+    private static Document toDocument(Procedure procedure) {
+        return new Document(new DocumentKey(SearchTypeEnum.PROCEDURE, procedure.getId()), procedure.getDisplayName(),
+                "", List.of());
+    }
+
+    private static Set<String> trigrams(String token) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            trigrams.add(token.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private record DocumentKey(SearchTypeEnum type, UUID id) {
+    }
+
+    /**
+     * {@code specialities} guarda os nomes que compõem o subtítulo dos médicos, para que uma especialidade possa ser
+     * trocada sem reler o médico; é vazio nos demais tipos.
+     */
+    private record Document(DocumentKey key, String title, String subtitle, List<String> specialities) {
+
+        Document replacingSpeciality(String sourceName, String targetName) {
+            List<String> names = new ArrayList<>(specialities);
+            names.remove(sourceName);
+            if (targetName != null) {
+                names.add(targetName);
+            }
+            return doctorDocument(key.id(), title, names);
+        }
+
+        Map<String, Double> weightedTokens() {
+            Map<String, Double> weights = new HashMap<>();
+            tokenize(subtitle).forEach(token -> weights.put(token, SUBTITLE_WEIGHT));
+            tokenize(title).forEach(token -> weights.put(token, TITLE_WEIGHT));
+            return weights;
+        }
+    }
+
+    /**
+     * Palavras ordenadas (para busca por prefixo) com os documentos e pesos de cada uma, e o vocabulário indexado
+     * por trigrama. Entradas de trigrama de palavras que deixaram de existir são ignoradas na consulta.
+     */
+    private record Index(Map<DocumentKey, Document> documents,
+                         ConcurrentSkipListMap<String, Map<DocumentKey, Double>> postings,
+                         Map<String, Set<String>> trigramVocabulary) {
+
+        Index() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(Document document) {
+            documents.compute(document.key(), (key, previous) -> {
+                if (previous != null) {
+                    unindex(previous);
+                }
+                document.weightedTokens().forEach((token, weight) -> {
+                    postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(key, weight);
+                    trigrams(token).forEach(trigram ->
+                            trigramVocabulary.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(token));
+                });
+                return document;
+            });
+        }
+
+        void replaceSpeciality(String sourceName, String targetName) {
+            List<Document> affected = documents.values().stream()
+                    .filter(document -> document.specialities().contains(sourceName))
+                    .toList();
+            affected.forEach(document -> put(document.replacingSpeciality(sourceName, targetName)));
+        }
+
+        void remove(DocumentKey key) {
+            documents.computeIfPresent(key, (k, previous) -> {
+                unindex(previous);
+                return null;
+            });
+        }
+
+        Map<DocumentKey, Double> match(String term) {
+            Map<DocumentKey, Double> scores = new HashMap<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false).forEach((token, documentWeights) -> {
+                double tokenScore = token.equals(term) ? 1.0 : 0.8;
+                documentWeights.forEach((key, weight) -> scores.merge(key, tokenScore * weight, Math::max));
+            });
+            if (!scores.isEmpty() || term.length() < 3) {
+                return scores;
+            }
+            Set<String> termTrigrams = trigrams(term);
+            Map<String, Integer> shared = new HashMap<>();
+            termTrigrams.forEach(trigram -> trigramVocabulary.getOrDefault(trigram, Set.of())
+                    .forEach(token -> shared.merge(token, 1, Integer::sum)));
+            shared.forEach((token, count) -> {
+                double similarity = (double) count / termTrigrams.size();
+                Map<DocumentKey, Double> documentWeights = postings.get(token);
+                if (similarity >= MIN_TRIGRAM_SIMILARITY && documentWeights != null) {
+                    documentWeights.forEach((key, weight) -> scores.merge(key, 0.5 * similarity * weight, Math::max));
+                }
+            });
+            return scores;
+        }
+
+        private void unindex(Document document) {
+            document.weightedTokens().keySet().forEach(token -> postings.computeIfPresent(token, (t, documentWeights) -> {
+                documentWeights.remove(document.key());
+                return documentWeights.isEmpty() ? null : documentWeights;
+            }));
+        }
+    }
+}
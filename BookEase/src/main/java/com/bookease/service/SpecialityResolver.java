@@ -0,0 +1,105 @@
+package com.bookease.service;
+
+import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.entity.Speciality;
+import com.bookease.repository.SpecialityRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Resolve conjuntos de especialidades por id ou por nome em uma única ida ao banco, reportando de uma vez todas as
+ * entradas ausentes. Ids são carregados com multi-load do Hibernate, que atende primeiro pelo cache de segundo nível
+ * e busca apenas os restantes em uma consulta; nomes são comparados sem diferenciar maiúsculas pela consulta
+ * cacheada do {@link SpecialityRepository}. Os conjuntos devolvidos são mutáveis e podem ser atribuídos
+ * diretamente a {@code Doctor.specialities}.
+ */
+@Service
+public class SpecialityResolver {
+
+    private static final String ENTITY_NAME = "Speciality";
+
+    private final SpecialityRepository specialityRepository;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public SpecialityResolver(SpecialityRepository specialityRepository, EntityManager entityManager) {
+        this.specialityRepository = specialityRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Speciality> resolveByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<Speciality> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Speciality.class)
+                .multiLoad(distinctIds);
+
+        Set<Speciality> found = new HashSet<>();
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            Speciality speciality = loaded.get(i);
+            if (speciality == null) {
+                missing.add(distinctIds.get(i));
+            } else {
+                found.add(speciality);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(ENTITY_NAME, missing);
+        }
+        return found;
+    }
+
+    public Set<Speciality> resolveByNames(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new HashSet<>();
+        }
+        Map<String, Speciality> found = findByFoldedNames(names);
+        List<String> missing = names.stream()
+                .filter(name -> !found.containsKey(fold(name)))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(ENTITY_NAME, missing);
+        }
+        return new HashSet<>(found.values());
+    }
+
+    /**
+     * Nomes já cadastrados entre os informados, na grafia do cadastro.
+     */
+    public List<String> findExistingNames(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return List.of();
+        }
+        return findByFoldedNames(names).values().stream()
+                .map(Speciality::getName)
+                .sorted()
+                .toList();
+    }
+
+    static String fold(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Map<String, Speciality> findByFoldedNames(Collection<String> names) {
+        // ordenados para que o mesmo conjunto de nomes reaproveite a entrada do cache de consultas
+        List<String> foldedNames = names.stream()
+                .map(SpecialityResolver::fold)
+                .distinct()
+                .sorted()
+                .toList();
+        return specialityRepository.findByNameInIgnoreCase(foldedNames).stream()
+                .collect(Collectors.toMap(speciality -> fold(speciality.getName()), speciality -> speciality,
+                        (first, second) -> first));
+    }
+}
@@ -3,6 +3,7 @@ package com.bookease.service;
 import com.bookease.exception.EntityAlreadyExistsException;
 import com.bookease.exception.EntityNotFoundException;
 import com.bookease.model.dto.request.SpecialityRequestDto;
+import com.bookease.model.dto.response.SpecialityReassignResponseDto;
 import com.bookease.model.dto.response.SpecialityResponseDto;
 import com.bookease.model.entity.Doctor;
 import com.bookease.model.entity.Speciality;
@@ -17,7 +18,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class SpecialityService {
@@ -27,28 +27,36 @@ public class SpecialityService {
     private final SpecialityRepository specialityRepository;
     private final DoctorRepository doctorRepository;
     private final SpecialityMapper specialityMapper;
+    private final ReferenceDataCacheService referenceDataCacheService;
+    private final SpecialityResolver specialityResolver;
+    private final SearchIndexService searchIndexService;
 
     @Autowired
     public SpecialityService(SpecialityRepository specialityRepository,
                              DoctorRepository doctorRepository,
-                             SpecialityMapper specialityMapper) {
+                             SpecialityMapper specialityMapper,
+                             ReferenceDataCacheService referenceDataCacheService,
+                             SpecialityResolver specialityResolver,
+                             SearchIndexService searchIndexService) {
         this.specialityRepository = specialityRepository;
         this.doctorRepository = doctorRepository;
         this.specialityMapper = specialityMapper;
+        this.referenceDataCacheService = referenceDataCacheService;
+        this.specialityResolver = specialityResolver;
+        this.searchIndexService = searchIndexService;
     }
 
     @Transactional
     public List<SpecialityResponseDto> createSpeciality(SpecialityRequestDto dto) {
-        dto.specialityNames().forEach(name -> {
-            String normalizedName = name.trim().toLowerCase();
-            if (specialityRepository.existsByNameIgnoreCase(normalizedName)) {
-                throw new EntityAlreadyExistsException("Especialidade já existe: " + normalizedName);
-            }
-        });
+        List<String> existingNames = specialityResolver.findExistingNames(dto.specialityNames());
+        if (!existingNames.isEmpty()) {
+            throw new EntityAlreadyExistsException("Especialidade já existe: " + String.join(", ", existingNames));
+        }
 
         List<Speciality> specialities = specialityMapper.toEntities(dto);
 
         List<Speciality> savedSpecialities = specialityRepository.saveAll(specialities);
+        referenceDataCacheService.evictSpecialities();
 
         return savedSpecialities.stream()
                 .map(specialityMapper::toResponseDto)
@@ -77,16 +85,34 @@ public class SpecialityService {
     public void deleteById(UUID id) {
         Speciality speciality = specialityRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
-        doctorRepository.findAll().forEach(doctor -> doctor.getSpecialities().remove(speciality));
-        specialityRepository.delete(speciality);
+        delete(speciality);
     }
 
     @Transactional
     public void deleteByName(String name) {
         Speciality speciality = specialityRepository.findByName(name)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, name));
-        doctorRepository.findAll().forEach(doctor -> doctor.getSpecialities().remove(speciality));
-        specialityRepository.delete(speciality);
+        delete(speciality);
+    }
+
+    /**
+     * Transfere para a especialidade de destino todos os médicos associados à de origem, com um INSERT e um DELETE
+     * na tabela de associação independentemente do número de médicos. Médicos que já tinham as duas ficam só com
+     * a de destino. O índice de busca troca a especialidade nos próprios documentos, sem ler os médicos.
+     */
+    @Transactional
+    public SpecialityReassignResponseDto reassignDoctors(UUID sourceId, UUID targetId) {
+        if (sourceId.equals(targetId)) {
+            throw new IllegalArgumentException("A especialidade de destino deve ser diferente da de origem");
+        }
+        Speciality source = specialityRepository.findById(sourceId)
+                .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, sourceId));
+        Speciality target = specialityRepository.findById(targetId)
+                .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, targetId));
+        doctorRepository.copySpecialityToDoctors(sourceId, targetId);
+        int reassigned = doctorRepository.removeSpecialityFromAllDoctors(sourceId);
+        searchIndexService.onSpecialityReplaced(source.getName(), target.getName());
+        return new SpecialityReassignResponseDto(sourceId, targetId, reassigned);
     }
 
     @Transactional
@@ -94,12 +120,17 @@ public class SpecialityService {
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, doctorId));
 
-        Set<Speciality> specialities = specialityIds.stream()
-                .map(id -> specialityRepository.findById(id)
-                        .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id)))
-                .collect(Collectors.toSet());
+        Set<Speciality> specialities = specialityResolver.resolveByIds(specialityIds);
 
         doctor.setSpecialities(specialities);
         doctorRepository.save(doctor);
+        searchIndexService.onDoctorChanged(doctor);
+    }
+
+    private void delete(Speciality speciality) {
+        doctorRepository.removeSpecialityFromAllDoctors(speciality.getId());
+        specialityRepository.delete(speciality);
+        referenceDataCacheService.evictSpecialities();
+        searchIndexService.onSpecialityReplaced(speciality.getName(), null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.RevokedToken;
+import com.bookease.repository.RevokedTokenRepository;
+import com.bookease.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Mantém em memória as revogações de tokens ainda relevantes: por usuário (tokens emitidos até o instante da revogação)
+ * e por jti (logout de um token específico). A consulta feita a cada requisição não acessa o banco.
+ * O conjunto é sincronizado de forma incremental a partir do banco, para que revogações feitas em outra instância
+ * passem a valer aqui após no máximo um intervalo de sincronização.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Margem relida a cada sincronização, cobrindo commits atrasados e diferenças de relógio entre instâncias.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Instant> revokedSubjects = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedTokenIds = new ConcurrentHashMap<>();
+    private volatile Instant syncedUntil;
+
+    @Autowired
+    public TokenRevocationService(UserRepository userRepository, RevokedTokenRepository revokedTokenRepository) {
+        this.userRepository = userRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String subject, String tokenId, Instant issuedAt) {
+        if (tokenId != null && revokedTokenIds.containsKey(tokenId)) {
+            return true;
+        }
+        Instant revokedAt = subject != null ? revokedSubjects.get(subject) : null;
+        return revokedAt != null && (issuedAt == null || !issuedAt.isAfter(revokedAt));
+    }
+
+    public void revokeSubject(String subject, Instant revokedAt) {
+        afterCommit(() -> revokedSubjects.merge(subject, revokedAt, TokenRevocationService::latest));
+    }
+
+    @Transactional
+    public void revokeToken(String tokenId, String subject, Instant expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .subject(subject)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        afterCommit(() -> revokedTokenIds.put(tokenId, expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-revocation.refresh-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant oldestRelevant = now.minus(AuthService.REFRESH_TOKEN_LIFETIME);
+        Instant previousSync = syncedUntil;
+        Instant since = previousSync != null ? previousSync.minus(SYNC_OVERLAP) : oldestRelevant;
+
+        userRepository.findTokenRevocationsSince(since).forEach(revocation ->
+                revokedSubjects.merge(revocation.getUsername(), revocation.getTokensRevokedAt(), TokenRevocationService::latest));
+        revokedTokenRepository.findActiveRevokedSince(since, now).forEach(token ->
+                revokedTokenIds.put(token.getTokenId(), token.getExpiresAt()));
+
+        revokedSubjects.values().removeIf(revokedAt -> revokedAt.isBefore(oldestRelevant));
+        revokedTokenIds.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        syncedUntil = now;
+        if (previousSync == null) {
+            logger.info("Revogações de token carregadas: {} usuários, {} tokens", revokedSubjects.size(), revokedTokenIds.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = revokedTokenRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            logger.debug("{} tokens revogados expirados removidos", removed);
+        }
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        return candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,263 @@
+package com.bookease.service;
+
+import com.bookease.exception.UniqueFieldException;
+import com.bookease.model.dto.request.UserRequestDto;
+import com.bookease.model.enums.UniqueFieldEnum;
+import com.bookease.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import static com.bookease.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Valida username, email, telefone e o documento da entidade (CPF, CRM ou CNPJ) em uma única consulta indexada,
+ * ignorando o próprio usuário nas atualizações e reportando todos os campos em conflito de uma vez.
+ * Opcionalmente mantém um filtro de Bloom em memória: quando nenhum valor pode existir, a consulta é evitada.
+ * <p>
+ * O filtro só enxerga os cadastros e alterações feitos por esta instância, então só é seguro com uma única instância
+ * da aplicação e vem desligado por padrão. No PostgreSQL a exigência é verificada na carga: a instância mantém um
+ * advisory lock de sessão em uma conexão reservada enquanto estiver no ar, e uma segunda instância com o filtro
+ * ligado falha ao iniciar.
+ */
+@Service
+public class UniquenessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniquenessService.class);
+    private static final UUID NO_USER = new UUID(0L, 0L);
+    private static final long SINGLE_NODE_LOCK_KEY = 0x426f6f6b45617365L;
+
+    private final UserRepository userRepository;
+    private final DataSource dataSource;
+    private final BloomFilter bloomFilter;
+    private volatile boolean bloomFilterReady;
+    private Connection singleNodeLock;
+
+    @Autowired
+    public UniquenessService(UserRepository userRepository,
+                             DataSource dataSource,
+                             @Value("${app.uniqueness.bloom-filter.enabled:false}") boolean bloomFilterEnabled,
+                             @Value("${app.uniqueness.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${app.uniqueness.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.dataSource = dataSource;
+        this.bloomFilter = bloomFilterEnabled ? new BloomFilter(expectedInsertions, falsePositiveRate) : null;
+    }
+
+    public void validateRegistration(UserRequestDto userDto, UniqueFieldEnum documentField, String documentValue) {
+        throwIfConflicting(findConflicts(userDto, documentField, documentValue, NO_USER));
+    }
+
+    public void validateUpdate(UserRequestDto userDto, UUID currentUserId) {
+        throwIfConflicting(findConflicts(userDto, null, null, currentUserId));
+    }
+
+    public Set<UniqueFieldEnum> findConflicts(UserRequestDto userDto, UniqueFieldEnum documentField, String documentValue,
+                                              UUID excludedUserId) {
+        Map<UniqueFieldEnum, String> values = collectValues(userDto, documentField, documentValue);
+        if (values.isEmpty() || (bloomFilterReady && values.entrySet().stream()
+                .noneMatch(entry -> bloomFilter.mightContain(key(entry.getKey(), entry.getValue()))))) {
+            return EnumSet.noneOf(UniqueFieldEnum.class);
+        }
+        Set<UniqueFieldEnum> conflicts = EnumSet.noneOf(UniqueFieldEnum.class);
+        userRepository.findUniqueFieldConflicts(
+                values.get(UniqueFieldEnum.USERNAME),
+                values.get(UniqueFieldEnum.EMAIL),
+                values.get(UniqueFieldEnum.PHONE),
+                values.get(UniqueFieldEnum.CPF),
+                values.get(UniqueFieldEnum.CRM),
+                values.get(UniqueFieldEnum.CNPJ),
+                excludedUserId != null ? excludedUserId : NO_USER
+        ).forEach(field -> conflicts.add(UniqueFieldEnum.valueOf(field)));
+        return conflicts;
+    }
+
+    public void recordRegistration(UserRequestDto userDto, UniqueFieldEnum documentField, String documentValue) {
+        recordValues(userDto, documentField, documentValue);
+    }
+
+    /**
+     * Registra os novos valores de uma atualização; os antigos continuam no filtro e só custam uma consulta a mais.
+     */
+    public void recordUpdate(UserRequestDto userDto) {
+        recordValues(userDto, null, null);
+    }
+
+    private void recordValues(UserRequestDto userDto, UniqueFieldEnum documentField, String documentValue) {
+        if (bloomFilter == null) {
+            return;
+        }
+        Map<UniqueFieldEnum, String> values = collectValues(userDto, documentField, documentValue);
+        afterCommit(() -> values.forEach((field, value) -> bloomFilter.put(key(field, value))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpBloomFilter() {
+        if (bloomFilter == null) {
+            return;
+        }
+        acquireSingleNodeLock();
+        long start = System.nanoTime();
+        try (Stream<String> keys = userRepository.streamAllUniqueFieldKeys()) {
+            keys.forEach(bloomFilter::put);
+        }
+        bloomFilterReady = true;
+        logger.info("Filtro de Bloom de unicidade carregado em {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public synchronized void releaseSingleNodeLock() {
+        if (singleNodeLock == null) {
+            return;
+        }
+        try {
+            singleNodeLock.close();
+        } catch (SQLException e) {
+            logger.warn("Falha ao liberar o lock de instância única do filtro de Bloom", e);
+        }
+        singleNodeLock = null;
+    }
+
+    private synchronized void acquireSingleNodeLock() {
+        if (singleNodeLock != null) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT pg_try_advisory_lock(" + SINGLE_NODE_LOCK_KEY + ")")) {
+                if (!result.next() || !result.getBoolean(1)) {
+                    throw new IllegalStateException("O filtro de Bloom de unicidade já está ativo em outra instância; "
+                            + "desligue app.uniqueness.bloom-filter.enabled para rodar mais de uma instância");
+                }
+            }
+            singleNodeLock = connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível obter o lock de instância única do filtro de Bloom", e);
+        } finally {
+            if (connection != null && singleNodeLock != connection) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.warn("Falha ao fechar a conexão do lock de instância única", e);
+                }
+            }
+        }
+    }
+
+    private static void throwIfConflicting(Set<UniqueFieldEnum> conflicts) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        List<String> fields = conflicts.stream().map(UniqueFieldEnum::getDisplayName).toList();
+        String message = fields.size() == 1
+                ? String.format("%s já existe", fields.getFirst())
+                : String.format("%s já existem", String.join(", ", fields));
+        throw new UniqueFieldException(message, fields);
+    }
+
+    private static Map<UniqueFieldEnum, String> collectValues(UserRequestDto userDto, UniqueFieldEnum documentField,
+                                                              String documentValue) {
+        Map<UniqueFieldEnum, String> values = new EnumMap<>(UniqueFieldEnum.class);
+        if (userDto != null) {
+            putIfPresent(values, UniqueFieldEnum.USERNAME, userDto.getUsername());
+            putIfPresent(values, UniqueFieldEnum.EMAIL, userDto.getEmail());
+            putIfPresent(values, UniqueFieldEnum.PHONE, userDto.getPhone());
+        }
+        if (documentField != null) {
+            putIfPresent(values, documentField, documentValue);
+        }
+        return values;
+    }
+
+    private static void putIfPresent(Map<UniqueFieldEnum, String> values, UniqueFieldEnum field, String value) {
+        if (value != null) {
+            values.put(field, value);
+        }
+    }
+
+    private static String key(UniqueFieldEnum field, String value) {
+        return field.name() + ":" + value;
+    }
+
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashFunctions;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.bits = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = hash(key);
+            long h1 = hash;
+            long h2 = hash >>> 32 | hash << 32;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(index);
+                } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            long h1 = hash;
+            long h2 = hash >>> 32 | hash << 32;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -2,10 +2,10 @@ package com.bookease.service;
 
 import com.bookease.exception.EntityNotFoundException;
 import com.bookease.exception.EntityOperationException;
-import com.bookease.exception.UniqueFieldException;
 import com.bookease.model.dto.request.UserRequestDto;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.UserMapper;
 import com.bookease.repository.RoleRepository;
 import com.bookease.repository.UserRepository;
@@ -19,7 +19,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.function.Predicate;
 
 @Service
 public class UserService {
@@ -28,28 +27,23 @@ public class UserService {
     private final UserMapper userMapper;
     private final AuthService authService;
     private final RoleRepository roleRepository;
+    private final UniquenessService uniquenessService;
 
     @Autowired
     public UserService(UserRepository userRepository,
                        UserMapper userMapper,
                        AuthService authService,
-                       RoleRepository roleRepository) {
+                       RoleRepository roleRepository,
+                       UniquenessService uniquenessService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.authService = authService;
         this.roleRepository = roleRepository;
+        this.uniquenessService = uniquenessService;
     }
 
     public void validateUserUniqueness(UserRequestDto userDto) {
-        if (userDto.getUsername() != null && userRepository.existsByUsername(userDto.getUsername())) {
-            throw new UniqueFieldException("Username já existe");
-        }
-        if (userDto.getEmail() != null && userRepository.existsByEmail(userDto.getEmail())) {
-            throw new UniqueFieldException("Email já existe");
-        }
-        if (userDto.getPhone() != null && userRepository.existsByPhone(userDto.getPhone())) {
-            throw new UniqueFieldException("Telefone já existe");
-        }
+        uniquenessService.validateRegistration(userDto, null, null);
     }
 
     @Transactional
@@ -57,21 +51,31 @@ public class UserService {
                                      Function<T, User> getUserFunction) {
         User user = getUserFunction.apply(entity);
         authService.verifyOwnership(user);
-        userMapper.updateFromDto(user, updateDto);
         validateUserUniquenessForUpdate(updateDto, user.getUserId());
-        return userRepository.save(user);
+        userMapper.updateFromDto(user, updateDto);
+        User saved = userRepository.save(user);
+        uniquenessService.recordUpdate(updateDto);
+        return saved;
     }
 
     @Transactional
     public User createUserWithRole(UserRequestDto userDto, Role.Values roleName) {
-        validateUserUniqueness(userDto);
+        return createUserWithRole(userDto, roleName, null, null);
+    }
+
+    @Transactional
+    public User createUserWithRole(UserRequestDto userDto, Role.Values roleName,
+                                   UniqueFieldEnum documentField, String documentValue) {
+        uniquenessService.validateRegistration(userDto, documentField, documentValue);
         User user = userMapper.toEntity(userDto);
         Role role = roleRepository.findByName(roleName)
                 .orElseThrow(() -> new EntityNotFoundException("Role", roleName));
         Set<Role> roles = new HashSet<>();
         roles.add(role);
         user.setRoles(roles);
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        uniquenessService.recordRegistration(userDto, documentField, documentValue);
+        return user;
     }
 
     @SuppressWarnings({"squid:S125", "unused"})
@@ -114,35 +118,7 @@ public class UserService {
         repository.save(entity);
     }
 
-    // Método genérico utilizando Predicate<T> para validação
-    public <T> void validateUniqueField(String fieldValue, JpaRepository<T, ?> repository,
-                                        Predicate<T> predicate, String fieldName) {
-        if (fieldValue != null && repository.findAll().stream().anyMatch(predicate)) {
-            throw new UniqueFieldException(String.format("%s já existe", fieldName));
-        }
-    }
-
     public void validateUserUniquenessForUpdate(UserRequestDto userDto, UUID currentUserId) {
-        if (userDto.getUsername() != null) {
-            userRepository.findByUsername(userDto.getUsername())
-                    .filter(ignored -> !ignored.getUserId().equals(currentUserId))
-                    .ifPresent(ignored -> {
-                        throw new UniqueFieldException("Username já existe");
-                    });
-        }
-        if (userDto.getEmail() != null) {
-            userRepository.findByEmail(userDto.getEmail())
-                    .filter(ignored -> !ignored.getUserId().equals(currentUserId))
-                    .ifPresent(ignored -> {
-                        throw new UniqueFieldException("Email já existe");
-                    });
-        }
-        if (userDto.getPhone() != null) {
-            userRepository.findByPhone(userDto.getPhone())
-                    .filter(ignored -> !ignored.getUserId().equals(currentUserId))
-                    .ifPresent(ignored -> {
-                        throw new UniqueFieldException("Telefone já existe");
-                    });
-        }
+        uniquenessService.validateUpdate(userDto, currentUserId);
     }
 }
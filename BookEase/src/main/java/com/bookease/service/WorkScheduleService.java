@@ -22,13 +22,16 @@ public class WorkScheduleService {
     private final WorkScheduleRepository workScheduleRepository;
     private final DoctorClinicRepository doctorClinicRepository;
     private final WorkScheduleMapper workScheduleMapper;
+    private final AvailabilityService availabilityService;
 
     public WorkScheduleService(WorkScheduleRepository workScheduleRepository,
                                DoctorClinicRepository doctorClinicRepository,
-                               WorkScheduleMapper workScheduleMapper) {
+                               WorkScheduleMapper workScheduleMapper,
+                               AvailabilityService availabilityService) {
         this.workScheduleRepository = workScheduleRepository;
         this.doctorClinicRepository = doctorClinicRepository;
         this.workScheduleMapper = workScheduleMapper;
+        this.availabilityService = availabilityService;
     }
 
     @Transactional
@@ -37,6 +40,7 @@ public class WorkScheduleService {
                 .orElseThrow(() -> new EntityNotFoundException("DoctorClinic", dto.doctorClinicId()));
         WorkSchedule workSchedule = workScheduleMapper.toEntity(dto, doctorClinic);
         workSchedule = workScheduleRepository.save(workSchedule);
+        availabilityService.onWorkScheduleChanged(doctorClinic.getId());
         return workScheduleMapper.toResponse(workSchedule);
     }
 
@@ -56,8 +60,10 @@ public class WorkScheduleService {
     public WorkScheduleResponseDto updateWorkSchedule(UUID id, WorkScheduleRequestDto dto) {
         WorkSchedule workSchedule = workScheduleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
+        UUID previousDoctorClinicId = workSchedule.getDoctorClinic().getId();
         updateFields(workSchedule, dto, false);
         workSchedule = workScheduleRepository.save(workSchedule);
+        availabilityService.onWorkScheduleChanged(previousDoctorClinicId, workSchedule.getDoctorClinic().getId());
         return workScheduleMapper.toResponse(workSchedule);
     }
 
@@ -65,8 +71,10 @@ public class WorkScheduleService {
     public WorkScheduleResponseDto patchWorkSchedule(UUID id, WorkScheduleRequestDto dto) {
         WorkSchedule workSchedule = workScheduleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
+        UUID previousDoctorClinicId = workSchedule.getDoctorClinic().getId();
         updateFields(workSchedule, dto, true);
         workSchedule = workScheduleRepository.save(workSchedule);
+        availabilityService.onWorkScheduleChanged(previousDoctorClinicId, workSchedule.getDoctorClinic().getId());
         return workScheduleMapper.toResponse(workSchedule);
     }
 
@@ -76,6 +84,7 @@ public class WorkScheduleService {
                 .orElseThrow(() -> new EntityNotFoundException(ENTITY_NAME, id));
         workSchedule.setActive(false);
         workScheduleRepository.save(workSchedule);
+        availabilityService.onWorkScheduleChanged(workSchedule.getDoctorClinic().getId());
     }
 
     private void updateFields(WorkSchedule workSchedule, WorkScheduleRequestDto dto, boolean isPatch) {
@@ -0,0 +1,143 @@
+-- Esquema equivalente ao gerado até aqui pelo Hibernate (ddl-auto=update).
+-- Bancos existentes são registrados nesta versão pelo baseline do Flyway e não a executam.
+
+CREATE TABLE tb_role (
+    role_id UUID PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_role_name UNIQUE (name)
+);
+
+CREATE TABLE tb_user (
+    user_id           UUID PRIMARY KEY,
+    username          VARCHAR(255) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    name              VARCHAR(255) NOT NULL,
+    phone             VARCHAR(255),
+    email             VARCHAR(255),
+    active            BOOLEAN      NOT NULL,
+    token_revoked     BOOLEAN      NOT NULL,
+    tokens_revoked_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_user_username UNIQUE (username)
+);
+
+CREATE INDEX idx_user_email ON tb_user (email);
+CREATE INDEX idx_user_phone ON tb_user (phone);
+CREATE INDEX idx_user_tokens_revoked_at ON tb_user (tokens_revoked_at);
+
+CREATE TABLE tb_user_role (
+    user_id UUID NOT NULL REFERENCES tb_user (user_id),
+    role_id UUID NOT NULL REFERENCES tb_role (role_id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE tb_speciality (
+    id     UUID PRIMARY KEY,
+    name   VARCHAR(255) NOT NULL,
+    active BOOLEAN      NOT NULL,
+    CONSTRAINT uk_speciality_name UNIQUE (name)
+);
+
+CREATE TABLE tb_procedure (
+    id           UUID PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    display_name VARCHAR(255) NOT NULL,
+    active       BOOLEAN      NOT NULL
+);
+
+CREATE TABLE tb_doctor (
+    id      UUID PRIMARY KEY,
+    user_id UUID         NOT NULL REFERENCES tb_user (user_id),
+    crm     VARCHAR(255) NOT NULL,
+    active  BOOLEAN      NOT NULL,
+    CONSTRAINT uk_doctor_user UNIQUE (user_id),
+    CONSTRAINT uk_doctor_crm UNIQUE (crm)
+);
+
+CREATE TABLE tb_doctor_speciality (
+    doctor_id     UUID NOT NULL REFERENCES tb_doctor (id),
+    speciality_id UUID NOT NULL REFERENCES tb_speciality (id),
+    PRIMARY KEY (doctor_id, speciality_id)
+);
+
+CREATE TABLE tb_clinic (
+    id          UUID PRIMARY KEY,
+    user_id     UUID         NOT NULL REFERENCES tb_user (user_id),
+    cnpj        VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    city        VARCHAR(255) NOT NULL,
+    address     VARCHAR(255) NOT NULL,
+    latitude    FLOAT(53),
+    longitude   FLOAT(53),
+    active      BOOLEAN      NOT NULL,
+    CONSTRAINT uk_clinic_user UNIQUE (user_id),
+    CONSTRAINT uk_clinic_cnpj UNIQUE (cnpj)
+);
+
+CREATE TABLE tb_patient (
+    id      UUID PRIMARY KEY,
+    user_id UUID         NOT NULL REFERENCES tb_user (user_id),
+    cpf     VARCHAR(255) NOT NULL,
+    active  BOOLEAN      NOT NULL,
+    CONSTRAINT uk_patient_user UNIQUE (user_id),
+    CONSTRAINT uk_patient_cpf UNIQUE (cpf)
+);
+
+CREATE TABLE tb_doctor_clinic (
+    id        UUID PRIMARY KEY,
+    doctor_id UUID    NOT NULL REFERENCES tb_doctor (id),
+    clinic_id UUID    NOT NULL REFERENCES tb_clinic (id),
+    active    BOOLEAN NOT NULL
+);
+
+CREATE TABLE tb_work_schedule (
+    id               UUID PRIMARY KEY,
+    doctor_clinic_id UUID         NOT NULL REFERENCES tb_doctor_clinic (id),
+    day_of_week      VARCHAR(255) NOT NULL,
+    start_time       TIME(6)      NOT NULL,
+    end_time         TIME(6)      NOT NULL,
+    active           BOOLEAN      NOT NULL
+);
+
+CREATE TABLE tb_procedure_offered (
+    id               UUID PRIMARY KEY,
+    doctor_clinic_id UUID      NOT NULL REFERENCES tb_doctor_clinic (id),
+    procedure_id     UUID      NOT NULL REFERENCES tb_procedure (id),
+    duration_minutes INTEGER   NOT NULL,
+    price            FLOAT(53) NOT NULL,
+    active           BOOLEAN   NOT NULL
+);
+
+CREATE TABLE tb_appointment (
+    id                   UUID PRIMARY KEY,
+    date_time            TIMESTAMP(6) NOT NULL,
+    end_date_time        TIMESTAMP(6),
+    notes                VARCHAR(255),
+    status               VARCHAR(255) NOT NULL,
+    procedure_offered_id UUID         NOT NULL REFERENCES tb_procedure_offered (id),
+    doctor_clinic_id     UUID         NOT NULL REFERENCES tb_doctor_clinic (id),
+    paciente_id          UUID         NOT NULL REFERENCES tb_patient (id),
+    work_schedule_id     UUID         NOT NULL REFERENCES tb_work_schedule (id),
+    active               BOOLEAN      NOT NULL
+);
+
+CREATE TABLE tb_revoked_token (
+    token_id   VARCHAR(255) PRIMARY KEY,
+    subject    VARCHAR(255)                NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_token_revoked_at ON tb_revoked_token (revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON tb_revoked_token (expires_at);
+
+CREATE TABLE tb_refresh_token_family (
+    family_id        UUID PRIMARY KEY,
+    username         VARCHAR(255)                NOT NULL,
+    current_token_id VARCHAR(255)                NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at       TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_refresh_token_family_username ON tb_refresh_token_family (username);
+CREATE INDEX idx_refresh_token_family_expires_at ON tb_refresh_token_family (expires_at);
@@ -0,0 +1,21 @@
+-- Impede dois agendamentos ativos e não cancelados do mesmo médico na mesma clínica com horários sobrepostos.
+-- Antes era criada na inicialização por AppointmentConstraintConfig; os comandos são idempotentes para bancos
+-- registrados pelo baseline que já a possuem.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+UPDATE tb_appointment a
+   SET end_date_time = a.date_time + make_interval(mins => po.duration_minutes)
+  FROM tb_procedure_offered po
+ WHERE po.id = a.procedure_offered_id
+   AND a.end_date_time IS NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_appointment_doctor_clinic_slot') THEN
+        ALTER TABLE tb_appointment
+            ADD CONSTRAINT ex_appointment_doctor_clinic_slot
+            EXCLUDE USING gist (doctor_clinic_id WITH =, tsrange(date_time, end_date_time) WITH &&)
+            WHERE (active AND status <> 'CANCELADO');
+    END IF;
+END $$;
@@ -0,0 +1,46 @@
+-- Índices compostos e parciais alinhados aos predicados dos repositórios. As colunas de ordenação (date_time, id)
+-- acompanham os filtros para que a paginação por cursor percorra o índice sem ordenar.
+-- Verificados por QueryPlanIndexTest.
+
+-- AppointmentRepository
+CREATE INDEX IF NOT EXISTS idx_appointment_doctor_clinic_date_time
+    ON tb_appointment (doctor_clinic_id, date_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointment_doctor_clinic_booked
+    ON tb_appointment (doctor_clinic_id, date_time)
+    WHERE active AND status <> 'CANCELADO';
+CREATE INDEX IF NOT EXISTS idx_appointment_date_time
+    ON tb_appointment (date_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointment_status_date_time
+    ON tb_appointment (status, date_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointment_patient_date_time
+    ON tb_appointment (paciente_id, date_time, id);
+
+-- ProcedureOfferedRepository
+CREATE INDEX IF NOT EXISTS idx_procedure_offered_doctor_clinic_price
+    ON tb_procedure_offered (doctor_clinic_id, price)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_procedure_offered_procedure
+    ON tb_procedure_offered (procedure_id, doctor_clinic_id)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_procedure_offered_duration_price
+    ON tb_procedure_offered (duration_minutes, price)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_procedure_offered_price
+    ON tb_procedure_offered (price);
+
+-- DoctorClinicRepository e WorkScheduleRepository
+CREATE INDEX IF NOT EXISTS idx_doctor_clinic_doctor
+    ON tb_doctor_clinic (doctor_id)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_doctor_clinic_clinic
+    ON tb_doctor_clinic (clinic_id)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_work_schedule_doctor_clinic_day
+    ON tb_work_schedule (doctor_clinic_id, day_of_week);
+
+-- ClinicRepository e DoctorRepository
+CREATE INDEX IF NOT EXISTS idx_clinic_city
+    ON tb_clinic (city)
+    WHERE active;
+CREATE INDEX IF NOT EXISTS idx_doctor_speciality_speciality
+    ON tb_doctor_speciality (speciality_id);
@@ -0,0 +1,3 @@
+-- Versão para controle otimista de concorrência: toda escrita em um agendamento, inclusive as transições de status
+-- feitas por UPDATE condicional, incrementa a coluna.
+ALTER TABLE tb_appointment ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
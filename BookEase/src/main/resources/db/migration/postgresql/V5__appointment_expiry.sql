@@ -0,0 +1,15 @@
+-- Instante de criação do agendamento, usado para expirar reservas PENDENTE não confirmadas. Linhas existentes
+-- recebem o instante da migração.
+ALTER TABLE tb_appointment ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6) NOT NULL DEFAULT now();
+
+-- Índices parciais das varreduras de AppointmentExpiryService; cobrem apenas os agendamentos ativos em aberto e
+-- encolhem à medida que eles são expirados ou finalizados.
+CREATE INDEX IF NOT EXISTS idx_appointment_pending_created_at
+    ON tb_appointment (created_at)
+    WHERE active AND status = 'PENDENTE';
+CREATE INDEX IF NOT EXISTS idx_appointment_pending_date_time
+    ON tb_appointment (date_time)
+    WHERE active AND status = 'PENDENTE';
+CREATE INDEX IF NOT EXISTS idx_appointment_confirmed_end_date_time
+    ON tb_appointment (end_date_time)
+    WHERE active AND status = 'CONFIRMADO';
@@ -0,0 +1,168 @@
+-- Particiona tb_appointment por mês de date_time, para que consultas limitadas por data leiam apenas as partições
+-- do período, e cria a tabela de arquivo que recebe os agendamentos encerrados mais antigos que o horizonte de
+-- AppointmentArchiveService.
+--
+-- Restrições do particionamento declarativo:
+-- * a chave primária precisa conter a coluna de partição, então passa a ser (id, date_time); a unicidade de id
+--   continua garantida pelo gerador UUIDv7 da aplicação;
+-- * restrições de exclusão no pai não podem comparar date_time por sobreposição, então
+--   ex_appointment_doctor_clinic_slot é criada em cada partição. Isso basta porque agendamentos que atravessam a
+--   virada do mês são recusados (AppointmentService.crossesMonthBoundary, também na importação): dois agendamentos
+--   sobrepostos caem sempre na mesma partição, e o banco barra a sobreposição mesmo entre instâncias;
+-- * linhas fora dos meses criados vão para tb_appointment_default; ao criar o mês correspondente, a função abaixo as
+--   move para a nova partição.
+
+ALTER TABLE tb_appointment RENAME TO tb_appointment_legacy;
+-- libera o nome do índice da chave primária para a nova tabela
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'tb_appointment_pkey') THEN
+        ALTER TABLE tb_appointment_legacy RENAME CONSTRAINT tb_appointment_pkey TO tb_appointment_legacy_pkey;
+    END IF;
+END $$;
+
+CREATE TABLE tb_appointment (
+    id                   UUID         NOT NULL,
+    date_time            TIMESTAMP(6) NOT NULL,
+    end_date_time        TIMESTAMP(6),
+    notes                VARCHAR(255),
+    status               VARCHAR(255) NOT NULL,
+    procedure_offered_id UUID         NOT NULL REFERENCES tb_procedure_offered (id),
+    doctor_clinic_id     UUID         NOT NULL REFERENCES tb_doctor_clinic (id),
+    paciente_id          UUID         NOT NULL REFERENCES tb_patient (id),
+    work_schedule_id     UUID         NOT NULL REFERENCES tb_work_schedule (id),
+    active               BOOLEAN      NOT NULL,
+    version              BIGINT       NOT NULL DEFAULT 0,
+    created_at           TIMESTAMP(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, date_time)
+) PARTITION BY RANGE (date_time);
+
+CREATE TABLE tb_appointment_default PARTITION OF tb_appointment DEFAULT;
+ALTER TABLE tb_appointment_default
+    ADD CONSTRAINT ex_tb_appointment_default_slot
+    EXCLUDE USING gist (doctor_clinic_id WITH =, tsrange(date_time, end_date_time) WITH &&)
+    WHERE (active AND status <> 'CANCELADO');
+
+-- Cria a partição do mês de month_day (tb_appointment_AAAA_MM) com sua restrição de exclusão. Devolve false se ela
+-- já existe.
+CREATE OR REPLACE FUNCTION bookease_create_appointment_partition(month_day DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start    DATE := date_trunc('month', month_day)::DATE;
+    month_end      DATE := (date_trunc('month', month_day) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'tb_appointment_' || to_char(month_day, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    IF EXISTS (SELECT 1 FROM tb_appointment_default WHERE date_time >= month_start AND date_time < month_end) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE tb_appointment INCLUDING DEFAULTS)', partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM tb_appointment_default WHERE date_time >= %L AND date_time < %L '
+                       'RETURNING *) INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+        EXECUTE format('ALTER TABLE tb_appointment ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, month_start, month_end);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF tb_appointment FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, month_start, month_end);
+    END IF;
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '
+                   '(doctor_clinic_id WITH =, tsrange(date_time, end_date_time) WITH &&) '
+                   'WHERE (active AND status <> %L)',
+                   partition_name, 'ex_' || partition_name || '_slot', 'CANCELADO');
+    RETURN TRUE;
+END $$;
+
+-- Garante as partições do mês corrente e dos months_ahead seguintes e remove as partições vazias de meses
+-- inteiramente anteriores a keep_from (já arquivados). Devolve o número de partições criadas.
+CREATE OR REPLACE FUNCTION bookease_maintain_appointment_partitions(months_ahead INT, keep_from DATE) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    created        INT := 0;
+    partition_name TEXT;
+    has_rows       BOOLEAN;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        IF bookease_create_appointment_partition((date_trunc('month', now()) + make_interval(months => i))::DATE) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    IF keep_from IS NOT NULL THEN
+        FOR partition_name IN
+            SELECT c.relname::TEXT FROM pg_inherits inh JOIN pg_class c ON c.oid = inh.inhrelid
+             WHERE inh.inhparent = 'tb_appointment'::regclass AND c.relname ~ '^tb_appointment_[0-9]{4}_[0-9]{2}$'
+               AND (to_date(substring(c.relname::TEXT FROM 16), 'YYYY_MM') + INTERVAL '1 month')::DATE <= keep_from
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+            IF NOT has_rows THEN
+                EXECUTE format('DROP TABLE %I', partition_name);
+            END IF;
+        END LOOP;
+    END IF;
+    RETURN created;
+END $$;
+
+-- Meses com dados (até três anos para trás; o restante fica na partição padrão até ser arquivado) e os próximos 12.
+DO $$
+DECLARE
+    first_month DATE;
+BEGIN
+    SELECT date_trunc('month', MIN(date_time))::DATE INTO first_month FROM tb_appointment_legacy;
+    first_month := GREATEST(first_month, (date_trunc('month', now()) - INTERVAL '36 months')::DATE);
+    WHILE first_month IS NOT NULL AND first_month < date_trunc('month', now())::DATE LOOP
+        PERFORM bookease_create_appointment_partition(first_month);
+        first_month := (first_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+    PERFORM bookease_maintain_appointment_partitions(12, NULL);
+END $$;
+
+INSERT INTO tb_appointment (id, date_time, end_date_time, notes, status, procedure_offered_id, doctor_clinic_id,
+                            paciente_id, work_schedule_id, active, version, created_at)
+SELECT id, date_time, end_date_time, notes, status, procedure_offered_id, doctor_clinic_id,
+       paciente_id, work_schedule_id, active, version, created_at
+  FROM tb_appointment_legacy;
+
+DROP TABLE tb_appointment_legacy;
+
+-- Índices de V3 e V5, recriados no pai e propagados a cada partição
+CREATE INDEX idx_appointment_doctor_clinic_date_time
+    ON tb_appointment (doctor_clinic_id, date_time, id);
+CREATE INDEX idx_appointment_doctor_clinic_booked
+    ON tb_appointment (doctor_clinic_id, date_time)
+    WHERE active AND status <> 'CANCELADO';
+CREATE INDEX idx_appointment_date_time
+    ON tb_appointment (date_time, id);
+CREATE INDEX idx_appointment_status_date_time
+    ON tb_appointment (status, date_time, id);
+CREATE INDEX idx_appointment_patient_date_time
+    ON tb_appointment (paciente_id, date_time, id);
+CREATE INDEX idx_appointment_pending_created_at
+    ON tb_appointment (created_at)
+    WHERE active AND status = 'PENDENTE';
+CREATE INDEX idx_appointment_pending_date_time
+    ON tb_appointment (date_time)
+    WHERE active AND status = 'PENDENTE';
+CREATE INDEX idx_appointment_confirmed_end_date_time
+    ON tb_appointment (end_date_time)
+    WHERE active AND status = 'CONFIRMADO';
+
+-- Arquivo: sem chaves estrangeiras, para que o histórico não restrinja alterações nos cadastros
+CREATE TABLE tb_appointment_archive (
+    id                   UUID PRIMARY KEY,
+    date_time            TIMESTAMP(6) NOT NULL,
+    end_date_time        TIMESTAMP(6),
+    notes                VARCHAR(255),
+    status               VARCHAR(255) NOT NULL,
+    procedure_offered_id UUID         NOT NULL,
+    doctor_clinic_id     UUID         NOT NULL,
+    paciente_id          UUID         NOT NULL,
+    work_schedule_id     UUID         NOT NULL,
+    active               BOOLEAN      NOT NULL,
+    version              BIGINT       NOT NULL,
+    created_at           TIMESTAMP(6) NOT NULL,
+    archived_at          TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_appointment_archive_patient_date_time
+    ON tb_appointment_archive (paciente_id, date_time);
+CREATE INDEX idx_appointment_archive_doctor_clinic_date_time
+    ON tb_appointment_archive (doctor_clinic_id, date_time);
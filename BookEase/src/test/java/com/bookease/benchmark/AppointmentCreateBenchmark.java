@@ -0,0 +1,124 @@
+package com.bookease.benchmark;
+
+import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.enums.ProcedureEnum;
+import com.bookease.repository.*;
+import com.bookease.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Criação de agendamento de ponta a ponta sobre H2: buscas das associações, lock da DoctorClinic, verificação de
+ * sobreposição, insert com flush e atualização do calendário em memória. Cada operação usa um horário livre novo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentCreateBenchmark {
+
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private LocalDateTime firstSlot;
+    private String procedureOfferedId;
+    private String doctorClinicId;
+    private String patientId;
+    private String workScheduleId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        appointmentService = context.getBean(AppointmentService.class);
+
+        Role doctorRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.DOCTOR).build());
+        Role clinicRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.CLINIC).build());
+        Role patientRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.PATIENT).build());
+
+        Doctor doctor = context.getBean(DoctorRepository.class).save(Doctor.builder()
+                .user(user("doctor", doctorRole))
+                .crm("CRM12345")
+                .active(true)
+                .build());
+        Clinic clinic = context.getBean(ClinicRepository.class).save(Clinic.builder()
+                .user(user("clinic", clinicRole))
+                .cnpj("12345678000199")
+                .description("Clínica de benchmark")
+                .city("São Paulo")
+                .address("Rua Benchmark, 1")
+                .active(true)
+                .build());
+        Patient patient = context.getBean(PatientRepository.class).save(Patient.builder()
+                .user(user("patient", patientRole))
+                .cpf("12345678901")
+                .active(true)
+                .build());
+        DoctorClinic doctorClinic = context.getBean(DoctorClinicRepository.class).save(DoctorClinic.builder()
+                .doctor(doctor)
+                .clinic(clinic)
+                .active(true)
+                .build());
+        Procedure procedure = context.getBean(ProcedureRepository.class).save(Procedure.builder()
+                .procedureEnum(ProcedureEnum.LIMPEZA_DENTAL)
+                .active(true)
+                .build());
+        ProcedureOffered procedureOffered = context.getBean(ProcedureOfferedRepository.class).save(ProcedureOffered.builder()
+                .doctorClinic(doctorClinic)
+                .procedure(procedure)
+                .durationMinutes(30)
+                .price(100.0)
+                .active(true)
+                .build());
+        WorkSchedule workSchedule = context.getBean(WorkScheduleRepository.class).save(WorkSchedule.builder()
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.SEGUNDA)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .active(true)
+                .build());
+
+        firstSlot = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        procedureOfferedId = procedureOffered.getId().toString();
+        doctorClinicId = doctorClinic.getId().toString();
+        patientId = patient.getId().toString();
+        workScheduleId = workSchedule.getId().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AppointmentResponseDto createAppointment() {
+        LocalDateTime dateTime = firstSlot.plusMinutes(30 * nextSlot.getAndIncrement());
+        return appointmentService.createAppointment(new AppointmentRequestDto(dateTime, "Consulta",
+                AppointmentEnum.PENDENTE, procedureOfferedId, doctorClinicId, patientId, workScheduleId));
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .password("hashedpassword")
+                .name("Benchmark " + username)
+                .email(username + "@example.com")
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.bookease.benchmark;
+
+import com.bookease.config.PasswordEncoderConfig;
+import com.bookease.model.dto.request.LoginRequestDto;
+import com.bookease.model.entity.Role;
+import com.bookease.model.entity.User;
+import com.bookease.repository.UserRepository;
+import com.bookease.service.AuthService;
+import com.bookease.service.JwtKeyService;
+import com.bookease.service.LoginRateLimiter;
+import com.bookease.service.RefreshTokenService;
+import com.bookease.service.TokenRevocationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login completo: verificação da senha com o {@link PasswordEncoder} da aplicação e assinatura dos dois tokens.
+ * A senha é medida separadamente para mostrar quanto do custo do login vem do hash, e a renovação por refresh token
+ * (verificação de uma assinatura e emissão de um novo par) mostra o custo da sessão sem o hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+
+    private static final String PASSWORD = "senha-benchmark";
+    private static final String CLIENT_IP = "203.0.113.10";
+
+    private AuthService authService;
+    private PasswordEncoder passwordEncoder;
+    private LoginRequestDto loginRequest;
+    private String encodedPassword;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        JwtKeyService jwtKeyService = BenchmarkFixtures.jwtKeyService();
+        TokenRevocationService tokenRevocationService = BenchmarkFixtures.tokenRevocationService();
+        passwordEncoder = new PasswordEncoderConfig(0, 250, 0, 2000).passwordEncoder();
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        User user = User.builder()
+                .userId(UUID.randomUUID())
+                .username("benchmark")
+                .password(encodedPassword)
+                .name("Benchmark")
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(Role.builder().roleId(UUID.randomUUID()).name(Role.Values.PATIENT).build()))
+                .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        when(refreshTokenService.rotate(any(), any(), any(), any(), any())).thenReturn(true);
+
+        authService = new AuthService(userRepository, passwordEncoder, jwtKeyService, tokenRevocationService, refreshTokenService,
+                mock(LoginRateLimiter.class));
+        loginRequest = new LoginRequestDto(user.getUsername(), PASSWORD);
+        refreshToken = authService.authenticate(loginRequest, CLIENT_IP).get("refresh_token");
+    }
+
+    @Benchmark
+    public Map<String, String> authenticate() {
+        return authService.authenticate(loginRequest, CLIENT_IP);
+    }
+
+    @Benchmark
+    public Map<String, String> refresh() {
+        return authService.refresh(refreshToken);
+    }
+
+    @Benchmark
+    public boolean passwordMatches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookease.benchmark;
+
+import com.bookease.model.mappers.AppointmentMapper;
+import com.bookease.service.AppointmentService;
+import com.bookease.service.AvailabilityService;
+import com.bookease.service.BookingLockService;
+import com.bookease.service.UniquenessService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Contexto Spring reduzido para os benchmarks: repositórios JPA sobre um H2 em memória e apenas os serviços medidos,
+ * sem a carga inicial de usuários, o servidor web e a segurança HTTP.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.bookease.model.entity")
+@EnableJpaRepositories("com.bookease.repository")
+@Import({AppointmentService.class, AvailabilityService.class, BookingLockService.class, AppointmentMapper.class,
+        UniquenessService.class})
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        defaults.put("spring.datasource.username", "sa");
+        defaults.put("spring.datasource.password", "");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        defaults.put("spring.flyway.enabled", "false");
+        defaults.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        defaults.put("spring.devtools.restart.enabled", "false");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.org.springframework.security", "WARN");
+        defaults.putAll(properties);
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(defaults)
+                .run();
+    }
+}
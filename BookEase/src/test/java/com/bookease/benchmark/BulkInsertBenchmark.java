@@ -0,0 +1,145 @@
+package com.bookease.benchmark;
+
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.enums.ProcedureEnum;
+import com.bookease.repository.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gravação em massa de agendamentos sobre H2, com e sem lotes JDBC. {@code batchSize=1} reproduz a configuração
+ * anterior (um round-trip por insert, sem ordenação); {@code batchSize=50} usa a configuração atual. O resultado
+ * é por agendamento gravado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 200;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AppointmentRepository appointmentRepository;
+    private TransactionTemplate transactionTemplate;
+    private LocalDateTime firstSlot;
+    private ProcedureOffered procedureOffered;
+    private DoctorClinic doctorClinic;
+    private Patient patient;
+    private WorkSchedule workSchedule;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", batchSize,
+                "spring.jpa.properties.hibernate.order_inserts", batchSize > 1));
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Role doctorRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.DOCTOR).build());
+        Role clinicRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.CLINIC).build());
+        Role patientRole = context.getBean(RoleRepository.class).save(Role.builder().name(Role.Values.PATIENT).build());
+
+        Doctor doctor = context.getBean(DoctorRepository.class).save(Doctor.builder()
+                .user(user("doctor", doctorRole))
+                .crm("CRM12345")
+                .active(true)
+                .build());
+        Clinic clinic = context.getBean(ClinicRepository.class).save(Clinic.builder()
+                .user(user("clinic", clinicRole))
+                .cnpj("12345678000199")
+                .description("Clínica de benchmark")
+                .city("São Paulo")
+                .address("Rua Benchmark, 1")
+                .active(true)
+                .build());
+        patient = context.getBean(PatientRepository.class).save(Patient.builder()
+                .user(user("patient", patientRole))
+                .cpf("12345678901")
+                .active(true)
+                .build());
+        doctorClinic = context.getBean(DoctorClinicRepository.class).save(DoctorClinic.builder()
+                .doctor(doctor)
+                .clinic(clinic)
+                .active(true)
+                .build());
+        Procedure procedure = context.getBean(ProcedureRepository.class).save(Procedure.builder()
+                .procedureEnum(ProcedureEnum.LIMPEZA_DENTAL)
+                .active(true)
+                .build());
+        procedureOffered = context.getBean(ProcedureOfferedRepository.class).save(ProcedureOffered.builder()
+                .doctorClinic(doctorClinic)
+                .procedure(procedure)
+                .durationMinutes(30)
+                .price(100.0)
+                .active(true)
+                .build());
+        workSchedule = context.getBean(WorkScheduleRepository.class).save(WorkSchedule.builder()
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.SEGUNDA)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .active(true)
+                .build());
+
+        firstSlot = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int insertAppointments() {
+        List<Appointment> appointments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime dateTime = firstSlot.plusMinutes(30 * nextSlot.getAndIncrement());
+            appointments.add(Appointment.builder()
+                    .dateTime(dateTime)
+                    .endDateTime(dateTime.plusMinutes(30))
+                    .description("Importação")
+                    .status(AppointmentEnum.FINALIZADO)
+                    .procedureOffered(procedureOffered)
+                    .doctorClinic(doctorClinic)
+                    .patient(patient)
+                    .workSchedule(workSchedule)
+                    .active(true)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> appointmentRepository.saveAll(appointments).size());
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .password("hashedpassword")
+                .name("Benchmark " + username)
+                .email(username + "@example.com")
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.bookease.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Teste de carga HTTP contra uma instância em execução, para comparar a execução em platform threads e em virtual
+ * threads ({@code spring.threads.virtual.enabled}). Cada cenário roda com N clientes concorrentes em laço fechado
+ * por um tempo fixo, após um aquecimento, e imprime vazão, percentis de latência e erros.
+ * <p>
+ * Cenários: {@code login} (POST /auth/login) e {@code appointments} (GET /appointments/patient/{id}, com o token
+ * obtido em um login inicial). Configuração por propriedades de sistema {@code load.*}; veja o README.
+ */
+public final class HttpLoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final String patientId;
+
+    private HttpLoadTest(String baseUrl, String username, String password, String patientId) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.patientId = patientId;
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpLoadTest loadTest = new HttpLoadTest(
+                System.getProperty("load.base-url", "http://localhost:8080"),
+                required("load.username"),
+                required("load.password"),
+                System.getProperty("load.patient-id", ""));
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+        String mode = System.getProperty("load.mode", "desconhecido");
+
+        for (String scenario : System.getProperty("load.scenarios", "login,appointments").split(",")) {
+            Request request = loadTest.request(scenario.trim());
+            loadTest.run(request, concurrency, warmup);
+            Result result = loadTest.run(request, concurrency, duration);
+            System.out.println(result.format(mode, scenario.trim(), concurrency));
+        }
+    }
+
+    private Request request(String scenario) throws IOException, InterruptedException {
+        return switch (scenario) {
+            case "login" -> {
+                String body = OBJECT_MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+                yield () -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+            case "appointments" -> {
+                if (patientId.isBlank()) {
+                    throw new IllegalArgumentException("load.patient-id é obrigatório para o cenário appointments");
+                }
+                String accessToken = login();
+                yield () -> HttpRequest.newBuilder(URI.create(baseUrl + "/appointments/patient/" + patientId))
+                        .header("Authorization", "Bearer " + accessToken)
+                        .GET()
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + scenario);
+        };
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = OBJECT_MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login inicial falhou com status " + response.statusCode());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).get("access_token").asText();
+    }
+
+    private Result run(Request request, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> new Worker().run(client, request, deadline)));
+            }
+        }
+        List<Worker> workers = new ArrayList<>();
+        for (Future<Worker> future : futures) {
+            workers.add(future.get());
+        }
+        return Result.of(workers, duration);
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Propriedade obrigatória ausente: " + property);
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpRequest build();
+    }
+
+    /**
+     * Cliente em laço fechado: envia a próxima requisição assim que a anterior termina.
+     */
+    private static final class Worker {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        Worker run(HttpClient client, Request request, long deadline) {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+            return this;
+        }
+    }
+
+    private record Result(long requests, long errors, double throughput, long[] sortedLatencies) {
+
+        static Result of(List<Worker> workers, Duration duration) {
+            long[] all = workers.stream()
+                    .flatMapToLong(worker -> Arrays.stream(worker.latencies, 0, worker.count))
+                    .sorted()
+                    .toArray();
+            long errors = workers.stream().mapToLong(worker -> worker.errors).sum();
+            return new Result(all.length, errors, all.length / (duration.toMillis() / 1000.0), all);
+        }
+
+        String format(String mode, String scenario, int concurrency) {
+            return String.format("modo=%s cenario=%s clientes=%d requisicoes=%d erros=%d vazao=%.1f req/s "
+                            + "p50=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms",
+                    mode, scenario, concurrency, requests, errors, throughput,
+                    percentile(0.50), percentile(0.99), percentile(0.999), percentile(1.0));
+        }
+
+        private double percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(quantile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
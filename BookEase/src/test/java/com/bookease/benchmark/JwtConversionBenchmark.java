@@ -0,0 +1,77 @@
+package com.bookease.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.bookease.config.RotatingJwtDecoder;
+import com.bookease.config.SecurityConfig;
+import com.bookease.service.JwtKeyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de cada requisição autenticada: validação do token pelo {@link RotatingJwtDecoder} (incluindo a checagem
+ * de revogação) e conversão das claims em authorities pelo conversor configurado em {@link SecurityConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtConversionBenchmark {
+
+    private static final List<String> ROLES = List.of("ROLE_PATIENT", "ROLE_DOCTOR");
+
+    private JwtAuthenticationConverter converter;
+    private JwtDecoder decoder;
+    private Jwt jwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyService jwtKeyService = BenchmarkFixtures.jwtKeyService();
+        SecurityConfig securityConfig = new SecurityConfig(jwtKeyService, BenchmarkFixtures.tokenRevocationService(),
+                new SimpleMeterRegistry());
+        converter = securityConfig.jwtAuthenticationConverter();
+        decoder = securityConfig.jwtDecoder();
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(1, ChronoUnit.DAYS);
+        JwtKeyService.SigningKey signingKey = jwtKeyService.signingKey();
+        token = JWT.create()
+                .withKeyId(signingKey.keyId())
+                .withSubject("benchmark")
+                .withClaim("roles", ROLES)
+                .withIssuedAt(Date.from(now))
+                .withExpiresAt(Date.from(expiresAt))
+                .withIssuer("BookEase")
+                .sign(signingKey.algorithm());
+        jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .header("kid", signingKey.keyId())
+                .subject("benchmark")
+                .claim("roles", ROLES)
+                .issuedAt(now)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convertClaims() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvert() {
+        return converter.convert(decoder.decode(token));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookease.benchmark;
+
+import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.dto.response.DoctorResponseDto;
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.mappers.AppointmentMapper;
+import com.bookease.model.mappers.DoctorMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões entre entidades e DTOs feitas em toda listagem e criação; o foco é a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final AppointmentMapper appointmentMapper = new AppointmentMapper();
+    private final DoctorMapper doctorMapper = new DoctorMapper();
+
+    private Appointment appointment;
+    private AppointmentRequestDto appointmentRequest;
+    private Doctor doctor;
+    private DoctorClinic doctorClinic;
+    private Patient patient;
+    private ProcedureOffered procedureOffered;
+    private WorkSchedule workSchedule;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .userId(UUID.randomUUID())
+                .username("doctor")
+                .name("Doctor")
+                .email("doctor@example.com")
+                .phone("11999999999")
+                .active(true)
+                .build();
+        Set<Speciality> specialities = new HashSet<>();
+        for (String name : new String[]{"Ortodontia", "Endodontia", "Periodontia"}) {
+            specialities.add(Speciality.builder().id(UUID.randomUUID()).name(name).active(true).build());
+        }
+        doctor = Doctor.builder().id(UUID.randomUUID()).user(user).crm("CRM12345").specialities(specialities).active(true).build();
+        doctorClinic = DoctorClinic.builder().id(UUID.randomUUID()).doctor(doctor).active(true).build();
+        patient = Patient.builder().id(UUID.randomUUID()).active(true).build();
+        procedureOffered = ProcedureOffered.builder()
+                .id(UUID.randomUUID())
+                .doctorClinic(doctorClinic)
+                .durationMinutes(30)
+                .active(true)
+                .build();
+        workSchedule = WorkSchedule.builder().id(UUID.randomUUID()).doctorClinic(doctorClinic).active(true).build();
+
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withNano(0);
+        appointmentRequest = new AppointmentRequestDto(dateTime, "Consulta", AppointmentEnum.PENDENTE,
+                procedureOffered.getId().toString(), doctorClinic.getId().toString(), patient.getId().toString(),
+                workSchedule.getId().toString());
+        appointment = appointmentMapper.toEntity(appointmentRequest, procedureOffered, doctorClinic, patient, workSchedule);
+        appointment.setId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public AppointmentResponseDto appointmentToResponseDto() {
+        return appointmentMapper.toResponseDto(appointment);
+    }
+
+    @Benchmark
+    public Appointment appointmentToEntity() {
+        return appointmentMapper.toEntity(appointmentRequest, procedureOffered, doctorClinic, patient, workSchedule);
+    }
+
+    @Benchmark
+    public DoctorResponseDto doctorToResponseDto() {
+        return doctorMapper.toResponseDto(doctor);
+    }
+}
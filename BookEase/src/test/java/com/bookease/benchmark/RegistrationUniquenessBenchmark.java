@@ -0,0 +1,90 @@
+package com.bookease.benchmark;
+
+import com.bookease.model.dto.request.UserRequestDto;
+import com.bookease.model.enums.UniqueFieldEnum;
+import com.bookease.service.UniquenessService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validação de unicidade de um cadastro novo (username, email, telefone e CPF livres) com e sem o filtro de Bloom,
+ * sobre uma base H2 já populada com {@code existingUsers} usuários, cada um com um paciente e seu CPF. A carga é
+ * feita em lotes JDBC, sem passar pelo JPA, para que a base de um milhão de linhas fique pronta em tempo razoável.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationUniquenessBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int existingUsers;
+
+    @Param({"false", "true"})
+    public boolean bloomFilterEnabled;
+
+    private final AtomicLong nextUser = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UniquenessService uniquenessService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of(
+                "app.uniqueness.bloom-filter.enabled", String.valueOf(bloomFilterEnabled),
+                "app.uniqueness.bloom-filter.expected-insertions", String.valueOf(existingUsers * 4L)));
+        uniquenessService = context.getBean(UniquenessService.class);
+        seedPatients(context.getBean(JdbcTemplate.class));
+        uniquenessService.warmUpBloomFilter();
+    }
+
+    private void seedPatients(JdbcTemplate jdbcTemplate) {
+        for (int from = 0; from < existingUsers; from += SEED_BATCH_SIZE) {
+            int to = Math.min(existingUsers, from + SEED_BATCH_SIZE);
+            List<Object[]> users = new ArrayList<>(to - from);
+            List<Object[]> patients = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                UUID userId = UUID.randomUUID();
+                users.add(new Object[]{userId, "existing" + i, "hashedpassword", "Existing " + i,
+                        String.format("11%09d", i), "existing" + i + "@example.com"});
+                patients.add(new Object[]{UUID.randomUUID(), userId, cpf(i)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tb_user (user_id, username, password, name, phone, email, active, "
+                    + "token_revoked) VALUES (?, ?, ?, ?, ?, ?, TRUE, FALSE)", users);
+            jdbcTemplate.batchUpdate("INSERT INTO tb_patient (id, user_id, cpf, active) VALUES (?, ?, ?, TRUE)", patients);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserRequestDto validateNewRegistration() {
+        long id = nextUser.getAndIncrement();
+        UserRequestDto userDto = UserRequestDto.builder()
+                .username("new" + id)
+                .email("new" + id + "@example.com")
+                .phone(String.format("21%09d", id))
+                .build();
+        uniquenessService.validateRegistration(userDto, UniqueFieldEnum.CPF, cpf(existingUsers + id));
+        return userDto;
+    }
+
+    private static String cpf(long index) {
+        return String.format("%011d", index);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookease.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldProduceVersion7_WithRfcVariant() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void next_ShouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        // rajadas de outros testes podem esgotar o contador e adiantar o timestamp alguns milissegundos
+        long timestamp = UuidV7Generator.timestamp(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 50,
+                () -> "Timestamp " + timestamp + " fora do intervalo [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasing_WithinSameMillisecond() {
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(UuidV7Generator.next());
+        }
+
+        for (int i = 1; i < generated.size(); i++) {
+            UUID previous = generated.get(i - 1);
+            UUID current = generated.get(i);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0,
+                    "UUIDs devem crescer na ordem de geração: " + previous + " >= " + current);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.enums.ProcedureEnum;
+import com.bookease.service.AppointmentArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arquivamento e manutenção das partições contra o esquema real do Flyway em um PostgreSQL: a cópia para
+ * {@code tb_appointment_archive}, a remoção da origem, a reivindicação com {@code FOR UPDATE SKIP LOCKED} e as funções
+ * da migração V6 que movem linhas da partição padrão, anexam partições novas e removem as vazias. Roda sem a
+ * transação de teste para que cada lote faça commit. Requer Docker; sem ele o teste é ignorado.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentArchiveTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int HORIZON_DAYS = 365;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+    @Autowired
+    private DoctorClinicRepository doctorClinicRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProcedureOfferedRepository procedureOfferedRepository;
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private ClinicRepository clinicRepository;
+    @Autowired
+    private ProcedureRepository procedureRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private DoctorClinic doctorClinic;
+    private Patient patient;
+    private ProcedureOffered procedureOffered;
+    private WorkSchedule workSchedule;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tb_appointment");
+        jdbcTemplate.update("DELETE FROM tb_appointment_archive");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String suffix = String.valueOf(System.nanoTime());
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .user(user("doctor" + suffix, role(Role.Values.DOCTOR)))
+                .crm("CRM" + suffix)
+                .active(true)
+                .build());
+        Clinic clinic = clinicRepository.save(Clinic.builder()
+                .user(user("clinic" + suffix, role(Role.Values.CLINIC)))
+                .cnpj(suffix)
+                .description("Clínica de teste")
+                .city("São Paulo")
+                .address("Rua Teste, 123")
+                .active(true)
+                .build());
+        patient = patientRepository.save(Patient.builder()
+                .user(user("patient" + suffix, role(Role.Values.PATIENT)))
+                .cpf(suffix)
+                .active(true)
+                .build());
+        doctorClinic = doctorClinicRepository.save(DoctorClinic.builder().doctor(doctor).clinic(clinic).active(true).build());
+        Procedure procedure = procedureRepository.save(Procedure.builder()
+                .procedureEnum(ProcedureEnum.LIMPEZA_DENTAL)
+                .displayName(ProcedureEnum.LIMPEZA_DENTAL.getDisplayName())
+                .active(true)
+                .build());
+        procedureOffered = procedureOfferedRepository.save(ProcedureOffered.builder()
+                .doctorClinic(doctorClinic)
+                .procedure(procedure)
+                .durationMinutes(30)
+                .price(100.0)
+                .active(true)
+                .build());
+        workSchedule = workScheduleRepository.save(WorkSchedule.builder()
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.SEGUNDA)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .active(true)
+                .build());
+    }
+
+    @Test
+    void archiveBefore_ShouldMoveOnlyOldClosedAppointments_InBatches() {
+        LocalDateTime old = LocalDate.now().minusYears(2).withDayOfMonth(10).atTime(8, 0);
+        List<UUID> archivable = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            archivable.add(insert(old.plusHours(i), AppointmentEnum.FINALIZADO));
+        }
+        for (int i = 7; i < 10; i++) {
+            archivable.add(insert(old.plusHours(i), AppointmentEnum.CANCELADO));
+        }
+        UUID oldConfirmed = insert(old.plusDays(1), AppointmentEnum.CONFIRMADO);
+        UUID recentFinished = insert(LocalDate.now().minusDays(2).atTime(9, 0), AppointmentEnum.FINALIZADO);
+
+        int archived = service(4, false).archiveBefore(LocalDateTime.now().minusDays(HORIZON_DAYS));
+
+        assertEquals(archivable.size(), archived);
+        assertEquals(Set.copyOf(archivable), Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT id FROM tb_appointment_archive", UUID.class)), "Erro: Todos os encerrados antigos deveriam ir para o arquivo.");
+        assertEquals(Set.of(oldConfirmed, recentFinished), Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT id FROM tb_appointment", UUID.class)), "Erro: Só os encerrados antigos deveriam sair da tabela.");
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_appointment_archive WHERE id = ? "
+                        + "AND date_time = ? AND status = 'FINALIZADO' AND doctor_clinic_id = ? AND archived_at IS NOT NULL",
+                Integer.class, archivable.getFirst(), old, doctorClinic.getId()),
+                "Erro: A cópia deveria preservar os dados do agendamento.");
+    }
+
+    @Test
+    void claimArchivable_ShouldSkipRowsClaimedByAnotherTransaction() throws Exception {
+        LocalDateTime old = LocalDate.now().minusYears(2).withDayOfMonth(10).atTime(8, 0);
+        for (int i = 0; i < 6; i++) {
+            insert(old.plusHours(i), AppointmentEnum.FINALIZADO);
+        }
+        LocalDateTime before = LocalDateTime.now().minusDays(HORIZON_DAYS);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<UUID>> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                List<UUID> ids = appointmentRepository.claimArchivable(before, 4);
+                claimed.countDown();
+                await(release);
+                return ids;
+            }));
+            assertTrue(claimed.await(30, TimeUnit.SECONDS), "Erro: A primeira reivindicação não terminou.");
+
+            List<UUID> second = transactionTemplate.execute(status -> appointmentRepository.claimArchivable(before, 10));
+            release.countDown();
+            List<UUID> firstIds = first.get(30, TimeUnit.SECONDS);
+
+            assertEquals(4, firstIds.size());
+            assertEquals(2, second.size(), "Erro: As linhas bloqueadas deveriam ser puladas, não aguardadas.");
+            assertTrue(Collections.disjoint(firstIds, second), "Erro: Os lotes deveriam ser disjuntos.");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_ShouldMoveDefaultRowsIntoNewPartitions_AndDropPartitionsEmptiedByArchiving() {
+        YearMonth archivedMonth = YearMonth.now().minusMonths(30);
+        YearMonth keptMonth = YearMonth.now().minusMonths(28);
+        LocalDateTime archivedDay = archivedMonth.atDay(10).atTime(8, 0);
+        insert(archivedDay, AppointmentEnum.FINALIZADO);
+        insert(archivedDay.plusHours(1), AppointmentEnum.FINALIZADO);
+        insert(keptMonth.atDay(10).atTime(8, 0), AppointmentEnum.CONFIRMADO);
+        assertEquals(3, countRows("tb_appointment_default"), "Erro: Meses sem partição deveriam cair na partição padrão.");
+
+        assertTrue(createPartition(archivedMonth));
+        assertTrue(createPartition(keptMonth));
+        assertFalse(createPartition(keptMonth), "Erro: Uma partição existente não deveria ser recriada.");
+
+        assertEquals(0, countRows("tb_appointment_default"), "Erro: As linhas deveriam sair da partição padrão.");
+        assertEquals(2, countRows(partition(archivedMonth)));
+        assertEquals(1, countRows(partition(keptMonth)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint WHERE conname = ?",
+                Integer.class, "ex_" + partition(archivedMonth) + "_slot"));
+        assertThrows(DataAccessException.class, () -> insert(archivedDay.plusMinutes(15), AppointmentEnum.FINALIZADO),
+                "Erro: A partição criada deveria barrar horários sobrepostos.");
+
+        service(100, true).run();
+
+        assertEquals(2, countRows("tb_appointment_archive"));
+        assertFalse(exists(partition(archivedMonth)), "Erro: A partição esvaziada pelo arquivamento deveria ser removida.");
+        assertTrue(exists(partition(keptMonth)), "Erro: Partições com agendamentos não deveriam ser removidas.");
+        assertTrue(exists(partition(YearMonth.now().plusMonths(13))), "Erro: As partições futuras deveriam ser criadas.");
+        assertEquals(1, countRows("tb_appointment"));
+    }
+
+    private AppointmentArchiveService service(int batchSize, boolean partitionsEnabled) {
+        return new AppointmentArchiveService(appointmentRepository, appointmentArchiveRepository, transactionManager,
+                HORIZON_DAYS, batchSize, 10, partitionsEnabled, 13);
+    }
+
+    private UUID insert(LocalDateTime dateTime, AppointmentEnum status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tb_appointment (id, date_time, end_date_time, status, procedure_offered_id, "
+                        + "doctor_clinic_id, paciente_id, work_schedule_id, active, version, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, 0, ?)",
+                id, dateTime, dateTime.plusMinutes(30), status.name(), procedureOffered.getId(), doctorClinic.getId(),
+                patient.getId(), workSchedule.getId(), dateTime.minusDays(1));
+        return id;
+    }
+
+    private boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT bookease_create_appointment_partition(?)",
+                Boolean.class, month.atDay(1)));
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private static String partition(YearMonth month) {
+        return "tb_appointment_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Tempo esgotado aguardando a liberação");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Role role(Role.Values name) {
+        return roleRepository.findByName(name)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(name).build()));
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .password("hashedpassword")
+                .name("Test " + username)
+                .email(username + "@example.com")
+                .phone(username)
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,300 @@
+package com.bookease.repository;
+
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.AppointmentTransitionEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.enums.ProcedureEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class AppointmentRepositoryTest {
+
+    private static final Logger logger = Logger.getLogger(AppointmentRepositoryTest.class.getName());
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final int APPOINTMENTS = 40;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorClinicRepository doctorClinicRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private DoctorClinic doctorClinic;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Preparando dados para o teste...");
+        Role doctorRole = Role.builder().name(Role.Values.DOCTOR).build();
+        Role clinicRole = Role.builder().name(Role.Values.CLINIC).build();
+        Role patientRole = Role.builder().name(Role.Values.PATIENT).build();
+        entityManager.persist(doctorRole);
+        entityManager.persist(clinicRole);
+        entityManager.persist(patientRole);
+
+        Doctor doctor = Doctor.builder()
+                .user(user("doctoruser", doctorRole))
+                .crm("CRM12345")
+                .active(true)
+                .build();
+        entityManager.persist(doctor);
+
+        Clinic clinic = Clinic.builder()
+                .user(user("clinicuser", clinicRole))
+                .cnpj("12345678000199")
+                .description("Clínica de teste")
+                .city("São Paulo")
+                .address("Rua Teste, 123")
+                .active(true)
+                .build();
+        entityManager.persist(clinic);
+
+        Patient patient = Patient.builder()
+                .user(user("patientuser", patientRole))
+                .cpf("12345678901")
+                .active(true)
+                .build();
+        entityManager.persist(patient);
+
+        doctorClinic = DoctorClinic.builder().doctor(doctor).clinic(clinic).active(true).build();
+        entityManager.persist(doctorClinic);
+
+        Procedure procedure = Procedure.builder()
+                .procedureEnum(ProcedureEnum.LIMPEZA_DENTAL)
+                .displayName(ProcedureEnum.LIMPEZA_DENTAL.getDisplayName())
+                .active(true)
+                .build();
+        entityManager.persist(procedure);
+
+        ProcedureOffered procedureOffered = ProcedureOffered.builder()
+                .doctorClinic(doctorClinic)
+                .procedure(procedure)
+                .durationMinutes(30)
+                .price(100.0)
+                .active(true)
+                .build();
+        entityManager.persist(procedureOffered);
+
+        WorkSchedule workSchedule = WorkSchedule.builder()
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.DOMINGO)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .active(true)
+                .build();
+        entityManager.persist(workSchedule);
+
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            LocalDateTime start = dateTime.plusMinutes(30L * i);
+            entityManager.persist(Appointment.builder()
+                    .dateTime(start)
+                    .endDateTime(start.plusMinutes(30))
+                    .description("Consulta " + i)
+                    .status(AppointmentEnum.PENDENTE)
+                    .procedureOffered(procedureOffered)
+                    .doctorClinic(doctorClinic)
+                    .patient(patient)
+                    .workSchedule(workSchedule)
+                    .active(true)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        logger.info("Dados preparados: " + APPOINTMENTS + " agendamentos para DoctorClinic ID = " + doctorClinic.getId());
+    }
+
+    @Test
+    void findPageByDoctorClinicId_executesSingleStatementRegardlessOfPageSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int pageSize : new int[]{10, APPOINTMENTS}) {
+            logger.info("Testando listagem de " + pageSize + " agendamentos...");
+            statistics.clear();
+            List<AppointmentResponseDto> page = appointmentRepository.findPageByDoctorClinicId(
+                    doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, pageSize));
+
+            assertEquals(pageSize, page.size(), "Erro: A página deveria conter " + pageSize + " agendamentos.");
+            assertTrue(page.stream().allMatch(a -> doctorClinic.getId().equals(a.doctorClinicId())),
+                    "Erro: Todos os agendamentos deveriam pertencer ao DoctorClinic consultado.");
+            assertEquals(1, statistics.getPrepareStatementCount(),
+                    "Erro: A listagem deveria executar uma única consulta, independente do tamanho da página.");
+            assertEquals(0, statistics.getEntityLoadCount(),
+                    "Erro: A projeção não deveria carregar entidades associadas.");
+        }
+        logger.info("Sucesso: Cada página foi lida com uma única consulta.");
+    }
+
+    @Test
+    void findResponseById_returnsProjectionWithoutLoadingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID appointmentId = appointmentRepository.findPageByDoctorClinicId(
+                doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, 1)).getFirst().id();
+        statistics.clear();
+
+        AppointmentResponseDto appointment = appointmentRepository.findResponseById(appointmentId).orElseThrow();
+
+        assertEquals(appointmentId, appointment.id(), "Erro: O ID do agendamento retornado não corresponde ao esperado.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Erro: A busca por ID deveria executar uma única consulta.");
+        assertEquals(0, statistics.getEntityLoadCount(), "Erro: A projeção não deveria carregar entidades.");
+        logger.info("Sucesso: Agendamento " + appointmentId + " lido por projeção.");
+    }
+
+    @Test
+    void transition_appliesOnlyFromSourceStatus_andIncrementsVersion() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UUID appointmentId = appointmentRepository.findPageByDoctorClinicId(
+                doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, 1)).getFirst().id();
+        statistics.clear();
+
+        int confirmed = transition(appointmentId, AppointmentTransitionEnum.CONFIRM);
+        int confirmedAgain = transition(appointmentId, AppointmentTransitionEnum.CONFIRM);
+        int cancelled = transition(appointmentId, AppointmentTransitionEnum.CANCEL);
+        int finished = transition(appointmentId, AppointmentTransitionEnum.FINISH);
+
+        assertEquals(List.of(1, 0, 1, 0), List.of(confirmed, confirmedAgain, cancelled, finished),
+                "Erro: Cada transição só deveria ser aplicada a partir de um status de origem.");
+        assertEquals(4, statistics.getPrepareStatementCount(), "Erro: Cada transição deveria ser um único UPDATE.");
+        Appointment appointment = entityManager.find(Appointment.class, appointmentId);
+        assertEquals(AppointmentEnum.CANCELADO, appointment.getStatus(), "Erro: O agendamento deveria estar cancelado.");
+        assertEquals(2, appointment.getVersion(), "Erro: A versão deveria ser incrementada a cada transição aplicada.");
+        logger.info("Sucesso: Transições condicionais aplicadas.");
+    }
+
+    @Test
+    void transitionAll_confirmsClinicDayInSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<AppointmentResponseDto> appointments = appointmentRepository.findPageByDoctorClinicId(
+                doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, APPOINTMENTS));
+        LocalDate day = appointments.getFirst().dateTime().toLocalDate();
+        long sameDay = appointments.stream().filter(a -> a.dateTime().toLocalDate().equals(day)).count();
+        List<UUID> doctorClinicIds = doctorClinicRepository.findIdsByClinic(doctorClinic.getClinic().getId());
+        statistics.clear();
+
+        int updated = appointmentRepository.transitionAll(doctorClinicIds, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                AppointmentTransitionEnum.CONFIRM.getSources(), AppointmentTransitionEnum.CONFIRM.getTarget());
+
+        assertEquals(sameDay, updated, "Erro: Todos os agendamentos pendentes do dia deveriam ser confirmados.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Erro: O lote deveria ser um único UPDATE.");
+        assertEquals(APPOINTMENTS - sameDay, appointmentRepository.findByStatusAndDateTimeGreaterThanEqual(AppointmentEnum.PENDENTE, FIRST_PAGE).size(),
+                "Erro: Agendamentos de outros dias não deveriam ser alterados.");
+        logger.info("Sucesso: " + updated + " agendamentos confirmados em lote.");
+    }
+
+    @Test
+    void claimStalePending_returnsBoundedBatch_andCloseCancelsIt() {
+        LocalDateTime afterLastAppointment = LocalDateTime.now().plusDays(3);
+
+        List<UUID> claimed = appointmentRepository.claimStalePending(afterLastAppointment, LocalDateTime.now().minusHours(1), 10);
+        int closed = appointmentRepository.close(claimed, AppointmentEnum.PENDENTE, AppointmentEnum.CANCELADO);
+        entityManager.clear();
+        List<UUID> next = appointmentRepository.claimStalePending(afterLastAppointment, LocalDateTime.now().minusHours(1), APPOINTMENTS);
+
+        assertEquals(10, claimed.size(), "Erro: O lote deveria respeitar o limite.");
+        assertEquals(10, closed, "Erro: Todos os agendamentos reivindicados deveriam ser cancelados.");
+        assertEquals(APPOINTMENTS - 10, next.size(), "Erro: Agendamentos já encerrados não deveriam ser reivindicados de novo.");
+        assertTrue(next.stream().noneMatch(claimed::contains), "Erro: Os lotes deveriam ser disjuntos.");
+        Appointment expired = entityManager.find(Appointment.class, claimed.getFirst());
+        assertEquals(AppointmentEnum.CANCELADO, expired.getStatus(), "Erro: A reserva expirada deveria ser cancelada.");
+        assertTrue(expired.isActive(), "Erro: Encerrar uma reserva não deveria marcá-la como excluída.");
+        logger.info("Sucesso: Reservas pendentes expiradas em lote.");
+    }
+
+    @Test
+    void claimStalePending_ignoresRecentFutureHolds() {
+        List<UUID> claimed = appointmentRepository.claimStalePending(LocalDateTime.now(), LocalDateTime.now().minusHours(1), APPOINTMENTS);
+
+        assertTrue(claimed.isEmpty(), "Erro: Reservas recentes de horários futuros não deveriam expirar.");
+    }
+
+    @Test
+    void claimEndedConfirmed_onlyClaimsConfirmedAppointmentsThatEnded() {
+        List<AppointmentResponseDto> appointments = appointmentRepository.findPageByDoctorClinicId(
+                doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, 2));
+        transition(appointments.get(0).id(), AppointmentTransitionEnum.CONFIRM);
+        transition(appointments.get(1).id(), AppointmentTransitionEnum.CONFIRM);
+        LocalDateTime afterSecondEnds = appointments.get(1).dateTime().plusMinutes(30);
+
+        List<UUID> claimed = appointmentRepository.claimEndedConfirmed(afterSecondEnds, APPOINTMENTS);
+        List<UUID> claimedBeforeSecondEnds = appointmentRepository.claimEndedConfirmed(afterSecondEnds.minusMinutes(1), APPOINTMENTS);
+
+        assertEquals(Set.of(appointments.get(0).id(), appointments.get(1).id()), Set.copyOf(claimed),
+                "Erro: Apenas os confirmados encerrados deveriam ser reivindicados.");
+        assertEquals(List.of(appointments.get(0).id()), claimedBeforeSecondEnds,
+                "Erro: Um agendamento em andamento não deveria ser finalizado.");
+    }
+
+    @Test
+    void archive_movesOnlyClosedAppointmentsBeforeHorizon() {
+        List<AppointmentResponseDto> appointments = appointmentRepository.findPageByDoctorClinicId(
+                doctorClinic.getId(), FIRST_PAGE, FIRST_ID, PageRequest.of(0, 3));
+        transition(appointments.get(0).id(), AppointmentTransitionEnum.CANCEL);
+        transition(appointments.get(1).id(), AppointmentTransitionEnum.CANCEL);
+        transition(appointments.get(2).id(), AppointmentTransitionEnum.CANCEL);
+        LocalDateTime before = appointments.get(2).dateTime();
+        LocalDateTime archivedAt = LocalDateTime.now();
+
+        List<UUID> claimed = appointmentRepository.claimArchivable(before, 10);
+        int copied = appointmentArchiveRepository.copyFromAppointments(claimed, before, archivedAt);
+        int deleted = appointmentRepository.deleteArchived(claimed, before);
+        entityManager.clear();
+
+        assertEquals(Set.of(appointments.get(0).id(), appointments.get(1).id()), Set.copyOf(claimed),
+                "Erro: Apenas os cancelados anteriores ao horizonte deveriam ser reivindicados.");
+        assertEquals(2, copied, "Erro: Os reivindicados deveriam ser copiados para o arquivo.");
+        assertEquals(2, deleted, "Erro: Os arquivados deveriam sair da tabela principal.");
+        assertEquals(APPOINTMENTS - 2, appointmentRepository.count(), "Erro: Os demais agendamentos deveriam permanecer.");
+        AppointmentArchive archived = appointmentArchiveRepository.findById(appointments.get(0).id()).orElseThrow();
+        assertEquals(AppointmentEnum.CANCELADO, archived.getStatus(), "Erro: O arquivo deveria manter o status.");
+        assertEquals(appointments.get(0).dateTime(), archived.getDateTime(), "Erro: O arquivo deveria manter a data.");
+        assertEquals(doctorClinic.getId(), archived.getDoctorClinicId(), "Erro: O arquivo deveria manter as referências.");
+        logger.info("Sucesso: Agendamentos encerrados arquivados.");
+    }
+
+    private int transition(UUID appointmentId, AppointmentTransitionEnum transition) {
+        return appointmentRepository.transition(appointmentId, transition.getSources(), transition.getTarget());
+    }
+
+    private User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .password("hashedpassword")
+                .name("Test " + username)
+                .email(username + "@example.com")
+                .phone("9" + Math.abs(username.hashCode()))
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,259 @@
+package com.bookease.repository;
+
+import com.bookease.exception.AppointmentConflictException;
+import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.entity.*;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.enums.ProcedureEnum;
+import com.bookease.model.mappers.AppointmentMapper;
+import com.bookease.service.AppointmentService;
+import com.bookease.service.AvailabilityService;
+import com.bookease.service.BookingLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reservas concorrentes contra o esquema real do Flyway em um PostgreSQL: a verificação de sobreposição, a restrição
+ * de exclusão e a liberação do lock de reserva no fim da transação precisam garantir exatamente um vencedor por
+ * horário, inclusive entre instâncias que não compartilham o lock de reserva. Roda sem a transação de teste para que
+ * cada reserva tenha a sua. Requer Docker; sem ele o teste é ignorado.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcurrentBookingTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int SLOTS = 2;
+    // milhares de tentativas no total, mil delas disputando o mesmo horário
+    private static final int ATTEMPTS_PER_SLOT = 1000;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private DoctorClinicRepository doctorClinicRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProcedureOfferedRepository procedureOfferedRepository;
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private ClinicRepository clinicRepository;
+    @Autowired
+    private ProcedureRepository procedureRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentService appointmentService;
+    private AppointmentService otherInstance;
+    private TransactionTemplate transactionTemplate;
+    private DoctorClinic doctorClinic;
+    private Patient patient;
+    private ProcedureOffered procedureOffered;
+    private WorkSchedule workSchedule;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tb_appointment");
+        appointmentService = appointmentService();
+        otherInstance = appointmentService();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String suffix = String.valueOf(System.nanoTime());
+        // o contêiner é compartilhado entre os testes e tb_role.name é única: os papéis são criados uma vez só
+        Role doctorRole = role(Role.Values.DOCTOR);
+        Role clinicRole = role(Role.Values.CLINIC);
+        Role patientRole = role(Role.Values.PATIENT);
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .user(user("doctor" + suffix, doctorRole))
+                .crm("CRM" + suffix)
+                .active(true)
+                .build());
+        Clinic clinic = clinicRepository.save(Clinic.builder()
+                .user(user("clinic" + suffix, clinicRole))
+                .cnpj(suffix)
+                .description("Clínica de teste")
+                .city("São Paulo")
+                .address("Rua Teste, 123")
+                .active(true)
+                .build());
+        patient = patientRepository.save(Patient.builder()
+                .user(user("patient" + suffix, patientRole))
+                .cpf(suffix)
+                .active(true)
+                .build());
+        doctorClinic = doctorClinicRepository.save(DoctorClinic.builder().doctor(doctor).clinic(clinic).active(true).build());
+        Procedure procedure = procedureRepository.save(Procedure.builder()
+                .procedureEnum(ProcedureEnum.LIMPEZA_DENTAL)
+                .displayName(ProcedureEnum.LIMPEZA_DENTAL.getDisplayName())
+                .active(true)
+                .build());
+        procedureOffered = procedureOfferedRepository.save(ProcedureOffered.builder()
+                .doctorClinic(doctorClinic)
+                .procedure(procedure)
+                .durationMinutes(30)
+                .price(100.0)
+                .active(true)
+                .build());
+        workSchedule = workScheduleRepository.save(WorkSchedule.builder()
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.SEGUNDA)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .active(true)
+                .build());
+    }
+
+    @Test
+    void createAppointment_ShouldAllowExactlyOneWinnerPerSlot() throws Exception {
+        assertOneWinnerPerSlot(List.of(appointmentService));
+    }
+
+    @Test
+    void createAppointment_ShouldAllowExactlyOneWinnerPerSlot_AcrossInstances() throws Exception {
+        // cada instância tem o seu BookingLockService: só a restrição de exclusão da partição separa as reservas
+        assertOneWinnerPerSlot(List.of(appointmentService, otherInstance));
+    }
+
+    @Test
+    void createAppointment_ShouldRejectBooking_ThatCrossesMonthBoundary() {
+        LocalDateTime lastSlotOfMonth = YearMonth.now().plusMonths(1).atEndOfMonth().atTime(23, 45);
+
+        AppointmentConflictException exception = assertThrows(AppointmentConflictException.class,
+                () -> book(appointmentService, request(lastSlotOfMonth)));
+
+        assertEquals("O agendamento não pode atravessar a virada do mês", exception.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_appointment", Integer.class));
+    }
+
+    private void assertOneWinnerPerSlot(List<AppointmentService> instances) throws Exception {
+        // horários fixos no meio do dia seguinte: nenhum atravessa a virada do mês
+        LocalDateTime firstSlot = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<AppointmentRequestDto> requests = new ArrayList<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SLOT; attempt++) {
+                // início na hora cheia ou 15 minutos depois: quaisquer duas reservas da mesma hora se sobrepõem
+                requests.add(request(firstSlot.plusHours(slot).plusMinutes(15L * (attempt % 2))));
+            }
+        }
+        Collections.shuffle(requests);
+
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                AppointmentService instance = instances.get(i % instances.size());
+                AppointmentRequestDto requestDto = requests.get(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        book(instance, requestDto);
+                        successes.incrementAndGet();
+                    } catch (AppointmentConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(SLOTS, successes.get(), "Deveria haver exatamente um vencedor por horário");
+        assertEquals(requests.size() - SLOTS, conflicts.get());
+        assertEquals(SLOTS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_appointment WHERE active " +
+                "AND status <> 'CANCELADO'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_appointment a JOIN tb_appointment b " +
+                "ON a.doctor_clinic_id = b.doctor_clinic_id AND a.id < b.id " +
+                "AND a.date_time < b.end_date_time AND b.date_time < a.end_date_time", Integer.class),
+                "Nenhum par de agendamentos gravados deveria se sobrepor");
+
+        // um lock não liberado no fim da transação faria esta reserva esgotar o tempo de espera
+        assertDoesNotThrow(() -> book(instances.getFirst(), request(firstSlot.plusHours(SLOTS))));
+    }
+
+    private AppointmentService appointmentService() {
+        return new AppointmentService(appointmentRepository, doctorClinicRepository, patientRepository,
+                procedureOfferedRepository, workScheduleRepository, new AppointmentMapper(),
+                new AvailabilityService(appointmentRepository, workScheduleRepository, procedureOfferedRepository, 60),
+                new BookingLockService(64, 2000));
+    }
+
+    private void book(AppointmentService instance, AppointmentRequestDto requestDto) {
+        transactionTemplate.executeWithoutResult(status -> instance.createAppointment(requestDto));
+    }
+
+    private AppointmentRequestDto request(LocalDateTime dateTime) {
+        return new AppointmentRequestDto(
+                dateTime,
+                "Consulta",
+                AppointmentEnum.PENDENTE,
+                procedureOffered.getId().toString(),
+                doctorClinic.getId().toString(),
+                patient.getId().toString(),
+                workSchedule.getId().toString());
+    }
+
+    private Role role(Role.Values name) {
+        return roleRepository.findByName(name)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(name).build()));
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .password("hashedpassword")
+                .name("Test " + username)
+                .email(username + "@example.com")
+                .phone(username)
+                .active(true)
+                .tokenRevoked(false)
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -16,7 +16,7 @@ import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 class PatientRepositoryTest {
 
     private static final Logger logger = Logger.getLogger(PatientRepositoryTest.class.getName());
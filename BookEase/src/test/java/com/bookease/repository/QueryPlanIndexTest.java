@@ -0,0 +1,294 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.DoctorClinic;
+import com.bookease.model.entity.Patient;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aplica as migrações do Flyway em um PostgreSQL real, valida o mapeamento das entidades contra o esquema e
+ * roda {@code EXPLAIN} no SQL que cada consulta quente dos repositórios realmente envia ao banco: o método do
+ * repositório é chamado com o {@link DataSource} instrumentado por {@link SqlCapture}, que guarda o SQL gerado pelo
+ * Hibernate e os parâmetros vinculados, e cada comando capturado é explicado com os mesmos valores. Com
+ * {@code enable_seqscan} desligado o planejador só escolhe varredura sequencial quando nenhum índice atende ao
+ * predicado, então uma "Seq Scan" na tabela filtrada indica índice ausente. Requer Docker; sem ele o teste é
+ * ignorado.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIndexTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final UUID ID = UUID.randomUUID();
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 8, 0);
+    private static final LocalDateTime END = START.plusDays(7);
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private ProcedureOfferedRepository procedureOfferedRepository;
+    @Autowired
+    private DoctorClinicRepository doctorClinicRepository;
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+    @Autowired
+    private ClinicRepository clinicRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void query_ShouldNotScanTableSequentially(String query, String table, Consumer<QueryPlanIndexTest> call) {
+        List<SqlCapture.Statement> statements = SqlCapture.record(() -> call.accept(this)).stream()
+                .filter(statement -> statement.sql().contains(table))
+                .toList();
+
+        assertFalse(statements.isEmpty(), () -> query + " deveria consultar " + table);
+        for (SqlCapture.Statement statement : statements) {
+            List<String> plan = explain(statement);
+            assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan on " + table)),
+                    () -> query + " deveria usar um índice em " + table + ":\n" + statement.sql() + "\n"
+                            + String.join("\n", plan));
+        }
+    }
+
+    @Test
+    void cursorQuery_ShouldSkipPartitionsBeforeCursor() {
+        YearMonth currentMonth = YearMonth.now();
+        LocalDateTime nextMonth = currentMonth.plusMonths(1).atDay(1).atStartOfDay();
+
+        List<SqlCapture.Statement> statements = SqlCapture.record(() ->
+                appointmentRepository.findPageByPatientId(ID, nextMonth, ID, PAGE));
+        List<String> plan = explain(statements.getFirst());
+
+        String currentPartition = "tb_appointment_" + currentMonth.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertFalse(plan.stream().anyMatch(line -> line.contains(currentPartition)),
+                () -> "A partição " + currentPartition + " deveria ser descartada:\n" + String.join("\n", plan));
+        assertTrue(plan.stream().anyMatch(line -> line.contains("tb_appointment_" + YearMonth.from(nextMonth)
+                        .format(DateTimeFormatter.ofPattern("yyyy_MM")))),
+                () -> "A partição do mês do cursor deveria ser lida:\n" + String.join("\n", plan));
+    }
+
+    @Test
+    void archiveDelete_ShouldSkipPartitionsAfterHorizon() {
+        YearMonth currentMonth = YearMonth.now();
+
+        List<SqlCapture.Statement> statements = SqlCapture.record(() ->
+                appointmentRepository.deleteArchived(List.of(ID), currentMonth.atDay(1).atStartOfDay()));
+        List<String> plan = explain(statements.getFirst());
+
+        String currentPartition = "tb_appointment_" + currentMonth.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertFalse(plan.stream().anyMatch(line -> line.contains(currentPartition)),
+                () -> "O limite do arquivamento deveria descartar a partição " + currentPartition + ":\n"
+                        + String.join("\n", plan));
+    }
+
+    private List<String> explain(SqlCapture.Statement statement) {
+        return jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), String.class,
+                statement.parameters().values().toArray());
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("AppointmentRepository.findByDoctorClinicAndDateRange", "tb_appointment",
+                        test -> test.appointmentRepository.findByDoctorClinicAndDateRange(
+                                DoctorClinic.builder().id(ID).build(), START, END)),
+                query("AppointmentRepository.findBookedSlots", "tb_appointment",
+                        test -> test.appointmentRepository.findBookedSlots(ID, START)),
+                query("AppointmentRepository.existsOverlapping", "tb_appointment",
+                        test -> test.appointmentRepository.existsOverlapping(ID, START, END, ID)),
+                query("AppointmentRepository.findByDateTimeBetween", "tb_appointment",
+                        test -> test.appointmentRepository.findByDateTimeBetween(START, END)),
+                query("AppointmentRepository.findByStatusAndDateTimeGreaterThanEqual", "tb_appointment",
+                        test -> test.appointmentRepository.findByStatusAndDateTimeGreaterThanEqual(AppointmentEnum.PENDENTE, START)),
+                query("AppointmentRepository.findPageByStatus", "tb_appointment",
+                        test -> test.appointmentRepository.findPageByStatus(AppointmentEnum.PENDENTE, START, ID, PAGE)),
+                query("AppointmentRepository.findPageByPatientId", "tb_appointment",
+                        test -> test.appointmentRepository.findPageByPatientId(ID, START, ID, PAGE)),
+                query("AppointmentRepository.findByPatientAndActiveTrue", "tb_appointment",
+                        test -> test.appointmentRepository.findByPatientAndActiveTrue(Patient.builder().id(ID).build())),
+                query("AppointmentRepository.claimStalePending", "tb_appointment",
+                        test -> test.appointmentRepository.claimStalePending(START, START, 500)),
+                query("AppointmentRepository.claimEndedConfirmed", "tb_appointment",
+                        test -> test.appointmentRepository.claimEndedConfirmed(START, 500)),
+                query("AppointmentRepository.claimArchivable", "tb_appointment",
+                        test -> test.appointmentRepository.claimArchivable(START, 1000)),
+                // só pelo id: sem date_time não há descarte de partições, mas cada uma deve ser consultada pelo índice
+                // da chave primária (id, date_time)
+                query("AppointmentRepository.findById", "tb_appointment",
+                        test -> test.appointmentRepository.findById(ID)),
+                query("AppointmentRepository.findResponseById", "tb_appointment",
+                        test -> test.appointmentRepository.findResponseById(ID)),
+                query("AppointmentRepository.transition", "tb_appointment",
+                        test -> test.appointmentRepository.transition(ID, List.of(AppointmentEnum.PENDENTE),
+                                AppointmentEnum.CONFIRMADO)),
+                query("AppointmentRepository.deleteArchived", "tb_appointment",
+                        test -> test.appointmentRepository.deleteArchived(List.of(ID), START)),
+                query("ProcedureOfferedRepository.countByDoctorClinicIdAndActiveTrue", "tb_procedure_offered",
+                        test -> test.procedureOfferedRepository.countByDoctorClinicIdAndActiveTrue(ID)),
+                query("ProcedureOfferedRepository.findActiveByDoctorClinicIdAndPriceBetween", "tb_procedure_offered",
+                        test -> test.procedureOfferedRepository.findActiveByDoctorClinicIdAndPriceBetween(ID, 50.0, 300.0)),
+                query("ProcedureOfferedRepository.findByDurationMinutesAndPriceBetweenAndActiveTrue", "tb_procedure_offered",
+                        test -> test.procedureOfferedRepository.findByDurationMinutesAndPriceBetweenAndActiveTrue(30, 50.0, 300.0)),
+                query("ProcedureOfferedRepository.findByPriceBetween", "tb_procedure_offered",
+                        test -> test.procedureOfferedRepository.findByPriceBetween(50.0, 300.0)),
+                query("ProcedureOfferedRepository.findActiveOfferingsByProcedureAndClinicIds", "tb_procedure_offered",
+                        test -> test.procedureOfferedRepository.findActiveOfferingsByProcedureAndClinicIds(
+                                ID, List.of(ID, UUID.randomUUID()))),
+                query("DoctorClinicRepository.findDoctorClinicsByDoctor", "tb_doctor_clinic",
+                        test -> test.doctorClinicRepository.findDoctorClinicsByDoctor(ID)),
+                query("DoctorClinicRepository.findDoctorClinicsByClinic", "tb_doctor_clinic",
+                        test -> test.doctorClinicRepository.findDoctorClinicsByClinic(ID)),
+                query("WorkScheduleRepository.findByDoctorClinicIdAndDayOfWeek", "tb_work_schedule",
+                        test -> test.workScheduleRepository.findByDoctorClinicIdAndDayOfWeek(ID, DayOfWeekEnum.SEGUNDA)),
+                query("ClinicRepository.findAllByCity", "tb_clinic",
+                        test -> test.clinicRepository.findAllByCity("São Paulo")),
+                query("DoctorRepository.findAllBySpeciality", "tb_doctor_speciality",
+                        test -> test.doctorRepository.findAllBySpeciality("Ortodontia"))
+        );
+    }
+
+    private static Arguments query(String name, String table, Consumer<QueryPlanIndexTest> call) {
+        return Arguments.of(name, table, call);
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfiguration {
+
+        @Bean
+        static BeanPostProcessor sqlCaptureDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? SqlCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Instrumenta o {@link DataSource} para guardar, enquanto {@link #record} executa, o SQL de cada
+     * {@link PreparedStatement} criado e os valores vinculados a ele. Fora da gravação as chamadas apenas são
+     * repassadas.
+     */
+    static final class SqlCapture {
+
+        private static final List<Statement> STATEMENTS = new CopyOnWriteArrayList<>();
+        private static volatile boolean recording;
+
+        private SqlCapture() {
+        }
+
+        static List<Statement> record(Runnable action) {
+            STATEMENTS.clear();
+            recording = true;
+            try {
+                action.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(STATEMENTS);
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                if (recording && result instanceof PreparedStatement preparedStatement
+                        && method.getName().equals("prepareStatement")) {
+                    Statement statement = new Statement((String) args[0], new TreeMap<>());
+                    STATEMENTS.add(statement);
+                    return wrap(preparedStatement, statement.parameters());
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement preparedStatement, SortedMap<Integer, Object> parameters) {
+            return proxy(PreparedStatement.class, preparedStatement, (method, args, result) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer index) {
+                    parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+                } else if (method.getName().equals("clearParameters")) {
+                    parameters.clear();
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> {
+                if (method.getName().equals("equals") && args.length == 1) {
+                    return proxy == args[0];
+                }
+                try {
+                    return handler.handle(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+        }
+
+        private interface ResultHandler {
+            Object handle(Method method, Object[] args, Object result) throws Throwable;
+        }
+
+        record Statement(String sql, SortedMap<Integer, Object> parameters) {
+        }
+    }
+}
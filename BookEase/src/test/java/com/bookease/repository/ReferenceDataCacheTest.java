@@ -0,0 +1,104 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.Role;
+import com.bookease.model.entity.Speciality;
+import com.bookease.service.ReferenceDataCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda sem a transação de teste: o cache de segundo nível só é populado após o commit de cada operação.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    private static final Logger logger = Logger.getLogger(ReferenceDataCacheTest.class.getName());
+
+    @Autowired
+    private SpecialityRepository specialityRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Preparando dados de referência para o teste...");
+        specialityRepository.save(Speciality.builder().name("Ortodontia").active(true).build());
+        roleRepository.save(Role.builder().name(Role.Values.PATIENT).build());
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specialityRepository.deleteAll();
+        roleRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findByNameInIgnoreCase_secondLookupIsServedFromCache() {
+        logger.info("Testando leitura repetida de especialidades...");
+        List<Speciality> first = specialityRepository.findByNameInIgnoreCase(List.of("ORTODONTIA"));
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        List<Speciality> second = specialityRepository.findByNameInIgnoreCase(List.of("ORTODONTIA"));
+
+        assertEquals(1, first.size(), "Erro: A especialidade deveria ser encontrada.");
+        assertEquals(first.getFirst().getId(), second.getFirst().getId(), "Erro: As duas leituras deveriam retornar a mesma especialidade.");
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount(),
+                "Erro: A segunda leitura não deveria acessar o banco.");
+        assertEquals(1, statistics.getQueryCacheHitCount(), "Erro: A segunda leitura deveria vir do cache de consultas.");
+        logger.info("Sucesso: Segunda leitura servida pelo cache.");
+    }
+
+    @Test
+    void findByName_roleLookupIsServedFromCache() {
+        logger.info("Testando leitura repetida de papéis...");
+        Role first = roleRepository.findByName(Role.Values.PATIENT).orElseThrow();
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        Role second = roleRepository.findByName(Role.Values.PATIENT).orElseThrow();
+
+        assertEquals(first.getRoleId(), second.getRoleId(), "Erro: As duas leituras deveriam retornar o mesmo papel.");
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount(),
+                "Erro: A segunda leitura não deveria acessar o banco.");
+        logger.info("Sucesso: Papel lido do cache.");
+    }
+
+    @Test
+    void evictSpecialities_forcesNextLookupToHitDatabase() {
+        logger.info("Testando invalidação explícita do cache de especialidades...");
+        specialityRepository.findByNameInIgnoreCase(List.of("ORTODONTIA"));
+
+        new ReferenceDataCacheService(entityManagerFactory).evictSpecialities();
+        long statementsBeforeLookup = statistics.getPrepareStatementCount();
+        specialityRepository.findByNameInIgnoreCase(List.of("ORTODONTIA"));
+
+        assertEquals(statementsBeforeLookup + 1, statistics.getPrepareStatementCount(),
+                "Erro: Após a invalidação a leitura deveria consultar o banco novamente.");
+        assertEquals(0, statistics.getQueryCacheHitCount(), "Erro: Não deveria haver acerto no cache após a invalidação.");
+        logger.info("Sucesso: Cache de especialidades invalidado.");
+    }
+}
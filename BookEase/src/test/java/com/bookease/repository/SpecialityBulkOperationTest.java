@@ -0,0 +1,141 @@
+package com.bookease.repository;
+
+import com.bookease.model.entity.Doctor;
+import com.bookease.model.entity.Speciality;
+import com.bookease.model.entity.User;
+import com.bookease.model.mappers.SpecialityMapper;
+import com.bookease.service.ReferenceDataCacheService;
+import com.bookease.service.SearchIndexService;
+import com.bookease.service.SpecialityResolver;
+import com.bookease.service.SpecialityService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Remoção e transferência de especialidades devem emitir o mesmo número de comandos SQL qualquer que seja o número
+ * de médicos associados, inclusive para manter o índice de busca atualizado.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({SpecialityService.class, SpecialityResolver.class, SpecialityMapper.class, ReferenceDataCacheService.class,
+        SearchIndexService.class})
+class SpecialityBulkOperationTest {
+
+    @Autowired
+    private SpecialityService specialityService;
+
+    @Autowired
+    private SpecialityRepository specialityRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private int nextDoctor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void deleteById_ShouldIssueSameStatementCount_ForFewAndManyDoctors() {
+        Speciality few = specialityWithDoctors("Ortodontia", 2);
+        Speciality many = specialityWithDoctors("Endodontia", 40);
+
+        long fewStatements = statementsFor(() -> specialityService.deleteById(few.getId()));
+        long manyStatements = statementsFor(() -> specialityService.deleteById(many.getId()));
+
+        assertEquals(fewStatements, manyStatements, "Erro: O número de comandos não deveria depender do número de médicos.");
+        assertTrue(manyStatements <= 3, "Erro: A remoção deveria usar no máximo 3 comandos, usou " + manyStatements);
+        assertEquals(0, linksTo(many.getId()), "Erro: Nenhum médico deveria continuar com a especialidade removida.");
+        assertTrue(specialityRepository.findById(many.getId()).isEmpty(), "Erro: A especialidade deveria ser removida.");
+        assertEquals(42, doctorRepository.count(), "Erro: Os médicos não deveriam ser removidos.");
+    }
+
+    @Test
+    void reassignDoctors_ShouldMoveEveryDoctor_WithConstantStatementCount() {
+        Speciality target = specialityWithDoctors("Implantodontia", 1);
+        Speciality few = specialityWithDoctors("Periodontia", 2);
+        Speciality many = specialityWithDoctors("Prótese", 40);
+        Doctor both = doctorRepository.save(doctor(new HashSet<>(Set.of(
+                specialityRepository.getReferenceById(many.getId()), specialityRepository.getReferenceById(target.getId())))));
+
+        long fewStatements = statementsFor(() -> specialityService.reassignDoctors(few.getId(), target.getId()));
+        long manyStatements = statementsFor(() -> assertEquals(41,
+                specialityService.reassignDoctors(many.getId(), target.getId()).doctorsReassigned()));
+
+        assertEquals(fewStatements, manyStatements, "Erro: O número de comandos não deveria depender do número de médicos.");
+        assertEquals(0, linksTo(many.getId()), "Erro: A especialidade de origem deveria ficar sem médicos.");
+        assertEquals(1 + 2 + 41, linksTo(target.getId()), "Erro: Todos os médicos deveriam ter a especialidade de destino.");
+        Doctor reloaded = doctorRepository.findById(both.getId()).orElseThrow();
+        assertEquals(Set.of(target.getId()), reloaded.getSpecialities().stream().map(Speciality::getId).collect(Collectors.toSet()),
+                "Erro: O médico que já tinha as duas deveria ficar só com a de destino.");
+    }
+
+    @Test
+    void reassignDoctors_ShouldRejectSameSpeciality() {
+        Speciality speciality = specialityWithDoctors("Ortodontia", 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> specialityService.reassignDoctors(speciality.getId(), speciality.getId()));
+    }
+
+    private long statementsFor(Runnable operation) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+        operation.run();
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private long linksTo(UUID specialityId) {
+        return ((Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM tb_doctor_speciality WHERE speciality_id = :specialityId")
+                .setParameter("specialityId", specialityId)
+                .getSingleResult()).longValue();
+    }
+
+    private Speciality specialityWithDoctors(String name, int doctors) {
+        Speciality speciality = specialityRepository.save(Speciality.builder().name(name).active(true).build());
+        for (int i = 0; i < doctors; i++) {
+            doctorRepository.save(doctor(new HashSet<>(Set.of(speciality))));
+        }
+        return speciality;
+    }
+
+    private Doctor doctor(Set<Speciality> specialities) {
+        int number = nextDoctor++;
+        return Doctor.builder()
+                .crm("CRM" + number)
+                .user(User.builder()
+                        .username("doctor" + number + "@example.com")
+                        .password("password")
+                        .name("Dr. " + number)
+                        .active(true)
+                        .build())
+                .specialities(specialities)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookease.repository;
+
+import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.entity.Speciality;
+import com.bookease.service.SpecialityResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda sem a transação de teste, como o {@link ReferenceDataCacheTest}, para que o cache de segundo nível seja
+ * populado pelas leituras.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(SpecialityResolver.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SpecialityResolverTest {
+
+    @Autowired
+    private SpecialityResolver specialityResolver;
+
+    @Autowired
+    private SpecialityRepository specialityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Speciality> specialities;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        specialities = specialityRepository.saveAll(List.of(
+                Speciality.builder().name("Ortodontia").active(true).build(),
+                Speciality.builder().name("Endodontia").active(true).build(),
+                Speciality.builder().name("Prótese").active(true).build()));
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        specialityRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void resolveByNames_ShouldResolveAllNames_InSingleQuery() {
+        Set<Speciality> resolved = specialityResolver.resolveByNames(List.of(" ortodontia", "ENDODONTIA", "prótese", "Ortodontia"));
+
+        assertEquals(Set.of("Ortodontia", "Endodontia", "Prótese"),
+                resolved.stream().map(Speciality::getName).collect(Collectors.toSet()));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Erro: Os nomes deveriam ser resolvidos em uma única consulta.");
+    }
+
+    @Test
+    void resolveByNames_ShouldReportEveryMissingName() {
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> specialityResolver.resolveByNames(List.of("Ortodontia", "Neurologia", "Pediatria")));
+
+        assertTrue(exception.getMessage().contains("[Neurologia, Pediatria]"),
+                "Erro: Todas as especialidades ausentes deveriam ser reportadas: " + exception.getMessage());
+    }
+
+    @Test
+    void resolveByIds_ShouldUseSingleQuery_ThenServeFromCache() {
+        List<UUID> ids = specialities.stream().map(Speciality::getId).toList();
+
+        Set<Speciality> first = specialityResolver.resolveByIds(ids);
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+        Set<Speciality> second = specialityResolver.resolveByIds(ids);
+
+        assertEquals(3, first.size(), "Erro: Todas as especialidades deveriam ser resolvidas.");
+        assertEquals(3, second.size(), "Erro: Todas as especialidades deveriam ser resolvidas.");
+        assertEquals(1, statementsAfterFirstLookup, "Erro: Os ids deveriam ser resolvidos em uma única consulta.");
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount(),
+                "Erro: A segunda resolução deveria vir do cache de segundo nível.");
+    }
+
+    @Test
+    void resolveByIds_ShouldReportEveryMissingId() {
+        UUID firstMissing = UUID.randomUUID();
+        UUID secondMissing = UUID.randomUUID();
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> specialityResolver.resolveByIds(List.of(specialities.getFirst().getId(), firstMissing, secondMissing)));
+
+        assertEquals("Speciality with identifier [" + firstMissing + ", " + secondMissing + "] not found", exception.getMessage());
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookease.repository;
 
+import com.bookease.model.entity.Patient;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -15,9 +17,11 @@ import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 class UserRepositoryTest {
 
+    private static final UUID NO_USER = new UUID(0L, 0L);
+
     private static final Logger logger = Logger.getLogger(UserRepositoryTest.class.getName());
 
     @Autowired
@@ -191,4 +195,37 @@ class UserRepositoryTest {
         assertFalse(exists, "Erro: Não deveria confirmar a existência do telefone '123456789' para um usuário inativo.");
         logger.info("Sucesso: Confirmado que o telefone '123456789' de usuário inativo não é considerado existente.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findUniqueFieldConflicts_whenValuesCollide_returnsAllConflictingFields() {
+        logger.info("Testando findUniqueFieldConflicts com username, email e CPF existentes...");
+        entityManager.persist(Patient.builder().user(user).cpf("12345678901").active(true).build());
+        entityManager.flush();
+        List<String> conflicts = userRepository.findUniqueFieldConflicts(
+                "testuser", "test@example.com", "000000000", "12345678901", null, null, NO_USER);
+        assertEquals(Set.of("USERNAME", "EMAIL", "CPF"), Set.copyOf(conflicts),
+                "Erro: Deveria retornar username, email e CPF como conflitantes.");
+        logger.info("Sucesso: Conflitos retornados " + conflicts);
+    }
+
+    @Test
+    void findUniqueFieldConflicts_whenUserInactive_ignoresUserFields() {
+        logger.info("Testando findUniqueFieldConflicts com usuário inativo...");
+        user.setActive(false);
+        entityManager.persist(user);
+        entityManager.flush();
+        List<String> conflicts = userRepository.findUniqueFieldConflicts(
+                "testuser", "test@example.com", "123456789", null, null, null, NO_USER);
+        assertTrue(conflicts.isEmpty(), "Erro: Campos de usuário inativo não deveriam ser considerados conflitantes.");
+        logger.info("Sucesso: Nenhum conflito para usuário inativo.");
+    }
+
+    @Test
+    void findUniqueFieldConflicts_whenValuesBelongToExcludedUser_returnsEmpty() {
+        logger.info("Testando findUniqueFieldConflicts ignorando o próprio usuário...");
+        List<String> conflicts = userRepository.findUniqueFieldConflicts(
+                "testuser", "test@example.com", "123456789", null, null, null, userId);
+        assertTrue(conflicts.isEmpty(), "Erro: Os valores do próprio usuário não deveriam ser considerados conflitantes.");
+        logger.info("Sucesso: Nenhum conflito com os dados do próprio usuário.");
+    }
+}
@@ -0,0 +1,102 @@
+package com.bookease.service;
+
+import com.bookease.repository.AppointmentArchiveRepository;
+import com.bookease.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentArchiveServiceTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_BATCHES = 4;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime before = LocalDateTime.of(2023, 3, 4, 0, 0);
+
+    @Test
+    void archiveBefore_ShouldCopyAndDeleteEachBatch_UntilPartialBatch() {
+        AppointmentArchiveService service = service(false);
+        List<UUID> fullBatch = ids(BATCH_SIZE);
+        List<UUID> partialBatch = ids(2);
+        when(appointmentRepository.claimArchivable(before, BATCH_SIZE)).thenReturn(fullBatch, partialBatch);
+        when(appointmentArchiveRepository.copyFromAppointments(any(), eq(before), any()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+        when(appointmentRepository.deleteArchived(any(), eq(before)))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+
+        int archived = service.archiveBefore(before);
+
+        assertEquals(BATCH_SIZE + 2, archived);
+        verify(appointmentRepository).deleteArchived(fullBatch, before);
+        verify(appointmentRepository).deleteArchived(partialBatch, before);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void archiveBefore_ShouldProcessAtMostMaxBatchesPerRun() {
+        AppointmentArchiveService service = service(false);
+        when(appointmentRepository.claimArchivable(before, BATCH_SIZE)).thenAnswer(invocation -> ids(BATCH_SIZE));
+        when(appointmentArchiveRepository.copyFromAppointments(any(), eq(before), any())).thenReturn(BATCH_SIZE);
+        when(appointmentRepository.deleteArchived(any(), eq(before))).thenReturn(BATCH_SIZE);
+
+        assertEquals(BATCH_SIZE * MAX_BATCHES, service.archiveBefore(before), "O restante deveria ficar para a próxima execução");
+        verify(appointmentRepository, times(MAX_BATCHES)).claimArchivable(before, BATCH_SIZE);
+    }
+
+    @Test
+    void archiveBefore_ShouldRollBack_WhenCopyAndDeleteDisagree() {
+        AppointmentArchiveService service = service(false);
+        when(appointmentRepository.claimArchivable(before, BATCH_SIZE)).thenReturn(ids(BATCH_SIZE));
+        when(appointmentArchiveRepository.copyFromAppointments(any(), eq(before), any())).thenReturn(BATCH_SIZE);
+        when(appointmentRepository.deleteArchived(any(), eq(before))).thenReturn(BATCH_SIZE - 1);
+
+        assertThrows(IllegalStateException.class, () -> service.archiveBefore(before));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void run_ShouldMaintainPartitions_OnlyWhenEnabled() {
+        when(appointmentRepository.claimArchivable(any(), anyInt())).thenReturn(List.of());
+
+        service(false).run();
+        verifyNoInteractions(appointmentArchiveRepository);
+
+        service(true).run();
+        LocalDate keepFrom = LocalDate.now().minusDays(365).withDayOfMonth(1);
+        verify(appointmentArchiveRepository).maintainPartitions(12, keepFrom);
+    }
+
+    private AppointmentArchiveService service(boolean partitionsEnabled) {
+        return new AppointmentArchiveService(appointmentRepository, appointmentArchiveRepository, transactionManager,
+                365, BATCH_SIZE, MAX_BATCHES, partitionsEnabled, 12);
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+}
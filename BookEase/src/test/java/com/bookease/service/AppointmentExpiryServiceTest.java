@@ -0,0 +1,95 @@
+package com.bookease.service;
+
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentExpiryServiceTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_BATCHES = 4;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentExpiryService appointmentExpiryService;
+    private final LocalDateTime now = LocalDateTime.of(2024, 3, 4, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        appointmentExpiryService = new AppointmentExpiryService(appointmentRepository, availabilityService,
+                transactionManager, 60, BATCH_SIZE, MAX_BATCHES);
+    }
+
+    @Test
+    void expireStalePending_ShouldStopAtFirstPartialBatch() {
+        List<UUID> fullBatch = ids(BATCH_SIZE);
+        List<UUID> partialBatch = ids(1);
+        when(appointmentRepository.claimStalePending(now, now.minusHours(1), BATCH_SIZE))
+                .thenReturn(fullBatch, partialBatch);
+        when(appointmentRepository.close(any(), eq(AppointmentEnum.PENDENTE), eq(AppointmentEnum.CANCELADO)))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+
+        int expired = appointmentExpiryService.expireStalePending(now);
+
+        assertEquals(BATCH_SIZE + 1, expired);
+        verify(appointmentRepository, times(2)).claimStalePending(any(), any(), anyInt());
+        verify(availabilityService).onAppointmentsClosed(fullBatch);
+        verify(availabilityService).onAppointmentsClosed(partialBatch);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void finishEndedConfirmed_ShouldProcessAtMostMaxBatchesPerRun() {
+        when(appointmentRepository.claimEndedConfirmed(now, BATCH_SIZE)).thenAnswer(invocation -> ids(BATCH_SIZE));
+        when(appointmentRepository.close(any(), eq(AppointmentEnum.CONFIRMADO), eq(AppointmentEnum.FINALIZADO)))
+                .thenReturn(BATCH_SIZE);
+
+        int finished = appointmentExpiryService.finishEndedConfirmed(now);
+
+        assertEquals(BATCH_SIZE * MAX_BATCHES, finished, "O restante deveria ficar para a próxima execução");
+        verify(appointmentRepository, times(MAX_BATCHES)).claimEndedConfirmed(now, BATCH_SIZE);
+    }
+
+    @Test
+    void finishEndedConfirmed_ShouldNotUpdate_WhenNothingIsClaimed() {
+        when(appointmentRepository.claimEndedConfirmed(now, BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, appointmentExpiryService.finishEndedConfirmed(now));
+        verify(appointmentRepository, never()).close(any(), any(), any());
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentExpiryService(appointmentRepository,
+                availabilityService, transactionManager, 60, 0, MAX_BATCHES));
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+}
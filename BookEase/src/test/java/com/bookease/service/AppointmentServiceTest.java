@@ -0,0 +1,286 @@
+package com.bookease.service;
+
+import com.bookease.exception.AppointmentConflictException;
+import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.dto.request.AppointmentBatchTransitionRequestDto;
+import com.bookease.model.dto.request.AppointmentRequestDto;
+import com.bookease.model.dto.response.AppointmentBatchTransitionResponseDto;
+import com.bookease.model.dto.response.AppointmentPageResponseDto;
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.entity.Appointment;
+import com.bookease.model.entity.DoctorClinic;
+import com.bookease.model.entity.Patient;
+import com.bookease.model.entity.ProcedureOffered;
+import com.bookease.model.entity.WorkSchedule;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.AppointmentTransitionEnum;
+import com.bookease.model.mappers.AppointmentMapper;
+import com.bookease.repository.AppointmentRepository;
+import com.bookease.repository.DoctorClinicRepository;
+import com.bookease.repository.PatientRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import com.bookease.repository.WorkScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private DoctorClinicRepository doctorClinicRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private ProcedureOfferedRepository procedureOfferedRepository;
+
+    @Mock
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    private AppointmentService appointmentService;
+    private DoctorClinic doctorClinic;
+    private Patient patient;
+    private ProcedureOffered procedureOffered;
+    private WorkSchedule workSchedule;
+    private final List<Appointment> storedAppointments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        appointmentService = new AppointmentService(appointmentRepository, doctorClinicRepository, patientRepository,
+                procedureOfferedRepository, workScheduleRepository, new AppointmentMapper(), availabilityService,
+                new BookingLockService(64, 5000));
+
+        doctorClinic = DoctorClinic.builder().id(UUID.randomUUID()).active(true).build();
+        patient = Patient.builder().id(UUID.randomUUID()).active(true).build();
+        procedureOffered = ProcedureOffered.builder()
+                .id(UUID.randomUUID())
+                .doctorClinic(doctorClinic)
+                .durationMinutes(30)
+                .active(true)
+                .build();
+        workSchedule = WorkSchedule.builder().id(UUID.randomUUID()).doctorClinic(doctorClinic).active(true).build();
+
+        lenient().when(doctorClinicRepository.findById(doctorClinic.getId())).thenReturn(Optional.of(doctorClinic));
+        lenient().when(patientRepository.findById(patient.getId())).thenReturn(Optional.of(patient));
+        lenient().when(procedureOfferedRepository.findById(procedureOffered.getId())).thenReturn(Optional.of(procedureOffered));
+        lenient().when(workScheduleRepository.findById(workSchedule.getId())).thenReturn(Optional.of(workSchedule));
+        lenient().when(doctorClinicRepository.existsActiveById(doctorClinic.getId())).thenReturn(true);
+        lenient().when(appointmentRepository.existsOverlapping(any(), any(), any(), any())).thenAnswer(invocation -> {
+            UUID doctorClinicId = invocation.getArgument(0);
+            LocalDateTime start = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            return storedAppointments.stream().anyMatch(a -> a.getDoctorClinic().getId().equals(doctorClinicId)
+                    && a.getDateTime().isBefore(end) && a.getEndDateTime().isAfter(start));
+        });
+        lenient().when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenAnswer(invocation -> {
+            Appointment appointment = invocation.getArgument(0);
+            appointment.setId(UUID.randomUUID());
+            storedAppointments.add(appointment);
+            return appointment;
+        });
+    }
+
+    @Test
+    void createAppointment_ShouldBookSlot_WhenDoctorClinicIsFree() {
+        AppointmentResponseDto response = appointmentService.createAppointment(request(LocalDateTime.now().plusDays(1)));
+
+        assertNotNull(response.id());
+        assertEquals(doctorClinic.getId(), response.doctorClinicId());
+        verify(availabilityService).onAppointmentChanged(any(Appointment.class), isNull());
+    }
+
+    @Test
+    void createAppointment_ShouldThrowConflict_WhenSlotOverlapsExistingAppointment() {
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withNano(0);
+        appointmentService.createAppointment(request(dateTime));
+
+        assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.createAppointment(request(dateTime.plusMinutes(15))));
+        assertDoesNotThrow(() -> appointmentService.createAppointment(request(dateTime.plusMinutes(30))));
+    }
+
+    @Test
+    void createAppointment_ShouldRejectBooking_ThatCrossesMonthBoundary() {
+        LocalDateTime lastSlotOfMonth = LocalDateTime.of(2030, 1, 31, 23, 45);
+
+        AppointmentConflictException exception = assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.createAppointment(request(lastSlotOfMonth)));
+
+        assertEquals("O agendamento não pode atravessar a virada do mês", exception.getMessage());
+        verify(appointmentRepository, never()).saveAndFlush(any());
+        assertDoesNotThrow(() -> appointmentService.createAppointment(request(lastSlotOfMonth.minusMinutes(15))),
+                "Um agendamento que termina à meia-noite não atravessa o mês");
+    }
+
+    @Test
+    void getAppointmentsByStatus_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withNano(0);
+        List<AppointmentResponseDto> firstPage = List.of(appointment(dateTime), appointment(dateTime.plusHours(1)),
+                appointment(dateTime.plusHours(2)));
+        when(appointmentRepository.findPageByStatus(eq(AppointmentEnum.PENDENTE), any(), any(), eq(PageRequest.of(0, 3))))
+                .thenReturn(firstPage);
+
+        AppointmentPageResponseDto page = appointmentService.getAppointmentsByStatus(AppointmentEnum.PENDENTE, null, null, 2);
+
+        assertEquals(2, page.content().size());
+        assertNotNull(page.nextCursor());
+
+        AppointmentResponseDto last = firstPage.get(1);
+        when(appointmentRepository.findPageByStatus(AppointmentEnum.PENDENTE, last.dateTime(), last.id(), PageRequest.of(0, 3)))
+                .thenReturn(List.of(firstPage.get(2)));
+
+        AppointmentPageResponseDto nextPage = appointmentService.getAppointmentsByStatus(
+                AppointmentEnum.PENDENTE, null, page.nextCursor(), 2);
+
+        assertEquals(List.of(firstPage.get(2)), nextPage.content());
+        assertNull(nextPage.nextCursor());
+    }
+
+    @Test
+    void getAppointmentsByStatus_ShouldStartFirstPageAtFrom() {
+        LocalDateTime from = LocalDateTime.now().withNano(0);
+        when(appointmentRepository.findPageByStatus(AppointmentEnum.CONFIRMADO, from, new UUID(0L, 0L), PageRequest.of(0, 11)))
+                .thenReturn(List.of(appointment(from.plusHours(1))));
+
+        AppointmentPageResponseDto page = appointmentService.getAppointmentsByStatus(AppointmentEnum.CONFIRMADO, from, null, 10);
+
+        assertEquals(1, page.content().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getAppointmentsByStatus_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAppointmentsByStatus(AppointmentEnum.PENDENTE, null, "nao-e-um-cursor", 10));
+    }
+
+    @Test
+    void streamAppointmentsByDoctorClinic_ShouldForwardEveryProjectedRow() {
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withNano(0);
+        List<AppointmentResponseDto> appointments = List.of(appointment(dateTime), appointment(dateTime.plusHours(1)));
+        when(appointmentRepository.streamByDoctorClinicId(doctorClinic.getId())).thenReturn(appointments.stream());
+        List<AppointmentResponseDto> streamed = new ArrayList<>();
+
+        appointmentService.streamAppointmentsByDoctorClinic(doctorClinic.getId(), streamed::add);
+
+        assertEquals(appointments, streamed);
+        verify(doctorClinicRepository, never()).findById(any());
+    }
+
+    @Test
+    void transitionAppointment_ShouldReleaseSlot_WhenCancelled() {
+        UUID id = UUID.randomUUID();
+        when(appointmentRepository.transition(id, AppointmentTransitionEnum.CANCEL.getSources(), AppointmentEnum.CANCELADO))
+                .thenReturn(1);
+
+        appointmentService.transitionAppointment(id, AppointmentTransitionEnum.CANCEL);
+
+        verify(availabilityService).onAppointmentCancelled(id);
+        verify(appointmentRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void transitionAppointment_ShouldExplainConflict_WhenStatusAlreadyChanged() {
+        AppointmentResponseDto cancelled = new AppointmentResponseDto(UUID.randomUUID(), LocalDateTime.now().plusDays(1),
+                "Consulta", AppointmentEnum.CANCELADO, procedureOffered.getId(), doctorClinic.getId(), patient.getId(),
+                workSchedule.getId(), true);
+        when(appointmentRepository.transition(cancelled.id(), AppointmentTransitionEnum.CONFIRM.getSources(), AppointmentEnum.CONFIRMADO))
+                .thenReturn(0);
+        when(appointmentRepository.findResponseById(cancelled.id())).thenReturn(Optional.of(cancelled));
+
+        AppointmentConflictException exception = assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.transitionAppointment(cancelled.id(), AppointmentTransitionEnum.CONFIRM));
+        assertEquals("Não é possível confirmar um agendamento com status CANCELADO", exception.getMessage());
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    void transitionAppointment_ShouldThrowNotFound_WhenAppointmentDoesNotExist() {
+        UUID id = UUID.randomUUID();
+        when(appointmentRepository.transition(eq(id), any(), any())).thenReturn(0);
+        when(appointmentRepository.findResponseById(id)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> appointmentService.transitionAppointment(id, AppointmentTransitionEnum.FINISH));
+    }
+
+    @Test
+    void transitionClinicDay_ShouldUpdateWholeDay_AndInvalidateCalendars_WhenCancelling() {
+        UUID clinicId = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2024, 3, 4);
+        when(doctorClinicRepository.findIdsByClinic(clinicId)).thenReturn(List.of(doctorClinic.getId()));
+        when(appointmentRepository.transitionAll(List.of(doctorClinic.getId()), date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                AppointmentTransitionEnum.CANCEL.getSources(), AppointmentEnum.CANCELADO)).thenReturn(7);
+
+        AppointmentBatchTransitionResponseDto response = appointmentService.transitionClinicDay(clinicId,
+                new AppointmentBatchTransitionRequestDto(AppointmentTransitionEnum.CANCEL, date));
+
+        assertEquals(new AppointmentBatchTransitionResponseDto(clinicId, date, AppointmentEnum.CANCELADO, 7), response);
+        verify(availabilityService).onAppointmentsCancelled(List.of(doctorClinic.getId()));
+    }
+
+    @Test
+    void updateAppointment_ShouldRejectStatusChange_NotAllowedByLifecycle() {
+        Appointment finished = Appointment.builder()
+                .id(UUID.randomUUID())
+                .dateTime(LocalDateTime.now().minusDays(1))
+                .status(AppointmentEnum.FINALIZADO)
+                .doctorClinic(doctorClinic)
+                .active(true)
+                .build();
+        when(appointmentRepository.findById(finished.getId())).thenReturn(Optional.of(finished));
+
+        assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.updateAppointment(finished.getId(), request(LocalDateTime.now().plusDays(1))));
+        verify(appointmentRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getAppointmentsByPatient_ShouldThrowException_WhenPatientIsInactive() {
+        UUID patientId = UUID.randomUUID();
+        when(patientRepository.existsActiveById(patientId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> appointmentService.getAppointmentsByPatient(patientId, null, null, 10));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    private AppointmentResponseDto appointment(LocalDateTime dateTime) {
+        return new AppointmentResponseDto(UUID.randomUUID(), dateTime, "Consulta", AppointmentEnum.PENDENTE,
+                procedureOffered.getId(), doctorClinic.getId(), patient.getId(), workSchedule.getId(), true);
+    }
+
+    private AppointmentRequestDto request(LocalDateTime dateTime) {
+        return new AppointmentRequestDto(
+                dateTime,
+                "Consulta",
+                AppointmentEnum.PENDENTE,
+                procedureOffered.getId().toString(),
+                doctorClinic.getId().toString(),
+                patient.getId().toString(),
+                workSchedule.getId().toString()
+        );
+    }
+}
@@ -0,0 +1,277 @@
+package com.bookease.service;
+
+import com.bookease.model.dto.response.AppointmentImportErrorDto;
+import com.bookease.model.dto.response.AppointmentImportResponseDto;
+import com.bookease.model.dto.response.AppointmentResponseDto;
+import com.bookease.model.entity.Appointment;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.TransferFormatEnum;
+import com.bookease.model.projection.BookedIntervalView;
+import com.bookease.model.projection.OfferedProcedureView;
+import com.bookease.model.projection.WorkScheduleOwnerView;
+import com.bookease.repository.AppointmentRepository;
+import com.bookease.repository.DoctorClinicRepository;
+import com.bookease.repository.PatientRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import com.bookease.repository.WorkScheduleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentTransferServiceTest {
+
+    private static final UUID DOCTOR_CLINIC_ID = UUID.randomUUID();
+    private static final UUID PATIENT_ID = UUID.randomUUID();
+    private static final UUID PROCEDURE_OFFERED_ID = UUID.randomUUID();
+    private static final UUID WORK_SCHEDULE_ID = UUID.randomUUID();
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 3, 4, 10, 0);
+    private static final String HEADER = "dateTime,status,doctorClinicId,patientId,procedureOfferedId,workScheduleId,description\n";
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private DoctorClinicRepository doctorClinicRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private ProcedureOfferedRepository procedureOfferedRepository;
+
+    @Mock
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentTransferService appointmentTransferService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        appointmentTransferService = new AppointmentTransferService(appointmentRepository, doctorClinicRepository,
+                patientRepository, procedureOfferedRepository, workScheduleRepository, availabilityService,
+                new BookingLockService(16, 1000), entityManager, transactionManager, objectMapper, 2);
+    }
+
+    @Test
+    void importAppointments_ShouldPersistValidCsvRows_AndReportInvalidOnes() {
+        stubReferences();
+        String csv = HEADER
+                + row(MORNING, "FINALIZADO", PATIENT_ID, "Primeira consulta")
+                + row(MORNING.plusHours(1), "FINALIZADO", UUID.randomUUID(), "")
+                + "ontem,FINALIZADO," + DOCTOR_CLINIC_ID + "," + PATIENT_ID + "," + PROCEDURE_OFFERED_ID + "," + WORK_SCHEDULE_ID + ",\n"
+                + row(MORNING.plusHours(2), "CONFIRMADO", PATIENT_ID, "\"Retorno, com \"\"raio-x\"\"\nna mão\"");
+
+        AppointmentImportResponseDto result = appointmentTransferService.importAppointments(input(csv), TransferFormatEnum.CSV);
+
+        assertEquals(4, result.totalRows());
+        assertEquals(2, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(List.of(3L, 4L), result.errors().stream().map(AppointmentImportErrorDto::line).toList());
+        assertTrue(result.errors().get(0).message().startsWith("Paciente não encontrado"));
+        assertTrue(result.errors().get(1).message().startsWith("Data e hora inválidas"));
+
+        ArgumentCaptor<Appointment> persisted = ArgumentCaptor.forClass(Appointment.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        Appointment last = persisted.getAllValues().getLast();
+        assertEquals("Retorno, com \"raio-x\"\nna mão", last.getDescription());
+        assertEquals(MORNING.plusHours(2).plusMinutes(30), last.getEndDateTime());
+        verify(entityManager, times(2)).flush();
+        verify(availabilityService).onAppointmentsImported(Set.of(DOCTOR_CLINIC_ID));
+    }
+
+    @Test
+    void importAppointments_ShouldRejectOverlaps_WithExistingAndImportedRows() {
+        stubReferences();
+        when(appointmentRepository.findBookedIntervals(any(), any(), any()))
+                .thenReturn(List.of(interval(MORNING, MORNING.plusMinutes(30))));
+        String ndjson = json(MORNING.plusHours(1), "FINALIZADO")
+                + json(MORNING.plusHours(1).plusMinutes(15), "CONFIRMADO") + "\n"
+                + json(MORNING.plusMinutes(15), "FINALIZADO")
+                + json(MORNING.plusHours(1), "CANCELADO")
+                + "{\"dateTime\": \n";
+
+        AppointmentImportResponseDto result = appointmentTransferService.importAppointments(input(ndjson), TransferFormatEnum.NDJSON);
+
+        assertEquals(5, result.totalRows());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(2L, 4L, 6L), result.errors().stream().map(AppointmentImportErrorDto::line).toList());
+        assertEquals("Horário indisponível para este profissional", result.errors().get(0).message());
+        assertEquals("Horário indisponível para este profissional", result.errors().get(1).message());
+        assertTrue(result.errors().get(2).message().startsWith("JSON inválido"));
+        verify(entityManager, times(2)).persist(any(Appointment.class));
+    }
+
+    @Test
+    void importAppointments_ShouldRetryRowByRow_WhenBatchFails() {
+        stubReferences();
+        doThrow(exclusionViolation())
+                .doNothing()
+                .doThrow(exclusionViolation())
+                .when(entityManager).flush();
+        String csv = HEADER
+                + row(MORNING, "FINALIZADO", PATIENT_ID, "")
+                + row(MORNING.plusHours(1), "FINALIZADO", PATIENT_ID, "");
+
+        AppointmentImportResponseDto result = appointmentTransferService.importAppointments(input(csv), TransferFormatEnum.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new AppointmentImportErrorDto(3, "Horário indisponível para este profissional")), result.errors());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void importAppointments_ShouldReportRealCause_WhenRowFailsForOtherReason() {
+        stubReferences();
+        PersistenceException foreignKeyViolation = new PersistenceException("could not execute statement",
+                new SQLException("insert or update on table \"tb_appointment\" violates foreign key constraint", "23503"));
+        doThrow(foreignKeyViolation).when(entityManager).flush();
+        String csv = HEADER + row(MORNING, "FINALIZADO", PATIENT_ID, "");
+
+        AppointmentImportResponseDto result = appointmentTransferService.importAppointments(input(csv), TransferFormatEnum.CSV);
+
+        assertEquals(0, result.imported());
+        assertEquals(List.of(new AppointmentImportErrorDto(2, "Falha ao gravar o agendamento: insert or update on table "
+                + "\"tb_appointment\" violates foreign key constraint")), result.errors(),
+                "Só violações da restrição de exclusão deveriam virar horário indisponível");
+    }
+
+    @Test
+    void importAppointments_ShouldRejectRows_ThatCrossMonthBoundary() {
+        stubReferences();
+        LocalDateTime lastSlotOfMonth = LocalDateTime.of(2024, 3, 31, 23, 45);
+        String csv = HEADER
+                + row(lastSlotOfMonth, "FINALIZADO", PATIENT_ID, "")
+                + row(lastSlotOfMonth.minusMinutes(15), "FINALIZADO", PATIENT_ID, "");
+
+        AppointmentImportResponseDto result = appointmentTransferService.importAppointments(input(csv), TransferFormatEnum.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new AppointmentImportErrorDto(2, "O agendamento não pode atravessar a virada do mês")),
+                result.errors());
+    }
+
+    @Test
+    void exportAppointments_ShouldWriteActiveAppointments_InImportableCsv() throws Exception {
+        AppointmentResponseDto active = new AppointmentResponseDto(UUID.randomUUID(), MORNING, "Retorno, \"urgente\"",
+                AppointmentEnum.CONFIRMADO, PROCEDURE_OFFERED_ID, DOCTOR_CLINIC_ID, PATIENT_ID, WORK_SCHEDULE_ID, true);
+        AppointmentResponseDto inactive = new AppointmentResponseDto(UUID.randomUUID(), MORNING.plusHours(1), null,
+                AppointmentEnum.PENDENTE, PROCEDURE_OFFERED_ID, DOCTOR_CLINIC_ID, PATIENT_ID, WORK_SCHEDULE_ID, false);
+        when(appointmentRepository.streamByDateTimeBetween(MORNING, MORNING.plusDays(1))).thenReturn(Stream.of(active, inactive));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        appointmentTransferService.exportAppointments(MORNING, MORNING.plusDays(1), TransferFormatEnum.CSV, output);
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertEquals(HEADER + row(MORNING, "CONFIRMADO", PATIENT_ID, "\"Retorno, \"\"urgente\"\"\""), csv);
+
+        stubReferences();
+        AppointmentImportResponseDto reimported = appointmentTransferService.importAppointments(input(csv), TransferFormatEnum.CSV);
+        assertEquals(1, reimported.imported());
+        assertEquals(0, reimported.failed());
+    }
+
+    private static PersistenceException exclusionViolation() {
+        return new PersistenceException("could not execute statement", new SQLException(
+                "conflicting key value violates exclusion constraint \"tb_appointment_2024_03_slot_excl\"", "23P01"));
+    }
+
+    private void stubReferences() {
+        when(doctorClinicRepository.findActiveIdsByIdIn(any())).thenReturn(List.of(DOCTOR_CLINIC_ID));
+        when(patientRepository.findActiveIdsByIdIn(any())).thenReturn(List.of(PATIENT_ID));
+        when(procedureOfferedRepository.findActiveDurationsByIdIn(any())).thenReturn(List.of(new OfferedProcedureView() {
+            @Override
+            public UUID getId() {
+                return PROCEDURE_OFFERED_ID;
+            }
+
+            @Override
+            public UUID getDoctorClinicId() {
+                return DOCTOR_CLINIC_ID;
+            }
+
+            @Override
+            public int getDurationMinutes() {
+                return 30;
+            }
+        }));
+        when(workScheduleRepository.findActiveOwnersByIdIn(any())).thenReturn(List.of(new WorkScheduleOwnerView() {
+            @Override
+            public UUID getId() {
+                return WORK_SCHEDULE_ID;
+            }
+
+            @Override
+            public UUID getDoctorClinicId() {
+                return DOCTOR_CLINIC_ID;
+            }
+        }));
+    }
+
+    private static String row(LocalDateTime dateTime, String status, UUID patientId, String description) {
+        return String.join(",", dateTime.toString(), status, DOCTOR_CLINIC_ID.toString(), patientId.toString(),
+                PROCEDURE_OFFERED_ID.toString(), WORK_SCHEDULE_ID.toString(), description) + "\n";
+    }
+
+    private static String json(LocalDateTime dateTime, String status) {
+        return "{\"dateTime\":\"" + dateTime + "\",\"status\":\"" + status + "\",\"doctorClinicId\":\"" + DOCTOR_CLINIC_ID
+                + "\",\"patientId\":\"" + PATIENT_ID + "\",\"procedureOfferedId\":\"" + PROCEDURE_OFFERED_ID
+                + "\",\"workScheduleId\":\"" + WORK_SCHEDULE_ID + "\"}\n";
+    }
+
+    private static BookedIntervalView interval(LocalDateTime start, LocalDateTime end) {
+        return new BookedIntervalView() {
+            @Override
+            public UUID getDoctorClinicId() {
+                return DOCTOR_CLINIC_ID;
+            }
+
+            @Override
+            public LocalDateTime getDateTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDateTime() {
+                return end;
+            }
+        };
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
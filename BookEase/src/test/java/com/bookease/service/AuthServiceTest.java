@@ -1,5 +1,6 @@
 package com.bookease.service;
 
+import com.bookease.config.PasswordEncoderConfig;
 import com.bookease.exception.*;
 import com.bookease.model.dto.request.LoginRequestDto;
 import com.bookease.model.entity.Role;
@@ -16,22 +17,37 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AuthServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.10";
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -46,10 +62,10 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        String privateKeyPath = "app.key";
+        JwtKeyService jwtKeyService = new JwtKeyService("app.key", "app.pub", "bookease-1", "", 0);
 
         try (AutoCloseable ignored = MockitoAnnotations.openMocks(this)) {
-            authService = new AuthService(userRepository, passwordEncoder, privateKeyPath);
+            authService = new AuthService(userRepository, passwordEncoder, jwtKeyService, tokenRevocationService, refreshTokenService, loginRateLimiter);
         } catch (Exception e) {
             throw new RuntimeException("Erro ao inicializar mocks", e);
         }
@@ -77,7 +93,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
         when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
 
-        Map<String, String> tokens = authService.authenticate(loginDto);
+        Map<String, String> tokens = authService.authenticate(loginDto, CLIENT_IP);
 
         assertNotNull(tokens.get("access_token"), "Erro: O access_token não deveria ser nulo.");
         assertNotNull(tokens.get("refresh_token"), "Erro: O refresh_token não deveria ser nulo.");
@@ -85,11 +101,79 @@ class AuthServiceTest {
         assertFalse(tokens.get("refresh_token").isEmpty(), "Erro: O refresh_token deveria ser uma string válida.");
     }
 
+    @Test
+    void authenticate_whenHashIsOutdated_rehashesPassword() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedpassword")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("{bcrypt}rehashed");
+
+        authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        assertEquals("{bcrypt}rehashed", activeUser.getPassword(), "Erro: O hash desatualizado deveria ser regravado.");
+        verify(userRepository).save(activeUser);
+    }
+
+    @Test
+    void authenticate_whenLegacyHashWithoutPrefix_upgradesToConfiguredCost() {
+        activeUser.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        AuthService service = new AuthService(userRepository, PasswordEncoderConfig.delegatingEncoder(5),
+                new JwtKeyService("app.key", "app.pub", "bookease-1", "", 0), tokenRevocationService, refreshTokenService, loginRateLimiter);
+
+        service.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        assertTrue(activeUser.getPassword().startsWith("{bcrypt}$2a$05$"),
+                "Erro: O hash legado deveria ser regravado com prefixo e o custo configurado.");
+        verify(userRepository).save(activeUser);
+    }
+
+    @Test
+    void authenticate_whenHashIsCurrent_doesNotRehash() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+
+        authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void authenticate_whenRateLimited_rejectsBeforeDatabaseAndPasswordCheck() {
+        doThrow(new TooManyLoginAttemptsException("Muitas tentativas de login, tente novamente mais tarde"))
+                .when(loginRateLimiter).checkAllowed("testuser", CLIENT_IP);
+
+        assertThrows(TooManyLoginAttemptsException.class,
+                () -> authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP),
+                "Erro: Deveria recusar a tentativa acima do limite.");
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void authenticate_whenCredentialsValid_resetsUsernameAttempts() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+
+        authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        verify(loginRateLimiter).recordSuccess("testuser");
+    }
+
+    @Test
+    void authenticate_whenPasswordInvalid_keepsUsernameAttempts() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+
+        assertThrows(AuthenticationException.class,
+                () -> authService.authenticate(new LoginRequestDto("testuser", "wrong"), CLIENT_IP));
+        verify(loginRateLimiter, never()).recordSuccess(any());
+    }
+
     @Test
     void authenticate_whenUsernameNull_throwsException() {
         LoginRequestDto loginDto = new LoginRequestDto(null, "password");
 
-        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> authService.authenticate(loginDto),
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para username nulo.");
         assertEquals("User with identifier null not found", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -100,7 +184,7 @@ class AuthServiceTest {
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
 
-        AuthenticationException exception = assertThrows(AuthenticationException.class, () -> authService.authenticate(loginDto),
+        AuthenticationException exception = assertThrows(AuthenticationException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para senha nula.");
         assertEquals("Credenciais inválidas", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -111,7 +195,7 @@ class AuthServiceTest {
 
         when(userRepository.findByUsername("unknownuser")).thenReturn(Optional.empty());
 
-        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> authService.authenticate(loginDto),
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para usuário não encontrado.");
         assertEquals("User with identifier unknownuser not found", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -123,7 +207,7 @@ class AuthServiceTest {
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
 
-        EntityOperationException exception = assertThrows(EntityOperationException.class, () -> authService.authenticate(loginDto),
+        EntityOperationException exception = assertThrows(EntityOperationException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para usuário inativo.");
         assertEquals("Conta inativa", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -135,7 +219,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
         when(passwordEncoder.matches("wrongpassword", "hashedpassword")).thenReturn(false);
 
-        AuthenticationException exception = assertThrows(AuthenticationException.class, () -> authService.authenticate(loginDto),
+        AuthenticationException exception = assertThrows(AuthenticationException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para senha inválida.");
         assertEquals("Credenciais inválidas", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -147,7 +231,7 @@ class AuthServiceTest {
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
 
-        EntityOperationException exception = assertThrows(EntityOperationException.class, () -> authService.authenticate(loginDto),
+        EntityOperationException exception = assertThrows(EntityOperationException.class, () -> authService.authenticate(loginDto, CLIENT_IP),
                 "Erro: Deveria lançar exceção para token revogado.");
         assertEquals("Tokens revogados, faça login novamente", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
     }
@@ -160,7 +244,118 @@ class AuthServiceTest {
         authService.revokeTokens(userId);
 
         assertTrue(activeUser.isTokenRevoked(), "Erro: O token do usuário deveria estar revogado.");
+        assertNotNull(activeUser.getTokensRevokedAt(), "Erro: O instante da revogação deveria ser registrado.");
         verify(userRepository, times(1)).save(activeUser);
+        verify(tokenRevocationService).revokeSubject("testuser", activeUser.getTokensRevokedAt());
+        verify(refreshTokenService).revokeAll("testuser", activeUser.getTokensRevokedAt());
+    }
+
+    @Test
+    void authenticate_whenCredentialsValid_startsRefreshTokenFamily() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+
+        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        DecodedJWT refreshToken = JWT.decode(tokens.get("refresh_token"));
+        UUID familyId = UUID.fromString(refreshToken.getClaim(AuthService.FAMILY_CLAIM).asString());
+        assertEquals(AuthService.TOKEN_USE_REFRESH, refreshToken.getClaim(AuthService.TOKEN_USE_CLAIM).asString(),
+                "Erro: O refresh_token deveria indicar seu uso.");
+        assertEquals(AuthService.TOKEN_USE_ACCESS, JWT.decode(tokens.get("access_token")).getClaim(AuthService.TOKEN_USE_CLAIM).asString(),
+                "Erro: O access_token deveria indicar seu uso.");
+        verify(refreshTokenService).startFamily(eq(familyId), eq("testuser"), eq(refreshToken.getId()), any(), any());
+    }
+
+    @Test
+    void refresh_whenTokenIsCurrent_rotatesFamilyWithoutCheckingPassword() {
+        Map<String, String> loginTokens = login();
+        DecodedJWT presented = JWT.decode(loginTokens.get("refresh_token"));
+        UUID familyId = UUID.fromString(presented.getClaim(AuthService.FAMILY_CLAIM).asString());
+        when(refreshTokenService.rotate(eq(familyId), eq(presented.getId()), any(), any(), any())).thenReturn(true);
+        clearInvocations(passwordEncoder);
+
+        Map<String, String> tokens = authService.refresh(loginTokens.get("refresh_token"));
+
+        DecodedJWT rotated = JWT.decode(tokens.get("refresh_token"));
+        assertNotNull(tokens.get("access_token"), "Erro: O access_token não deveria ser nulo.");
+        assertEquals(familyId.toString(), rotated.getClaim(AuthService.FAMILY_CLAIM).asString(),
+                "Erro: O novo refresh_token deveria continuar na mesma família.");
+        assertNotEquals(presented.getId(), rotated.getId(), "Erro: O refresh_token deveria ser trocado a cada renovação.");
+        verify(refreshTokenService).rotate(eq(familyId), eq(presented.getId()), eq(rotated.getId()), any(), any());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void refresh_whenTokenWasAlreadyRotated_throwsException() {
+        Map<String, String> loginTokens = login();
+        when(refreshTokenService.rotate(any(), any(), any(), any(), any())).thenReturn(false);
+
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> authService.refresh(loginTokens.get("refresh_token")),
+                "Erro: Deveria lançar exceção para refresh token reutilizado.");
+        assertEquals("Refresh token reutilizado ou expirado, faça login novamente", exception.getMessage(),
+                "Erro: Mensagem de exceção incorreta.");
+    }
+
+    @Test
+    void refresh_whenAccessTokenIsPresented_throwsException() {
+        Map<String, String> loginTokens = login();
+
+        AuthenticationException exception = assertThrows(AuthenticationException.class,
+                () -> authService.refresh(loginTokens.get("access_token")),
+                "Erro: Deveria lançar exceção para access token usado como refresh token.");
+        assertEquals("Refresh token inválido", exception.getMessage(), "Erro: Mensagem de exceção incorreta.");
+        verify(refreshTokenService, never()).rotate(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void refresh_whenSubjectWasRevoked_throwsException() {
+        Map<String, String> loginTokens = login();
+        when(tokenRevocationService.isRevoked(eq("testuser"), any(), any())).thenReturn(true);
+
+        assertThrows(AuthenticationException.class, () -> authService.refresh(loginTokens.get("refresh_token")),
+                "Erro: Deveria lançar exceção para refresh token revogado.");
+        verify(refreshTokenService, never()).rotate(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void authenticate_whenCredentialsValid_issuesTokensWithDistinctIds() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+
+        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+
+        String accessTokenId = JWT.decode(tokens.get("access_token")).getId();
+        assertNotNull(accessTokenId, "Erro: O access_token deveria ter um jti.");
+        assertNotEquals(accessTokenId, JWT.decode(tokens.get("refresh_token")).getId(),
+                "Erro: Cada token deveria ter seu próprio jti.");
+    }
+
+    @Test
+    void logout_whenTokenHasId_revokesThatToken() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getId()).thenReturn("token-id");
+        when(jwt.getSubject()).thenReturn("testuser");
+        when(jwt.getExpiresAt()).thenReturn(expiresAt);
+
+        authService.logout(jwt);
+
+        verify(tokenRevocationService).revokeToken("token-id", "testuser", expiresAt);
+        verify(refreshTokenService, never()).revoke(any(), any());
+    }
+
+    @Test
+    void logout_whenTokenHasFamily_revokesRefreshTokenFamily() {
+        UUID familyId = UUID.randomUUID();
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getId()).thenReturn("token-id");
+        when(jwt.getSubject()).thenReturn("testuser");
+        when(jwt.getClaimAsString(AuthService.FAMILY_CLAIM)).thenReturn(familyId.toString());
+
+        authService.logout(jwt);
+
+        verify(refreshTokenService).revoke(eq(familyId), any());
     }
 
     @Test
@@ -263,12 +458,13 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
         when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
 
-        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"));
+        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
         String generatedToken = tokens.get("access_token");
 
         DecodedJWT decodedJWT = JWT.decode(generatedToken);
         assertEquals("testuser", decodedJWT.getSubject(), "Erro: O subject do access_token está incorreto.");
         assertEquals("BookEase", decodedJWT.getIssuer(), "Erro: O issuer do access_token está incorreto.");
+        assertEquals("bookease-1", decodedJWT.getKeyId(), "Erro: O kid do access_token está incorreto.");
         assertTrue(decodedJWT.getExpiresAt().after(new Date()), "Erro: O access_token deveria ter expiração futura.");
     }
 
@@ -277,7 +473,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
         when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
 
-        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"));
+        Map<String, String> tokens = authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
         String generatedToken = tokens.get("refresh_token");
 
         DecodedJWT decodedJWT = JWT.decode(generatedToken);
@@ -285,4 +481,10 @@ class AuthServiceTest {
         assertEquals("BookEase", decodedJWT.getIssuer(), "Erro: O issuer do refresh_token está incorreto.");
         assertTrue(decodedJWT.getExpiresAt().after(new Date()), "Erro: O refresh_token deveria ter expiração futura.");
     }
-}
\ No newline at end of file
+
+    private Map<String, String> login() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(activeUser));
+        when(passwordEncoder.matches("password", "hashedpassword")).thenReturn(true);
+        return authService.authenticate(new LoginRequestDto("testuser", "password"), CLIENT_IP);
+    }
+}
@@ -0,0 +1,157 @@
+package com.bookease.service;
+
+import com.bookease.exception.EntityNotFoundException;
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
+import com.bookease.model.entity.Appointment;
+import com.bookease.model.entity.DoctorClinic;
+import com.bookease.model.entity.ProcedureOffered;
+import com.bookease.model.entity.WorkSchedule;
+import com.bookease.model.enums.AppointmentEnum;
+import com.bookease.model.enums.DayOfWeekEnum;
+import com.bookease.model.projection.AppointmentSlotView;
+import com.bookease.repository.AppointmentRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import com.bookease.repository.WorkScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 7, 0);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Mock
+    private ProcedureOfferedRepository procedureOfferedRepository;
+
+    private AvailabilityService availabilityService;
+    private DoctorClinic doctorClinic;
+    private ProcedureOffered procedureOffered;
+    private WorkSchedule workSchedule;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new AvailabilityService(appointmentRepository, workScheduleRepository,
+                procedureOfferedRepository, 1);
+        doctorClinic = DoctorClinic.builder().id(UUID.randomUUID()).active(true).build();
+        procedureOffered = ProcedureOffered.builder()
+                .id(UUID.randomUUID())
+                .doctorClinic(doctorClinic)
+                .durationMinutes(30)
+                .active(true)
+                .build();
+        workSchedule = WorkSchedule.builder()
+                .id(UUID.randomUUID())
+                .doctorClinic(doctorClinic)
+                .dayOfWeek(DayOfWeekEnum.SEGUNDA)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(10, 0))
+                .active(true)
+                .build();
+    }
+
+    @Test
+    void getNextFreeSlots_ShouldSkipBookedIntervals() {
+        when(procedureOfferedRepository.findById(procedureOffered.getId())).thenReturn(Optional.of(procedureOffered));
+        when(workScheduleRepository.findByDoctorClinicId(doctorClinic.getId())).thenReturn(List.of(workSchedule));
+        when(appointmentRepository.findBookedSlots(eq(doctorClinic.getId()), any()))
+                .thenReturn(List.of(slot(MONDAY.withHour(8).withMinute(30), 30)));
+
+        List<AvailableSlotResponseDto> slots = availabilityService.getNextFreeSlots(
+                doctorClinic.getId(), procedureOffered.getId(), MONDAY, 10);
+
+        assertEquals(List.of(
+                MONDAY.withHour(8),
+                MONDAY.withHour(9),
+                MONDAY.withHour(9).withMinute(30)
+        ), slots.stream().map(AvailableSlotResponseDto::startDateTime).toList());
+        assertEquals(workSchedule.getId(), slots.getFirst().workScheduleId());
+    }
+
+    @Test
+    void findFreeSlots_ShouldResumeAtEndOfLongerBooking() {
+        when(workScheduleRepository.findByDoctorClinicId(doctorClinic.getId())).thenReturn(List.of(workSchedule));
+        when(appointmentRepository.findBookedSlots(eq(doctorClinic.getId()), any()))
+                .thenReturn(List.of(slot(MONDAY.withHour(8), 75)));
+
+        List<AvailableSlotResponseDto> slots = availabilityService.findFreeSlots(
+                doctorClinic.getId(), 30, MONDAY, MONDAY.plusDays(1), 1);
+
+        assertEquals(MONDAY.withHour(9).withMinute(15), slots.getFirst().startDateTime());
+        assertEquals(MONDAY.withHour(9).withMinute(45), slots.getFirst().endDateTime());
+    }
+
+    @Test
+    void onAppointmentChanged_ShouldUpdateLoadedCalendarIncrementally() {
+        when(workScheduleRepository.findByDoctorClinicId(doctorClinic.getId())).thenReturn(List.of(workSchedule));
+        when(appointmentRepository.findBookedSlots(eq(doctorClinic.getId()), any())).thenReturn(List.of());
+        availabilityService.findFreeSlots(doctorClinic.getId(), 30, MONDAY, MONDAY.plusDays(1), 1);
+
+        Appointment appointment = Appointment.builder()
+                .id(UUID.randomUUID())
+                .dateTime(MONDAY.withHour(8))
+                .status(AppointmentEnum.PENDENTE)
+                .doctorClinic(doctorClinic)
+                .procedureOffered(procedureOffered)
+                .active(true)
+                .build();
+        availabilityService.onAppointmentChanged(appointment, null);
+
+        assertEquals(MONDAY.withHour(8).withMinute(30), availabilityService.findFreeSlots(
+                doctorClinic.getId(), 30, MONDAY, MONDAY.plusDays(1), 1).getFirst().startDateTime());
+
+        appointment.setStatus(AppointmentEnum.CANCELADO);
+        availabilityService.onAppointmentChanged(appointment, null);
+
+        assertEquals(MONDAY.withHour(8), availabilityService.findFreeSlots(
+                doctorClinic.getId(), 30, MONDAY, MONDAY.plusDays(1), 1).getFirst().startDateTime());
+    }
+
+    @Test
+    void getNextFreeSlots_ShouldThrowException_WhenProcedureBelongsToAnotherDoctorClinic() {
+        when(procedureOfferedRepository.findById(procedureOffered.getId())).thenReturn(Optional.of(procedureOffered));
+        UUID otherDoctorClinicId = UUID.randomUUID();
+
+        assertThrows(EntityNotFoundException.class, () -> availabilityService.getNextFreeSlots(
+                otherDoctorClinicId, procedureOffered.getId(), MONDAY, 10));
+    }
+
+    private AppointmentSlotView slot(LocalDateTime dateTime, int durationMinutes) {
+        UUID id = UUID.randomUUID();
+        return new AppointmentSlotView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDateTime() {
+                return dateTime;
+            }
+
+            @Override
+            public int getDurationMinutes() {
+                return durationMinutes;
+            }
+        };
+    }
+}
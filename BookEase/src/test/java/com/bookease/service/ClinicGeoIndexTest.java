@@ -0,0 +1,105 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.Clinic;
+import com.bookease.model.projection.ClinicLocationView;
+import com.bookease.repository.ClinicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClinicGeoIndexTest {
+
+    private static final double PAULISTA_LATITUDE = -23.5614;
+    private static final double PAULISTA_LONGITUDE = -46.6559;
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    private ClinicGeoIndex clinicGeoIndex;
+
+    private final UUID paulista = UUID.randomUUID();
+    private final UUID pinheiros = UUID.randomUUID();
+    private final UUID campinas = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        clinicGeoIndex = new ClinicGeoIndex(clinicRepository, 0.1);
+        when(clinicRepository.findActiveLocations()).thenReturn(List.of(
+                location(campinas, -22.9056, -47.0608),
+                location(pinheiros, -23.5670, -46.6930),
+                location(paulista, -23.5610, -46.6560)));
+    }
+
+    @Test
+    void findWithin_ShouldReturnOnlyClinicsInsideRadius_SortedByDistance() {
+        List<ClinicGeoIndex.Match> matches = clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 10);
+
+        assertEquals(List.of(paulista, pinheiros), matches.stream().map(ClinicGeoIndex.Match::clinicId).toList());
+        assertTrue(matches.get(1).distanceKm() > 3 && matches.get(1).distanceKm() < 5,
+                "A distância até Pinheiros deveria ser de cerca de 4 km");
+    }
+
+    @Test
+    void findWithin_ShouldCrossCellBoundaries_WhenRadiusIsLarge() {
+        List<ClinicGeoIndex.Match> matches = clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 100);
+
+        assertEquals(campinas, matches.getLast().clinicId());
+        verify(clinicRepository, times(1)).findActiveLocations();
+    }
+
+    @Test
+    void onClinicChanged_ShouldMoveAndRemoveClinics_WithoutReloading() {
+        clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 1);
+
+        clinicGeoIndex.onClinicChanged(Clinic.builder().id(campinas).latitude(-23.5620).longitude(-46.6570).active(true).build());
+        clinicGeoIndex.onClinicChanged(Clinic.builder().id(pinheiros).latitude(-23.5670).longitude(-46.6930).active(false).build());
+
+        List<ClinicGeoIndex.Match> matches = clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 10);
+        assertEquals(List.of(paulista, campinas), matches.stream().map(ClinicGeoIndex.Match::clinicId).toList());
+        verify(clinicRepository, times(1)).findActiveLocations();
+    }
+
+    @Test
+    void reload_ShouldKeepChangesCommittedWhileLoading() {
+        clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 1);
+        when(clinicRepository.findActiveLocations()).thenAnswer(invocation -> {
+            // commit concorrente: a consulta da recarga já leu Pinheiros ativa
+            clinicGeoIndex.onClinicChanged(Clinic.builder().id(pinheiros).latitude(-23.5670).longitude(-46.6930).active(false).build());
+            return List.of(location(pinheiros, -23.5670, -46.6930), location(paulista, -23.5610, -46.6560));
+        });
+
+        clinicGeoIndex.reload();
+
+        List<ClinicGeoIndex.Match> matches = clinicGeoIndex.findWithin(PAULISTA_LATITUDE, PAULISTA_LONGITUDE, 10);
+        assertEquals(List.of(paulista), matches.stream().map(ClinicGeoIndex.Match::clinicId).toList(),
+                "A desativação confirmada durante a recarga não pode ser desfeita pela troca do índice");
+    }
+
+    private static ClinicLocationView location(UUID id, double latitude, double longitude) {
+        return new ClinicLocationView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+}
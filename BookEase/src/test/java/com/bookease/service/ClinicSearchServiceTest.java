@@ -0,0 +1,148 @@
+package com.bookease.service;
+
+import com.bookease.model.dto.response.AvailableSlotResponseDto;
+import com.bookease.model.dto.response.ClinicResponseDto;
+import com.bookease.model.dto.response.NearbyClinicPageResponseDto;
+import com.bookease.model.entity.Clinic;
+import com.bookease.model.mappers.ClinicMapper;
+import com.bookease.model.projection.ClinicOfferingView;
+import com.bookease.repository.ClinicRepository;
+import com.bookease.repository.ProcedureOfferedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClinicSearchServiceTest {
+
+    @Mock
+    private ClinicGeoIndex clinicGeoIndex;
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @Mock
+    private ProcedureOfferedRepository procedureOfferedRepository;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private ClinicMapper clinicMapper;
+
+    private ClinicSearchService clinicSearchService;
+
+    private final UUID procedureId = UUID.randomUUID();
+    private final UUID nearestClinicId = UUID.randomUUID();
+    private final UUID middleClinicId = UUID.randomUUID();
+    private final UUID farthestClinicId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        clinicSearchService = new ClinicSearchService(clinicGeoIndex, clinicRepository, procedureOfferedRepository,
+                availabilityService, clinicMapper, 7);
+    }
+
+    @Test
+    void findNearby_ShouldSkipClinicsWithoutAvailability_AndPageInDistanceOrder() {
+        ClinicOfferingView nearest = offering(nearestClinicId);
+        ClinicOfferingView middle = offering(middleClinicId);
+        ClinicOfferingView farthest = offering(farthestClinicId);
+        when(clinicGeoIndex.findWithin(-23.56, -46.65, 10)).thenReturn(List.of(
+                new ClinicGeoIndex.Match(nearestClinicId, 1),
+                new ClinicGeoIndex.Match(middleClinicId, 2),
+                new ClinicGeoIndex.Match(farthestClinicId, 3)));
+        when(procedureOfferedRepository.findActiveOfferingsByProcedureAndClinicIds(eq(procedureId), any()))
+                .thenReturn(List.of(nearest, middle, farthest));
+        when(availabilityService.findFreeSlots(eq(nearest.getDoctorClinicId()), anyInt(), any(), any(), eq(1))).thenReturn(List.of());
+        when(availabilityService.findFreeSlots(eq(middle.getDoctorClinicId()), anyInt(), any(), any(), eq(1))).thenReturn(List.of(slot()));
+        when(availabilityService.findFreeSlots(eq(farthest.getDoctorClinicId()), anyInt(), any(), any(), eq(1))).thenReturn(List.of(slot()));
+        Clinic middleClinic = Clinic.builder().id(middleClinicId).active(true).build();
+        when(clinicRepository.findActiveWithUserByIdIn(List.of(middleClinicId))).thenReturn(List.of(middleClinic));
+        when(clinicMapper.toResponseDto(middleClinic)).thenReturn(ClinicResponseDto.builder().id(middleClinicId).build());
+
+        NearbyClinicPageResponseDto page = clinicSearchService.findNearby(-23.56, -46.65, 10, procedureId, 0, 1);
+
+        assertEquals(1, page.content().size());
+        assertEquals(middleClinicId, page.content().getFirst().clinic().id(), "A clínica sem horário livre deveria ser ignorada");
+        assertEquals(2, page.content().getFirst().distanceKm());
+        assertTrue(page.hasNext(), "A clínica mais distante deveria ficar para a próxima página");
+        verify(procedureOfferedRepository, times(1)).findActiveOfferingsByProcedureAndClinicIds(eq(procedureId), any());
+    }
+
+    @Test
+    void findNearby_ShouldNotQueryOfferings_WhenNoClinicIsInsideRadius() {
+        when(clinicGeoIndex.findWithin(-23.56, -46.65, 5)).thenReturn(List.of());
+
+        NearbyClinicPageResponseDto page = clinicSearchService.findNearby(-23.56, -46.65, 5, procedureId, 0, 20);
+
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        verifyNoInteractions(procedureOfferedRepository, availabilityService, clinicRepository);
+    }
+
+    @Test
+    void findNearby_ShouldReturnEmptyPage_WhenPageOffsetOverflowsInt() {
+        when(clinicGeoIndex.findWithin(-23.56, -46.65, 10)).thenReturn(List.of(new ClinicGeoIndex.Match(nearestClinicId, 1)));
+
+        NearbyClinicPageResponseDto page = clinicSearchService.findNearby(-23.56, -46.65, 10, procedureId, Integer.MAX_VALUE, 50);
+
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        verifyNoInteractions(procedureOfferedRepository, availabilityService, clinicRepository);
+    }
+
+    @Test
+    void findNearby_ShouldRejectRadiusAboveLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> clinicSearchService.findNearby(-23.56, -46.65, ClinicSearchService.MAX_RADIUS_KM + 1, procedureId, 0, 20));
+    }
+
+    private static AvailableSlotResponseDto slot() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new AvailableSlotResponseDto(start, start.plusMinutes(30), UUID.randomUUID());
+    }
+
+    private static ClinicOfferingView offering(UUID clinicId) {
+        UUID procedureOfferedId = UUID.randomUUID();
+        UUID doctorClinicId = UUID.randomUUID();
+        return new ClinicOfferingView() {
+            @Override
+            public UUID getProcedureOfferedId() {
+                return procedureOfferedId;
+            }
+
+            @Override
+            public UUID getDoctorClinicId() {
+                return doctorClinicId;
+            }
+
+            @Override
+            public UUID getClinicId() {
+                return clinicId;
+            }
+
+            @Override
+            public int getDurationMinutes() {
+                return 30;
+            }
+
+            @Override
+            public double getPrice() {
+                return 150.0;
+            }
+        };
+    }
+}
@@ -7,6 +7,8 @@ import com.bookease.model.dto.response.ClinicResponseDto;
 import com.bookease.model.entity.Clinic;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.ClinicMapper;
 import com.bookease.repository.ClinicRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -32,6 +34,12 @@ class ClinicServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ClinicGeoIndex clinicGeoIndex;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private ClinicService clinicService;
 
@@ -62,15 +70,17 @@ class ClinicServiceTest {
         ClinicResponseDto dummyResponse = ClinicResponseDto.builder()
                 .id(dummyClinic.getId())
                 .build();
-        doNothing().when(userService).validateUniqueField(eq("12345678901234"), eq(clinicRepository), any(), eq("CNPJ"));
-        when(userService.createUserWithRole(any(), eq(Role.Values.CLINIC))).thenReturn(dummyUser);
+        when(userService.createUserWithRole(any(), eq(Role.Values.CLINIC), eq(UniqueFieldEnum.CNPJ), eq("12345678901234")))
+                .thenReturn(dummyUser);
         when(clinicMapper.toEntity(eq(clinicRequestDto), eq(dummyUser))).thenReturn(dummyClinic);
         when(clinicRepository.save(dummyClinic)).thenReturn(dummyClinic);
         when(clinicMapper.toResponseDto(dummyClinic)).thenReturn(dummyResponse);
         ClinicResponseDto response = clinicService.createClinic(clinicRequestDto);
         assertNotNull(response);
         assertEquals(dummyResponse.id(), response.id());
-        verify(userService).validateUniqueField(eq("12345678901234"), eq(clinicRepository), any(), eq("CNPJ"));
+        verify(userService).createUserWithRole(any(), eq(Role.Values.CLINIC), eq(UniqueFieldEnum.CNPJ), eq("12345678901234"));
+        verify(clinicGeoIndex).onClinicChanged(dummyClinic);
+        verify(searchIndexService).onClinicChanged(dummyClinic);
     }
 
     @Test
@@ -102,8 +112,8 @@ class ClinicServiceTest {
                 .cnpj("12345678901234")
                 .userRequestDto(null)
                 .build();
-        doThrow(new UniqueFieldException("CNPJ já existe"))
-                .when(userService).validateUniqueField(eq("12345678901234"), eq(clinicRepository), any(), eq("CNPJ"));
+        when(userService.createUserWithRole(any(), eq(Role.Values.CLINIC), eq(UniqueFieldEnum.CNPJ), eq("12345678901234")))
+                .thenThrow(new UniqueFieldException("CNPJ já existe"));
         assertThrows(UniqueFieldException.class, () -> clinicService.createClinic(clinicRequestDto));
     }
 
@@ -190,6 +200,8 @@ class ClinicServiceTest {
         doNothing().when(userService).deactivateEntity(eq(clinicId), eq(clinicRepository), any(), eq(true), eq("Clinic"));
         clinicService.deactivateClinic(clinicId);
         verify(userService).deactivateEntity(eq(clinicId), eq(clinicRepository), any(), eq(true), eq("Clinic"));
+        verify(clinicGeoIndex).onClinicRemoved(clinicId);
+        verify(searchIndexService).onRemoved(SearchTypeEnum.CLINIC, clinicId);
     }
 
     @Test
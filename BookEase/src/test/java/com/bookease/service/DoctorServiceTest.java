@@ -5,10 +5,9 @@ import com.bookease.model.dto.request.DoctorRequestDto;
 import com.bookease.model.dto.request.UserRequestDto;
 import com.bookease.model.dto.response.DoctorResponseDto;
 import com.bookease.model.entity.*;
-import com.bookease.model.enums.SpecialityEnum;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.DoctorMapper;
 import com.bookease.repository.DoctorRepository;
-import com.bookease.repository.SpecialityRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -32,7 +30,7 @@ class DoctorServiceTest {
     private DoctorRepository doctorRepository;
 
     @Mock
-    private SpecialityRepository specialityRepository;
+    private SpecialityResolver specialityResolver;
 
     @Mock
     private DoctorMapper doctorMapper;
@@ -40,6 +38,9 @@ class DoctorServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -109,21 +110,10 @@ class DoctorServiceTest {
 
     @Test
     void createDoctor_ShouldCreateNewDoctor_WhenDataValid() {
-        doNothing().when(userService).validateUniqueField(
-                eq(doctorRequestDto.getCrm()),
-                eq(doctorRepository),
-                any(),
-                eq("CRM")
-        );
-
+        when(specialityResolver.resolveByNames(doctorRequestDto.getSpecialityNames()))
+                .thenReturn(new HashSet<>(Set.of(speciality)));
 
-        List<String> specialityNames = doctorRequestDto.getSpecialityNames().stream()
-                .map(name -> SpecialityEnum.valueOf(name).getDisplayName())
-                .collect(Collectors.toList());
-        when(specialityRepository.findByNameIn(eq(specialityNames)))
-                .thenReturn(Collections.singletonList(speciality));
-
-        when(userService.createUserWithRole(userDto, Role.Values.DOCTOR))
+        when(userService.createUserWithRole(userDto, Role.Values.DOCTOR, UniqueFieldEnum.CRM, doctorRequestDto.getCrm()))
                 .thenReturn(user);
 
         when(doctorMapper.toEntity(eq(doctorRequestDto), eq(user), any()))
@@ -137,7 +127,34 @@ class DoctorServiceTest {
         assertThat(result).isEqualTo(doctorResponseDto);
 
         verify(doctorRepository).save(doctor);
-        verify(specialityRepository).findByNameIn(eq(specialityNames));
+        verify(specialityResolver).resolveByNames(doctorRequestDto.getSpecialityNames());
+    }
+
+    @Test
+    void addSpecialities_ShouldAddResolvedSpecialities_ToDoctor() {
+        List<String> specialityNames = List.of("cardiology");
+        when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
+        when(specialityResolver.resolveByNames(specialityNames)).thenReturn(new HashSet<>(Set.of(speciality)));
+        when(doctorMapper.toResponseDto(doctor)).thenReturn(doctorResponseDto);
+
+        doctorService.addSpecialities(doctorId, specialityNames);
+
+        assertThat(doctor.getSpecialities()).containsExactly(speciality);
+        verify(doctorRepository).save(doctor);
+        verify(searchIndexService).onDoctorChanged(doctor);
+    }
+
+    @Test
+    void addSpecialities_ShouldNotSave_WhenSomeSpecialityIsMissing() {
+        List<String> specialityNames = List.of("Cardiology", "Neurologia", "Pediatria");
+        when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
+        when(specialityResolver.resolveByNames(specialityNames))
+                .thenThrow(new EntityNotFoundException("Speciality", List.of("Neurologia", "Pediatria")));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> doctorService.addSpecialities(doctorId, specialityNames));
+        assertThat(exception.getMessage()).contains("Neurologia", "Pediatria");
+        verify(doctorRepository, never()).save(any());
     }
 
     @Test
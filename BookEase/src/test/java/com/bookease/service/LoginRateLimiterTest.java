@@ -0,0 +1,86 @@
+package com.bookease.service;
+
+import com.bookease.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private InMemoryLoginAttemptStore loginAttemptStore;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptStore = new InMemoryLoginAttemptStore();
+        meterRegistry = new SimpleMeterRegistry();
+        loginRateLimiter = new LoginRateLimiter(loginAttemptStore, meterRegistry, 3, 300, 5, 60);
+    }
+
+    @Test
+    void checkAllowed_ShouldRejectUsername_AfterLimitWithinWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.checkAllowed("testuser", "10.0.0." + i);
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginRateLimiter.checkAllowed("testuser", "10.0.0.9"));
+        assertDoesNotThrow(() -> loginRateLimiter.checkAllowed("otheruser", "10.0.0.9"),
+                "O limite de um usuário não deve afetar outro");
+        assertEquals(1.0, rejected("username"), "A recusa deveria ser contada na métrica");
+    }
+
+    @Test
+    void checkAllowed_ShouldRejectIp_AfterLimitAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            loginRateLimiter.checkAllowed("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginRateLimiter.checkAllowed("user9", "10.0.0.1"));
+        assertEquals(1.0, rejected("ip"), "A recusa deveria ser contada na métrica");
+    }
+
+    @Test
+    void recordSuccess_ShouldResetUsernameAttempts() {
+        loginRateLimiter.checkAllowed("testuser", "10.0.0.1");
+        loginRateLimiter.checkAllowed("testuser", "10.0.0.1");
+        loginRateLimiter.recordSuccess("testuser");
+
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.checkAllowed("testuser", "10.0.0.2");
+        }
+    }
+
+    @Test
+    void recordAttempt_ShouldWeighPreviousWindow_ByRemainingOverlap() {
+        Duration window = Duration.ofSeconds(60);
+        Instant windowStart = Instant.ofEpochSecond(60 * 1_000_000L);
+        for (int i = 0; i < 10; i++) {
+            loginAttemptStore.recordAttempt("key", window, windowStart);
+        }
+
+        double halfWay = loginAttemptStore.recordAttempt("key", window, windowStart.plusSeconds(90));
+        double afterTwoWindows = loginAttemptStore.recordAttempt("key", window, windowStart.plusSeconds(180));
+
+        assertEquals(6.0, halfWay, 0.001, "Metade da janela anterior deveria contar");
+        assertEquals(1.0, afterTwoWindows, 0.001, "Janelas antigas não deveriam contar");
+    }
+
+    @Test
+    void evictIdle_ShouldDropCountersWithoutRecentAttempts() {
+        loginAttemptStore.recordAttempt("key", Duration.ofSeconds(1), Instant.now().minusSeconds(10));
+
+        loginAttemptStore.evictIdle();
+
+        assertEquals(0, loginAttemptStore.size());
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get(LoginRateLimiter.REJECTED_COUNTER).tag("reason", reason).counter().count();
+    }
+}
@@ -8,6 +8,7 @@ import com.bookease.model.dto.response.PatientResponseDto;
 import com.bookease.model.entity.Patient;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.PatientMapper;
 import com.bookease.repository.PatientRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -77,8 +78,7 @@ class PatientServiceTest {
     @Test
     void createPatient_whenDataValid_returnsResponseDto() {
         PatientRequestDto patientDto = new PatientRequestDto("12345678901", userDto);
-        doNothing().when(userService).validateUniqueField(eq("12345678901"), eq(patientRepository), any(), eq("CPF"));
-        when(userService.createUserWithRole(userDto, Role.Values.PATIENT)).thenReturn(user);
+        when(userService.createUserWithRole(userDto, Role.Values.PATIENT, UniqueFieldEnum.CPF, "12345678901")).thenReturn(user);
         when(patientMapper.toEntity(patientDto, user)).thenReturn(patient);
         when(patientRepository.save(patient)).thenReturn(patient);
         when(patientMapper.toResponseDto(patient)).thenReturn(responseDto);
@@ -92,8 +92,8 @@ class PatientServiceTest {
     @Test
     void createPatient_whenCpfExists_throwsException() {
         PatientRequestDto patientDto = new PatientRequestDto("12345678901", userDto);
-        doThrow(new UniqueFieldException("CPF já existe"))
-                .when(userService).validateUniqueField(eq("12345678901"), eq(patientRepository), any(), eq("CPF"));
+        when(userService.createUserWithRole(userDto, Role.Values.PATIENT, UniqueFieldEnum.CPF, "12345678901"))
+                .thenThrow(new UniqueFieldException("CPF já existe"));
 
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> patientService.createPatient(patientDto),
@@ -0,0 +1,65 @@
+package com.bookease.service;
+
+import com.bookease.repository.RefreshTokenFamilyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenFamilyRepository);
+    }
+
+    @Test
+    void startFamily_ShouldPersistCurrentTokenId() {
+        UUID familyId = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        refreshTokenService.startFamily(familyId, "testuser", "token-1", now, now.plusSeconds(60));
+
+        verify(refreshTokenFamilyRepository).save(argThat(family -> family.getFamilyId().equals(familyId)
+                && family.getCurrentTokenId().equals("token-1")
+                && family.getRevokedAt() == null));
+    }
+
+    @Test
+    void rotate_ShouldSucceedWithoutRevoking_WhenPresentedTokenIsCurrent() {
+        UUID familyId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(60);
+        when(refreshTokenFamilyRepository.rotate(familyId, "token-1", "token-2", expiresAt, now)).thenReturn(1);
+
+        assertTrue(refreshTokenService.rotate(familyId, "token-1", "token-2", now, expiresAt));
+        verify(refreshTokenFamilyRepository, never()).revoke(any(), any());
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenPresentedTokenWasAlreadyRotated() {
+        UUID familyId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(60);
+        when(refreshTokenFamilyRepository.rotate(familyId, "token-1", "token-3", expiresAt, now)).thenReturn(0);
+        when(refreshTokenFamilyRepository.revoke(familyId, now)).thenReturn(1);
+
+        assertFalse(refreshTokenService.rotate(familyId, "token-1", "token-3", now, expiresAt),
+                "Um refresh token já trocado não deve ser aceito");
+        verify(refreshTokenFamilyRepository).revoke(familyId, now);
+    }
+}
@@ -0,0 +1,157 @@
+package com.bookease.service;
+
+import com.bookease.model.dto.response.SearchResultResponseDto;
+import com.bookease.model.entity.Clinic;
+import com.bookease.model.entity.Doctor;
+import com.bookease.model.entity.Procedure;
+import com.bookease.model.entity.Speciality;
+import com.bookease.model.entity.User;
+import com.bookease.model.enums.SearchTypeEnum;
+import com.bookease.repository.ClinicRepository;
+import com.bookease.repository.DoctorRepository;
+import com.bookease.repository.ProcedureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @Mock
+    private ProcedureRepository procedureRepository;
+
+    private SearchIndexService searchIndexService;
+
+    private final UUID doctorId = UUID.randomUUID();
+    private final UUID clinicId = UUID.randomUUID();
+    private final UUID procedureId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        searchIndexService = new SearchIndexService(doctorRepository, clinicRepository, procedureRepository);
+        when(doctorRepository.findAllActiveWithUserAndSpecialities()).thenReturn(List.of(
+                doctor(doctorId, "João Conceição", "Cardiologia")));
+        when(clinicRepository.findAllActiveWithUser()).thenReturn(List.of(
+                clinic(clinicId, "Clínica Sorriso", "São Paulo")));
+        when(procedureRepository.findAllActive()).thenReturn(List.of(
+                Procedure.builder().id(procedureId).displayName("Extração Dentária").active(true).build()));
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase() {
+        List<SearchResultResponseDto> results = searchIndexService.search("EXTRACAO dentaria", null, 10);
+
+        assertEquals(List.of(procedureId), ids(results));
+        assertEquals("Extração Dentária", results.getFirst().title());
+    }
+
+    @Test
+    void search_ShouldMatchPrefixes_AndRankTitleAboveSubtitle() {
+        searchIndexService.search("clin", null, 10);
+        searchIndexService.onDoctorChanged(doctor(UUID.randomUUID(), "Paula Lima", "Clínica Geral"));
+
+        List<SearchResultResponseDto> results = searchIndexService.search("clin", null, 10);
+
+        assertEquals(2, results.size());
+        assertEquals(clinicId, results.getFirst().id(), "O nome da clínica deveria pesar mais que a especialidade");
+    }
+
+    @Test
+    void search_ShouldMatchInfixesAndTypos_ByTrigrams() {
+        assertEquals(List.of(doctorId), ids(searchIndexService.search("ceicao", null, 10)));
+        assertEquals(List.of(doctorId), ids(searchIndexService.search("cardiolgia", null, 10)));
+    }
+
+    @Test
+    void search_ShouldRequireAllTermsAndFilterByType() {
+        assertTrue(searchIndexService.search("sorriso cardiologia", null, 10).isEmpty());
+        assertTrue(searchIndexService.search("sao paulo", SearchTypeEnum.DOCTOR, 10).isEmpty());
+        assertEquals(List.of(clinicId), ids(searchIndexService.search("sao paulo", SearchTypeEnum.CLINIC, 10)));
+    }
+
+    @Test
+    void onChanges_ShouldUpdateIndex_WithoutReloading() {
+        searchIndexService.search("joao", null, 10);
+
+        searchIndexService.onDoctorChanged(doctor(doctorId, "João Conceição", "Dermatologia"));
+        searchIndexService.onRemoved(SearchTypeEnum.CLINIC, clinicId);
+
+        assertTrue(searchIndexService.search("cardiologia", null, 10).isEmpty());
+        assertEquals(List.of(doctorId), ids(searchIndexService.search("dermato", null, 10)));
+        assertTrue(searchIndexService.search("sorriso", null, 10).isEmpty());
+        verify(doctorRepository, times(1)).findAllActiveWithUserAndSpecialities();
+    }
+
+    @Test
+    void onSpecialityReplaced_ShouldUpdateDoctorsFromIndex_WithoutQueryingDoctors() {
+        UUID otherDoctorId = UUID.randomUUID();
+        searchIndexService.search("joao", null, 10);
+        searchIndexService.onDoctorChanged(doctor(otherDoctorId, "Paula Lima", "Cardiologia"));
+
+        searchIndexService.onSpecialityReplaced("Cardiologia", "Dermatologia");
+
+        assertTrue(searchIndexService.search("cardiologia", null, 10).isEmpty());
+        assertEquals(Set.of(doctorId, otherDoctorId), Set.copyOf(ids(searchIndexService.search("dermato", null, 10))));
+
+        searchIndexService.onSpecialityReplaced("Dermatologia", null);
+
+        assertTrue(searchIndexService.search("dermato", null, 10).isEmpty());
+        assertEquals(List.of(doctorId), ids(searchIndexService.search("joao", null, 10)),
+                "O médico deveria continuar indexado sem a especialidade removida");
+        verify(doctorRepository, times(1)).findAllActiveWithUserAndSpecialities();
+        verifyNoMoreInteractions(doctorRepository);
+    }
+
+    @Test
+    void reload_ShouldKeepChangesCommittedWhileLoading() {
+        searchIndexService.search("joao", null, 10);
+        when(doctorRepository.findAllActiveWithUserAndSpecialities()).thenAnswer(invocation -> {
+            // commit concorrente: a consulta da recarga já leu a especialidade antiga
+            searchIndexService.onDoctorChanged(doctor(doctorId, "João Conceição", "Dermatologia"));
+            return List.of(doctor(doctorId, "João Conceição", "Cardiologia"));
+        });
+
+        searchIndexService.reload();
+
+        assertTrue(searchIndexService.search("cardiologia", null, 10).isEmpty(),
+                "A alteração confirmada durante a recarga não pode ser desfeita pela troca do índice");
+        assertEquals(List.of(doctorId), ids(searchIndexService.search("dermato", null, 10)));
+    }
+
+    private static List<UUID> ids(List<SearchResultResponseDto> results) {
+        return results.stream().map(SearchResultResponseDto::id).toList();
+    }
+
+    private static Doctor doctor(UUID id, String name, String speciality) {
+        return Doctor.builder()
+                .id(id)
+                .user(User.builder().name(name).build())
+                .specialities(Set.of(Speciality.builder().name(speciality).active(true).build()))
+                .active(true)
+                .build();
+    }
+
+    private static Clinic clinic(UUID id, String name, String city) {
+        return Clinic.builder()
+                .id(id)
+                .user(User.builder().name(name).build())
+                .city(city)
+                .active(true)
+                .build();
+    }
+}
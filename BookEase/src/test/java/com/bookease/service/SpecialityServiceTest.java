@@ -1,6 +1,8 @@
 package com.bookease.service;
 
+import com.bookease.exception.EntityNotFoundException;
 import com.bookease.model.dto.request.SpecialityRequestDto;
+import com.bookease.model.dto.response.SpecialityReassignResponseDto;
 import com.bookease.model.dto.response.SpecialityResponseDto;
 import com.bookease.model.entity.Doctor;
 import com.bookease.model.entity.Speciality;
@@ -10,6 +12,7 @@ import com.bookease.repository.SpecialityRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -33,11 +36,19 @@ class SpecialityServiceTest {
     @Mock
     private SpecialityMapper specialityMapper;
 
+    @Mock
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Mock
+    private SpecialityResolver specialityResolver;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private SpecialityService specialityService;
 
     private Speciality speciality;
-    private SpecialityRequestDto requestDto;
     private SpecialityResponseDto responseDto;
     private Doctor doctor;
 
@@ -74,7 +85,7 @@ class SpecialityServiceTest {
                 .active(true)
                 .build();
 
-        when(specialityRepository.existsByNameIgnoreCase("ortodontia")).thenReturn(false);
+        when(specialityResolver.findExistingNames(List.of("Ortodontia"))).thenReturn(List.of());
         when(specialityMapper.toEntities(requestDto)).thenReturn(List.of(speciality));
         when(specialityRepository.saveAll(List.of(speciality))).thenReturn(List.of(speciality));
         when(specialityMapper.toResponseDto(speciality)).thenReturn(responseDto);
@@ -85,16 +96,18 @@ class SpecialityServiceTest {
         // Assert
         assertThat(result).containsExactly(responseDto);
         verify(specialityRepository).saveAll(List.of(speciality));
+        verify(referenceDataCacheService).evictSpecialities();
     }
 
     @Test
     void createSpeciality_ShouldThrowException_WhenNameExists() {
-        when(specialityRepository.findByName("Ortodontia")).thenReturn(Optional.of(speciality));
+        SpecialityRequestDto requestDto = new SpecialityRequestDto(List.of("ortodontia", "Endodontia", "Periodontia"));
+        when(specialityResolver.findExistingNames(requestDto.specialityNames())).thenReturn(List.of("Endodontia", "Ortodontia"));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> specialityService.createSpeciality(requestDto));
-        assertThat(exception.getMessage()).isEqualTo("Especialidade já existe");
-        verify(specialityRepository, never()).save(any());
+        assertThat(exception.getMessage()).isEqualTo("Especialidade já existe: Endodontia, Ortodontia");
+        verify(specialityRepository, never()).saveAll(any());
     }
 
     @Test
@@ -153,13 +166,14 @@ class SpecialityServiceTest {
     @Test
     void deleteById_ShouldDeleteSpeciality_WhenIdExists() {
         when(specialityRepository.findById(speciality.getId())).thenReturn(Optional.of(speciality));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor));
 
         specialityService.deleteById(speciality.getId());
 
-        verify(doctorRepository).findAll();
+        verify(doctorRepository).removeSpecialityFromAllDoctors(speciality.getId());
+        verifyNoMoreInteractions(doctorRepository);
         verify(specialityRepository).delete(speciality);
-        assertThat(doctor.getSpecialities()).doesNotContain(speciality);
+        verify(referenceDataCacheService).evictSpecialities();
+        verify(searchIndexService).onSpecialityReplaced("Ortodontia", null);
     }
 
     @Test
@@ -171,18 +185,18 @@ class SpecialityServiceTest {
                 () -> specialityService.deleteById(nonExistentId));
         assertThat(exception.getMessage()).isEqualTo("Speciality with identifier " + nonExistentId + " not found");
         verify(specialityRepository, never()).delete(any());
+        verifyNoInteractions(referenceDataCacheService);
     }
 
     @Test
     void deleteByName_ShouldDeleteSpeciality_WhenNameExists() {
         when(specialityRepository.findByName("Ortodontia")).thenReturn(Optional.of(speciality));
-        when(doctorRepository.findAll()).thenReturn(List.of(doctor));
 
         specialityService.deleteByName("Ortodontia");
 
-        verify(doctorRepository).findAll();
+        verify(doctorRepository).removeSpecialityFromAllDoctors(speciality.getId());
+        verify(doctorRepository, never()).findAll();
         verify(specialityRepository).delete(speciality);
-        assertThat(doctor.getSpecialities()).doesNotContain(speciality);
     }
 
     @Test
@@ -195,17 +209,48 @@ class SpecialityServiceTest {
         verify(specialityRepository, never()).delete(any());
     }
 
+    @Test
+    void reassignDoctors_ShouldCopyThenRemoveLinks_WhenBothSpecialitiesExist() {
+        Speciality target = Speciality.builder().id(UUID.randomUUID()).name("Endodontia").build();
+        UUID targetId = target.getId();
+        when(specialityRepository.findById(speciality.getId())).thenReturn(Optional.of(speciality));
+        when(specialityRepository.findById(targetId)).thenReturn(Optional.of(target));
+        when(doctorRepository.removeSpecialityFromAllDoctors(speciality.getId())).thenReturn(3);
+
+        SpecialityReassignResponseDto result = specialityService.reassignDoctors(speciality.getId(), targetId);
+
+        assertThat(result).isEqualTo(new SpecialityReassignResponseDto(speciality.getId(), targetId, 3));
+        InOrder inOrder = inOrder(doctorRepository);
+        inOrder.verify(doctorRepository).copySpecialityToDoctors(speciality.getId(), targetId);
+        inOrder.verify(doctorRepository).removeSpecialityFromAllDoctors(speciality.getId());
+        verifyNoMoreInteractions(doctorRepository);
+        verify(searchIndexService).onSpecialityReplaced("Ortodontia", "Endodontia");
+    }
+
+    @Test
+    void reassignDoctors_ShouldThrowException_WhenTargetDoesNotExist() {
+        UUID targetId = UUID.randomUUID();
+        when(specialityRepository.findById(speciality.getId())).thenReturn(Optional.of(speciality));
+        when(specialityRepository.findById(targetId)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> specialityService.reassignDoctors(speciality.getId(), targetId));
+        assertThat(exception.getMessage()).isEqualTo("Speciality with identifier " + targetId + " not found");
+        verifyNoInteractions(doctorRepository);
+    }
+
     @Test
     void updateSpeciality_ShouldUpdateDoctorSpecialities_WhenDoctorAndSpecialitiesExist() {
         UUID doctorId = doctor.getId();
         Set<UUID> specialityIds = Set.of(speciality.getId());
         when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-        when(specialityRepository.findById(speciality.getId())).thenReturn(Optional.of(speciality));
+        when(specialityResolver.resolveByIds(specialityIds)).thenReturn(new HashSet<>(Set.of(speciality)));
         when(doctorRepository.save(doctor)).thenReturn(doctor);
 
         specialityService.updateSpeciality(doctorId, specialityIds);
 
         verify(doctorRepository).save(doctor);
+        verify(searchIndexService).onDoctorChanged(doctor);
         assertThat(doctor.getSpecialities()).containsExactly(speciality);
     }
 
@@ -227,11 +272,12 @@ class SpecialityServiceTest {
         UUID nonExistentSpecialityId = UUID.randomUUID();
         Set<UUID> specialityIds = Set.of(nonExistentSpecialityId);
         when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
-        when(specialityRepository.findById(nonExistentSpecialityId)).thenReturn(Optional.empty());
+        when(specialityResolver.resolveByIds(specialityIds))
+                .thenThrow(new EntityNotFoundException("Speciality", List.of(nonExistentSpecialityId)));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> specialityService.updateSpeciality(doctorId, specialityIds));
-        assertThat(exception.getMessage()).isEqualTo("Speciality with identifier " + nonExistentSpecialityId + " not found");
+        assertThat(exception.getMessage()).isEqualTo("Speciality with identifier [" + nonExistentSpecialityId + "] not found");
         verify(doctorRepository, never()).save(any());
     }
 }
\ No newline at end of file
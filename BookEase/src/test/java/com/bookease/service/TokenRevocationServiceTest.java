@@ -0,0 +1,116 @@
+package com.bookease.service;
+
+import com.bookease.model.entity.RevokedToken;
+import com.bookease.model.projection.SubjectRevocationView;
+import com.bookease.repository.RevokedTokenRepository;
+import com.bookease.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(userRepository, revokedTokenRepository);
+    }
+
+    @Test
+    void isRevoked_ShouldRejectOnlyTokensIssuedUpToRevocation_WhenSubjectWasRevokedOnAnotherNode() {
+        Instant revokedAt = Instant.now().minusSeconds(60);
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of(revocation("testuser", revokedAt)));
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of());
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked("testuser", "a", revokedAt.minusSeconds(1)));
+        assertTrue(tokenRevocationService.isRevoked("testuser", "b", revokedAt));
+        assertFalse(tokenRevocationService.isRevoked("testuser", "c", revokedAt.plusSeconds(1)));
+        assertFalse(tokenRevocationService.isRevoked("otheruser", "d", revokedAt.minusSeconds(1)));
+    }
+
+    @Test
+    void isRevoked_ShouldRejectLoggedOutTokenId_UntilItExpires() {
+        Instant now = Instant.now();
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(
+                RevokedToken.builder().tokenId("active").subject("testuser").revokedAt(now).expiresAt(now.plusSeconds(600)).build(),
+                RevokedToken.builder().tokenId("expired").subject("testuser").revokedAt(now).expiresAt(now.minusSeconds(1)).build()));
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked("testuser", "active", now));
+        assertFalse(tokenRevocationService.isRevoked("testuser", "expired", now), "Tokens expirados devem sair do conjunto");
+    }
+
+    @Test
+    void refresh_ShouldOnlyReadRecentChanges_AfterInitialLoad() {
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of());
+
+        Instant beforeFirstRefresh = Instant.now();
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        verify(userRepository).findTokenRevocationsSince(
+                argThat(since -> since.isBefore(beforeFirstRefresh.minus(AuthService.ACCESS_TOKEN_LIFETIME))));
+        verify(userRepository).findTokenRevocationsSince(
+                argThat(since -> since.isAfter(beforeFirstRefresh.minusSeconds(60))));
+    }
+
+    @Test
+    void revokeToken_ShouldPersistAndApplyImmediately_WhenNoTransactionIsActive() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        tokenRevocationService.revokeToken("token-id", "testuser", expiresAt);
+
+        verify(revokedTokenRepository).save(argThat(token -> token.getTokenId().equals("token-id")
+                && token.getExpiresAt().equals(expiresAt)));
+        assertTrue(tokenRevocationService.isRevoked("testuser", "token-id", Instant.now()));
+        assertFalse(tokenRevocationService.isRevoked("testuser", "other-token", Instant.now()));
+    }
+
+    @Test
+    void revokeSubject_ShouldKeepLatestRevocation() {
+        Instant first = Instant.now().minusSeconds(120);
+        Instant second = first.plusSeconds(60);
+
+        tokenRevocationService.revokeSubject("testuser", second);
+        tokenRevocationService.revokeSubject("testuser", first);
+
+        assertTrue(tokenRevocationService.isRevoked("testuser", null, first.plusSeconds(30)));
+        verifyNoInteractions(userRepository, revokedTokenRepository);
+    }
+
+    private static SubjectRevocationView revocation(String username, Instant revokedAt) {
+        return new SubjectRevocationView() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public Instant getTokensRevokedAt() {
+                return revokedAt;
+            }
+        };
+    }
+}
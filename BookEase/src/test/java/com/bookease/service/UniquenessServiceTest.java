@@ -0,0 +1,148 @@
+package com.bookease.service;
+
+import com.bookease.exception.UniqueFieldException;
+import com.bookease.model.dto.request.UserRequestDto;
+import com.bookease.model.enums.UniqueFieldEnum;
+import com.bookease.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniquenessServiceTest {
+
+    private static final UUID NO_USER = new UUID(0L, 0L);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DataSource dataSource;
+
+    @Test
+    void findConflicts_ShouldReportEveryCollidingField() {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, false, 0, 0.01);
+        UserRequestDto userDto = UserRequestDto.builder().username("testuser").email("test@example.com").build();
+        when(userRepository.findUniqueFieldConflicts("testuser", "test@example.com", null, "12345678901", null, null, NO_USER))
+                .thenReturn(List.of("EMAIL", "CPF"));
+
+        Set<UniqueFieldEnum> conflicts = uniquenessService.findConflicts(userDto, UniqueFieldEnum.CPF, "12345678901", null);
+
+        assertEquals(Set.of(UniqueFieldEnum.EMAIL, UniqueFieldEnum.CPF), conflicts);
+    }
+
+    @Test
+    void validateUpdate_ShouldExcludeCurrentUserAndReportAllConflicts() {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, false, 0, 0.01);
+        UUID currentUserId = UUID.randomUUID();
+        UserRequestDto userDto = UserRequestDto.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .phone("123456789")
+                .build();
+        when(userRepository.findUniqueFieldConflicts("testuser", "test@example.com", "123456789", null, null, null, currentUserId))
+                .thenReturn(List.of("PHONE", "USERNAME"));
+
+        UniqueFieldException exception = assertThrows(UniqueFieldException.class,
+                () -> uniquenessService.validateUpdate(userDto, currentUserId));
+
+        assertEquals("Username, Telefone já existem", exception.getMessage());
+        assertEquals(List.of("Username", "Telefone"), exception.getFields());
+    }
+
+    @Test
+    void validateRegistration_ShouldNotQuery_WhenNoValueIsSupplied() {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, false, 0, 0.01);
+
+        assertDoesNotThrow(() -> uniquenessService.validateRegistration(new UserRequestDto(), null, null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void validateRegistration_ShouldSkipQuery_WhenBloomFilterRulesOutEveryValue() throws SQLException {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, true, 1000, 0.01);
+        whenDatabaseIs("H2");
+        when(userRepository.streamAllUniqueFieldKeys()).thenReturn(Stream.of("USERNAME:existing", "CPF:11111111111"));
+        uniquenessService.warmUpBloomFilter();
+
+        UserRequestDto newUser = UserRequestDto.builder().username("newuser").build();
+        assertDoesNotThrow(() -> uniquenessService.validateRegistration(newUser, UniqueFieldEnum.CPF, "22222222222"));
+        verify(userRepository, never()).findUniqueFieldConflicts(any(), any(), any(), any(), any(), any(), any());
+
+        UserRequestDto existingUser = UserRequestDto.builder().username("existing").build();
+        when(userRepository.findUniqueFieldConflicts("existing", null, null, null, null, null, NO_USER))
+                .thenReturn(List.of("USERNAME"));
+        UniqueFieldException exception = assertThrows(UniqueFieldException.class,
+                () -> uniquenessService.validateRegistration(existingUser, null, null));
+        assertEquals("Username já existe", exception.getMessage());
+    }
+
+    @Test
+    void recordRegistration_ShouldMakeNewValuesVisibleToBloomFilter() throws SQLException {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, true, 1000, 0.01);
+        whenDatabaseIs("H2");
+        when(userRepository.streamAllUniqueFieldKeys()).thenReturn(Stream.empty());
+        uniquenessService.warmUpBloomFilter();
+
+        UserRequestDto userDto = UserRequestDto.builder().username("newuser").build();
+        uniquenessService.recordRegistration(userDto, null, null);
+        when(userRepository.findUniqueFieldConflicts("newuser", null, null, null, null, null, NO_USER))
+                .thenReturn(List.of("USERNAME"));
+
+        assertThrows(UniqueFieldException.class, () -> uniquenessService.validateRegistration(userDto, null, null));
+    }
+
+    @Test
+    void recordUpdate_ShouldMakeUpdatedValuesVisibleToLaterRegistrations() throws SQLException {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, true, 1000, 0.01);
+        whenDatabaseIs("H2");
+        when(userRepository.streamAllUniqueFieldKeys()).thenReturn(Stream.of("USERNAME:olduser", "EMAIL:old@example.com"));
+        uniquenessService.warmUpBloomFilter();
+
+        uniquenessService.recordUpdate(UserRequestDto.builder().username("renamed").email("new@example.com").build());
+        when(userRepository.findUniqueFieldConflicts("renamed", "new@example.com", null, null, null, null, NO_USER))
+                .thenReturn(List.of("USERNAME", "EMAIL"));
+
+        UserRequestDto registration = UserRequestDto.builder().username("renamed").email("new@example.com").build();
+        UniqueFieldException exception = assertThrows(UniqueFieldException.class,
+                () -> uniquenessService.validateRegistration(registration, null, null),
+                "Os valores gravados por uma atualização não podem ser descartados pelo filtro");
+        assertEquals(List.of("Username", "Email"), exception.getFields());
+    }
+
+    @Test
+    void warmUpBloomFilter_ShouldFail_WhenAnotherInstanceHoldsTheLock() throws SQLException {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, true, 1000, 0.01);
+        Connection connection = whenDatabaseIs("PostgreSQL");
+        ResultSet lockResult = mock(ResultSet.class);
+        when(connection.createStatement().executeQuery(any())).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, uniquenessService::warmUpBloomFilter);
+        verify(connection).close();
+        verifyNoInteractions(userRepository);
+    }
+
+    private Connection whenDatabaseIs(String productName) throws SQLException {
+        Connection connection = mock(Connection.class, Answers.RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn(productName);
+        return connection;
+    }
+}
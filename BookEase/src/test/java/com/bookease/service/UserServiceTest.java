@@ -8,20 +8,24 @@ import com.bookease.model.dto.response.UserResponseDto;
 import com.bookease.model.entity.Clinic;
 import com.bookease.model.entity.Role;
 import com.bookease.model.entity.User;
+import com.bookease.model.enums.UniqueFieldEnum;
 import com.bookease.model.mappers.UserMapper;
 import com.bookease.repository.ClinicRepository;
 import com.bookease.repository.RoleRepository;
 import com.bookease.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +34,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
+    private static final UUID NO_USER = new UUID(0L, 0L);
+
     @Mock
     private UserRepository userRepository;
 
@@ -45,13 +51,22 @@ class UserServiceTest {
     @Mock
     private ClinicRepository clinicRepository;
 
-    @InjectMocks
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DataSource dataSource;
+
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, false, 0, 0.01);
+        userService = new UserService(userRepository, userMapper, authService, roleRepository, uniquenessService);
+    }
+
     @Test
     void validateUserUniqueness_shouldThrowException_whenUsernameExists() {
         UserRequestDto userDto = UserRequestDto.builder().username("testuser").build();
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(userRepository.findUniqueFieldConflicts("testuser", null, null, null, null, null, NO_USER))
+                .thenReturn(List.of("USERNAME"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> userService.validateUserUniqueness(userDto));
         assertEquals("Username já existe", exception.getMessage());
@@ -64,9 +79,8 @@ class UserServiceTest {
                 .email("test@example.com")
                 .phone("123456789")
                 .build();
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(userRepository.existsByPhone("123456789")).thenReturn(false);
+        when(userRepository.findUniqueFieldConflicts("testuser", "test@example.com", "123456789", null, null, null, NO_USER))
+                .thenReturn(List.of());
         assertDoesNotThrow(() -> userService.validateUserUniqueness(userDto));
     }
 
@@ -75,7 +89,7 @@ class UserServiceTest {
         UserRequestDto userDto = UserRequestDto.builder().username("testuser").build();
         User user = User.builder().userId(UUID.randomUUID()).username("testuser").build();
         Role role = Role.builder().name(Role.Values.CLINIC).build(); // Usando CLINIC como exemplo
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.findUniqueFieldConflicts("testuser", null, null, null, null, null, NO_USER)).thenReturn(List.of());
         when(userMapper.toEntity(userDto)).thenReturn(user);
         when(roleRepository.findByName(Role.Values.CLINIC)).thenReturn(Optional.of(role));
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -88,7 +102,7 @@ class UserServiceTest {
     @Test
     void createUserWithRole_shouldThrowException_whenRoleNotFound() {
         UserRequestDto userDto = UserRequestDto.builder().username("testuser").build();
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.findUniqueFieldConflicts("testuser", null, null, null, null, null, NO_USER)).thenReturn(List.of());
         when(roleRepository.findByName(Role.Values.CLINIC)).thenReturn(Optional.empty());
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> userService.createUserWithRole(userDto, Role.Values.CLINIC));
@@ -109,6 +123,26 @@ class UserServiceTest {
         verify(userMapper).updateFromDto(user, updateDto);
     }
 
+    @Test
+    void updateUserEntity_shouldExposeNewUsernameToLaterRegistrations_whenBloomFilterIsEnabled() throws SQLException {
+        when(dataSource.getConnection().getMetaData().getDatabaseProductName()).thenReturn("H2");
+        when(userRepository.streamAllUniqueFieldKeys()).thenReturn(Stream.of("USERNAME:olduser"));
+        UniquenessService uniquenessService = new UniquenessService(userRepository, dataSource, true, 1000, 0.01);
+        uniquenessService.warmUpBloomFilter();
+        userService = new UserService(userRepository, userMapper, authService, roleRepository, uniquenessService);
+        User user = User.builder().userId(UUID.randomUUID()).username("olduser").build();
+        UserRequestDto updateDto = UserRequestDto.builder().username("newuser").build();
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUserEntity(user, updateDto, u -> u);
+
+        when(userRepository.findUniqueFieldConflicts("newuser", null, null, null, null, null, NO_USER))
+                .thenReturn(List.of("USERNAME"));
+        UserRequestDto registration = UserRequestDto.builder().username("newuser").build();
+        assertThrows(UniqueFieldException.class, () -> userService.createUserWithRole(registration, Role.Values.PATIENT),
+                "O username gravado pela atualização não pode ser descartado pelo filtro");
+    }
+
     @Test
     void findByIdOrThrow_shouldReturnMappedResult_whenEntityExists() {
         UUID id = UUID.randomUUID();
@@ -144,13 +178,15 @@ class UserServiceTest {
     }
 
     @Test
-    void validateUniqueField_shouldThrowException_whenFieldExists() {
-        String fieldValue = "123456789";
-        Predicate<Clinic> predicate = c -> c.getCnpj().equals(fieldValue);
-        when(clinicRepository.findAll()).thenReturn(List.of(Clinic.builder().cnpj(fieldValue).build()));
+    void createUserWithRole_shouldThrowException_whenDocumentExists() {
+        UserRequestDto userDto = UserRequestDto.builder().username("testuser").build();
+        when(userRepository.findUniqueFieldConflicts("testuser", null, null, null, null, "123456789", NO_USER))
+                .thenReturn(List.of("CNPJ"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
-                () -> userService.validateUniqueField(fieldValue, clinicRepository, predicate, "CNPJ"));
+                () -> userService.createUserWithRole(userDto, Role.Values.CLINIC, UniqueFieldEnum.CNPJ, "123456789"));
         assertEquals("CNPJ já existe", exception.getMessage());
+        verify(clinicRepository, never()).findAll();
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -167,7 +203,8 @@ class UserServiceTest {
     @Test
     void validateUserUniqueness_shouldThrowException_whenEmailExists() {
         UserRequestDto userDto = UserRequestDto.builder().email("test@example.com").build();
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(userRepository.findUniqueFieldConflicts(null, "test@example.com", null, null, null, null, NO_USER))
+                .thenReturn(List.of("EMAIL"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> userService.validateUserUniqueness(userDto));
         assertEquals("Email já existe", exception.getMessage());
@@ -176,7 +213,8 @@ class UserServiceTest {
     @Test
     void validateUserUniqueness_shouldThrowException_whenPhoneExists() {
         UserRequestDto userDto = UserRequestDto.builder().phone("123456789").build();
-        when(userRepository.existsByPhone("123456789")).thenReturn(true);
+        when(userRepository.findUniqueFieldConflicts(null, null, "123456789", null, null, null, NO_USER))
+                .thenReturn(List.of("PHONE"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> userService.validateUserUniqueness(userDto));
         assertEquals("Telefone já existe", exception.getMessage());
@@ -187,12 +225,13 @@ class UserServiceTest {
         UUID userId = UUID.randomUUID();
         User user = User.builder().userId(userId).username("olduser").build();
         UserRequestDto updateDto = UserRequestDto.builder().username("existinguser").build();
-        User existingUser = User.builder().userId(UUID.randomUUID()).username("existinguser").build();
         doNothing().when(authService).verifyOwnership(user);
-        when(userRepository.findByUsername("existinguser")).thenReturn(Optional.of(existingUser));
+        when(userRepository.findUniqueFieldConflicts("existinguser", null, null, null, null, null, userId))
+                .thenReturn(List.of("USERNAME"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> userService.updateUserEntity(user, updateDto, u -> u));
         assertEquals("Username já existe", exception.getMessage());
+        verify(userMapper, never()).updateFromDto(any(), any());
     }
 
     @Test
@@ -205,19 +244,29 @@ class UserServiceTest {
     }
 
     @Test
-    void validateUniqueField_shouldNotThrowException_whenFieldIsUnique() {
-        String fieldValue = "123456789";
-        Predicate<Clinic> predicate = c -> c.getCnpj().equals(fieldValue);
-        when(clinicRepository.findAll()).thenReturn(List.of());
-        assertDoesNotThrow(() -> userService.validateUniqueField(fieldValue, clinicRepository, predicate, "CNPJ"));
+    void createUserWithRole_shouldCheckUserFieldsAndDocumentInOneQuery() {
+        UserRequestDto userDto = UserRequestDto.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .phone("123456789")
+                .build();
+        User user = User.builder().userId(UUID.randomUUID()).username("testuser").build();
+        when(userRepository.findUniqueFieldConflicts("testuser", "test@example.com", "123456789", "12345678901", null, null, NO_USER))
+                .thenReturn(List.of());
+        when(userMapper.toEntity(userDto)).thenReturn(user);
+        when(roleRepository.findByName(Role.Values.PATIENT)).thenReturn(Optional.of(Role.builder().name(Role.Values.PATIENT).build()));
+        when(userRepository.save(user)).thenReturn(user);
+        assertDoesNotThrow(() -> userService.createUserWithRole(userDto, Role.Values.PATIENT, UniqueFieldEnum.CPF, "12345678901"));
+        verify(userRepository, times(1)).findUniqueFieldConflicts(any(), any(), any(), any(), any(), any(), any());
+        verify(userRepository, never()).existsByUsername(any());
     }
 
     @Test
     void validateUserUniquenessForUpdate_shouldThrowException_whenNewEmailExists() {
         UUID userId = UUID.randomUUID();
         UserRequestDto userDto = UserRequestDto.builder().email("existing@example.com").build();
-        User existingUser = User.builder().userId(UUID.randomUUID()).email("existing@example.com").build();
-        when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(userRepository.findUniqueFieldConflicts(null, "existing@example.com", null, null, null, null, userId))
+                .thenReturn(List.of("EMAIL"));
         UniqueFieldException exception = assertThrows(UniqueFieldException.class,
                 () -> userService.validateUserUniquenessForUpdate(userDto, userId));
         assertEquals("Email já existe", exception.getMessage());